@@ -0,0 +1,58 @@
+/*
+ * Copyright 2021 Karma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dao.karma.custombond;
+
+import dao.karma.structs.bond.Adjust;
+import dao.karma.structs.bond.BondAccounting;
+import dao.karma.structs.bond.BondConfig;
+import dao.karma.structs.bond.Terms;
+
+/**
+ * Bond state read once at the start of a call, passed down to the helpers and written
+ * back once at its end, see `KarmaCustomBond.loadState` and `KarmaCustomBond.writeState`.
+ *
+ * It only lives in the call that loaded it: it's never stored in the contract,
+ * so a nested call always starts from the storage.
+ */
+public class BondState {
+    // Karma addresses, never written by a deposit
+    public final BondConfig config;
+    // debt, principal bonded and payout counters, always written back
+    public final BondAccounting accounting;
+    public final Terms terms;
+    public final Adjust adjustment;
+    public FeeTierCursor feeTierCursor;
+
+    // values to write back
+    public boolean termsChanged = false;
+    public boolean adjustmentChanged = false;
+    public boolean feeTierCursorChanged = false;
+
+    public BondState (
+        BondConfig config,
+        BondAccounting accounting,
+        Terms terms,
+        Adjust adjustment,
+        FeeTierCursor feeTierCursor
+    ) {
+        this.config = config;
+        this.accounting = accounting;
+        this.terms = terms;
+        this.adjustment = adjustment;
+        this.feeTierCursor = feeTierCursor;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2021 Karma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dao.karma.custombond;
+
+import java.math.BigInteger;
+
+// Pricing snapshot of a deposit, all values are derived from a single read of the bond state
+public class DepositQuote {
+    // amount of principal token deposited
+    public final BigInteger amount;
+    // principal amount valued in payout token
+    public final BigInteger value;
+    // payout token owed for the deposit, Karma fee included
+    public final BigInteger payout;
+    // part of the payout sent to the Karma treasury
+    public final BigInteger fee;
+    // bond price, capped discount included
+    public final BigInteger bondPrice;
+    // bond price including the Karma fee
+    public final BigInteger trueBondPrice;
+    // bond price in USD, in 1e18 decimal precision. Only set if the market prices were requested
+    public final BigInteger bondPriceUSD;
+    // bond discount in 1e7 decimal precision. Only set if the market prices were requested
+    public final BigInteger bondDiscount;
+    // maximum payout accepted for a single deposit
+    public final BigInteger maxPayout;
+    // Karma fee tier, in ten-thousandths (i.e. 33300 = 3.33%)
+    public final BigInteger karmaFee;
+    // debt the quote has been computed with, decay included
+    public final BigInteger debt;
+    // payout token total supply
+    public final BigInteger payoutTotalSupply;
+    // payout token decimals
+    public final int payoutDecimals;
+
+    public DepositQuote (
+        BigInteger amount,
+        BigInteger value,
+        BigInteger payout,
+        BigInteger fee,
+        BigInteger bondPrice,
+        BigInteger trueBondPrice,
+        BigInteger bondPriceUSD,
+        BigInteger bondDiscount,
+        BigInteger maxPayout,
+        BigInteger karmaFee,
+        BigInteger debt,
+        BigInteger payoutTotalSupply,
+        int payoutDecimals
+    ) {
+        this.amount = amount;
+        this.value = value;
+        this.payout = payout;
+        this.fee = fee;
+        this.bondPrice = bondPrice;
+        this.trueBondPrice = trueBondPrice;
+        this.bondPriceUSD = bondPriceUSD;
+        this.bondDiscount = bondDiscount;
+        this.maxPayout = maxPayout;
+        this.karmaFee = karmaFee;
+        this.debt = debt;
+        this.payoutTotalSupply = payoutTotalSupply;
+        this.payoutDecimals = payoutDecimals;
+    }
+}
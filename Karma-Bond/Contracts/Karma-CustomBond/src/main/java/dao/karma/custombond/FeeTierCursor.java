@@ -0,0 +1,56 @@
+/*
+ * Copyright 2021 Karma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dao.karma.custombond;
+
+import java.math.BigInteger;
+
+import score.ObjectReader;
+import score.ObjectWriter;
+
+// Fee tier currently applied, only moves forward as the principal bonded increases
+public class FeeTierCursor {
+    // index of the tier in the fee tiers
+    public int index;
+    // principal bonded till next tier, null if there is no next tier
+    public BigInteger tierCeilings;
+    // in ten-thousandths (i.e. 33300 = 3.33%)
+    public BigInteger fees;
+
+    public FeeTierCursor (
+        int index,
+        BigInteger tierCeilings,
+        BigInteger fees
+    ) {
+        this.index = index;
+        this.tierCeilings = tierCeilings;
+        this.fees = fees;
+    }
+
+    public static FeeTierCursor readObject (ObjectReader r) {
+        return new FeeTierCursor(
+            r.readInt(),
+            r.readNullable(BigInteger.class),
+            r.readBigInteger()
+        );
+    }
+
+    public static void writeObject (ObjectWriter w, FeeTierCursor obj) {
+        w.write(obj.index);
+        w.writeNullable(obj.tierCeilings);
+        w.write(obj.fees);
+    }
+}
@@ -21,15 +21,23 @@ import static java.math.BigInteger.ZERO;
 
 import java.math.BigInteger;
 
+import com.eclipsesource.json.JsonArray;
 import com.eclipsesource.json.JsonObject;
 
 import dao.karma.interfaces.bond.ICustomTreasury;
 import dao.karma.interfaces.bond.IToken;
+import dao.karma.interfaces.bond.TokenMetadataCache;
 import dao.karma.interfaces.dao.ITreasury;
 import dao.karma.interfaces.oracle.IKarmaOracle;
 import dao.karma.structs.bond.Adjust;
+import dao.karma.structs.bond.BondAccounting;
+import dao.karma.structs.bond.BondConfig;
+import dao.karma.structs.bond.BondQuote;
+import dao.karma.structs.bond.BondStatus;
+import dao.karma.structs.bond.PriceCheckpoint;
 import dao.karma.structs.bond.Terms;
 import dao.karma.types.Ownable;
+import dao.karma.utils.EnumerableSet;
 import dao.karma.utils.ICX;
 import dao.karma.utils.JSONUtils;
 import dao.karma.utils.MathUtils;
@@ -87,19 +95,27 @@ public class KarmaCustomBond extends Ownable {
     // 10000 = 100%
     private static final BigInteger FULLY_VESTED = BigInteger.valueOf(10000);
 
+    // Maximum amount of depositors redeemed by a single `redeemMany` call
+    public static final int REDEEM_MANY_MAX_DEPOSITORS = 100;
+    // Maximum amount of allocations of a single `depositMany` call
+    public static final int DEPOSIT_MANY_MAX_ALLOCATIONS = 100;
+    // Maximum amount of depositors registered by a single `registerDepositors` call
+    public static final int REGISTER_DEPOSITORS_MAX = 100;
+    // Maximum amount of entries returned by `depositors` and `bondInfos`
+    public static final int DEPOSITORS_PAGE_MAX_SIZE = 100;
+    // Maximum amount of checkpoints returned by `priceHistory`
+    public static final int PRICE_HISTORY_PAGE_MAX_SIZE = 100;
+
     // 10**18
     private static final BigInteger EXA = MathUtils.pow10(18);
 
     // ================================================
     // DB Variables
     // ================================================
-    // receives fee
-    private final VarDB<Address> karmaTreasury = Context.newVarDB(NAME + "_karmaTreasury", Address.class);
-    private final VarDB<Address> karmaOracle = Context.newVarDB(NAME + "_karmaOracle", Address.class);
-    private final VarDB<Address> karmaDAO = Context.newVarDB(NAME + "_karmaDAO", Address.class);
-
-    private final VarDB<BigInteger> totalPrincipalBonded = Context.newVarDB(NAME + "_totalPrincipalBonded", BigInteger.class);
-    private final VarDB<BigInteger> totalPayoutGiven = Context.newVarDB(NAME + "_totalPayoutGiven", BigInteger.class);
+    // Karma treasury (receives fee), oracle and DAO addresses
+    private final VarDB<BondConfig> config = Context.newVarDB(NAME + "_config", BondConfig.class);
+    // debt, principal bonded and payout counters, written once per deposit
+    private final VarDB<BondAccounting> accounting = Context.newVarDB(NAME + "_accounting", BondAccounting.class);
 
     // stores terms for new bonds
     private final VarDB<Terms> terms = Context.newVarDB(NAME + "_terms", Terms.class);
@@ -107,17 +123,29 @@ public class KarmaCustomBond extends Ownable {
     private final VarDB<Adjust> adjustment = Context.newVarDB(NAME + "_adjustment", Adjust.class);
     // stores fee tiers
     private final ArrayDB<FeeTiers> feeTiers = Context.newArrayDB(NAME + "_feeTiers", FeeTiers.class);
+    // stores the fee tier currently applied
+    private final VarDB<FeeTierCursor> feeTierCursor = Context.newVarDB(NAME + "_feeTierCursor", FeeTierCursor.class);
 
     // stores bond information for depositors
     private final DictDB<Address, Bond> bondInfo = Context.newDictDB(NAME + "_bondInfo", Bond.class);
+    // depositors with a bond, see `writeBond`
+    private final EnumerableSet<Address> depositors = new EnumerableSet<>(NAME + "_depositors", Address.class);
+
+    // bond price and debt checkpoints recorded by the deposits
+    private final PriceHistory priceHistory = new PriceHistory(NAME + "_priceHistory");
 
-    // total value of outstanding bonds; used for pricing
-    private final VarDB<BigInteger> totalDebt = Context.newVarDB(NAME + "_totalDebt", BigInteger.class);
-    // reference block for debt decay
-    private final VarDB<Long> lastDecay = Context.newVarDB(NAME + "_lastDecay", Long.class);
+    // payout token decimals, fetched on first deposit
+    private final TokenMetadataCache tokenMetadata = new TokenMetadataCache(NAME + "_tokenMetadata");
 
-    // principal accrued since subsidy paid
-    private final VarDB<BigInteger> payoutSinceLastSubsidy = Context.newVarDB(NAME + "_payoutSinceLastSubsidy", BigInteger.class);
+    // Legacy storage, folded into `config` and `accounting` on contract update
+    private final VarDB<Address> legacyKarmaTreasury = Context.newVarDB(NAME + "_karmaTreasury", Address.class);
+    private final VarDB<Address> legacyKarmaOracle = Context.newVarDB(NAME + "_karmaOracle", Address.class);
+    private final VarDB<Address> legacyKarmaDAO = Context.newVarDB(NAME + "_karmaDAO", Address.class);
+    private final VarDB<BigInteger> legacyTotalPrincipalBonded = Context.newVarDB(NAME + "_totalPrincipalBonded", BigInteger.class);
+    private final VarDB<BigInteger> legacyTotalPayoutGiven = Context.newVarDB(NAME + "_totalPayoutGiven", BigInteger.class);
+    private final VarDB<BigInteger> legacyTotalDebt = Context.newVarDB(NAME + "_totalDebt", BigInteger.class);
+    private final VarDB<Long> legacyLastDecay = Context.newVarDB(NAME + "_lastDecay", Long.class);
+    private final VarDB<BigInteger> legacyPayoutSinceLastSubsidy = Context.newVarDB(NAME + "_payoutSinceLastSubsidy", BigInteger.class);
 
     // ================================================
     // Event Logs
@@ -142,6 +170,12 @@ public class KarmaCustomBond extends Ownable {
         BigInteger remaining
     ) {}
 
+    @EventLog
+    public void BondsRedeemed (
+        BigInteger count,
+        BigInteger totalPayout
+    ) {}
+
     @EventLog
     public void BondPriceChanged (
         BigInteger internalPrice,
@@ -216,37 +250,38 @@ public class KarmaCustomBond extends Ownable {
             this.feeTiers.add(new FeeTiers(tierCeilings[i], fees[i]));
         }
 
-        if (this.karmaTreasury.get() == null) {
-            this.karmaTreasury.set(karmaTreasury);
-        }
-
-        if (this.karmaOracle.get() == null) {
-            this.karmaOracle.set(karmaOracle);
-        }
-
-        if (this.karmaDAO.get() == null) {
-            this.karmaDAO.set(karmaDAO);
-        }
-
-        // Default initialization
-        if (this.lastDecay.get() == null) {
-            this.lastDecay.set(0L);
-        }
+        // Default initialization, or migration from the legacy storage on update
+        if (this.config.get() == null) {
+            this.config.set(new BondConfig(
+                this.legacyKarmaTreasury.getOrDefault(karmaTreasury),
+                this.legacyKarmaOracle.getOrDefault(karmaOracle),
+                this.legacyKarmaDAO.getOrDefault(karmaDAO)
+            ));
 
-        if (this.totalDebt.get() == null) {
-            this.totalDebt.set(ZERO);
+            this.legacyKarmaTreasury.set(null);
+            this.legacyKarmaOracle.set(null);
+            this.legacyKarmaDAO.set(null);
         }
 
-        if (this.payoutSinceLastSubsidy.get() == null) {
-            this.payoutSinceLastSubsidy.set(ZERO);
-        }
+        if (this.accounting.get() == null) {
+            this.accounting.set(new BondAccounting(
+                this.legacyTotalDebt.getOrDefault(ZERO),
+                this.legacyLastDecay.getOrDefault(0L),
+                this.legacyTotalPrincipalBonded.getOrDefault(ZERO),
+                this.legacyTotalPayoutGiven.getOrDefault(ZERO),
+                this.legacyPayoutSinceLastSubsidy.getOrDefault(ZERO),
+                ZERO
+            ));
 
-        if (this.totalPrincipalBonded.get() == null) {
-            this.totalPrincipalBonded.set(ZERO);
+            this.legacyTotalDebt.set(null);
+            this.legacyLastDecay.set(null);
+            this.legacyTotalPrincipalBonded.set(null);
+            this.legacyTotalPayoutGiven.set(null);
+            this.legacyPayoutSinceLastSubsidy.set(null);
         }
 
-        if (this.totalPayoutGiven.get() == null) {
-            this.totalPayoutGiven.set(ZERO);
+        if (this.feeTierCursor.get() == null) {
+            this.feeTierCursor.set(findFeeTier(0, this.accounting.get().totalPrincipalBonded));
         }
 
         if (this.terms.get() == null) {
@@ -300,8 +335,10 @@ public class KarmaCustomBond extends Ownable {
             )
         );
 
-        this.totalDebt.set(initialDebt);
-        this.lastDecay.set(Context.getBlockHeight());
+        var accounting = this.accounting.get();
+        accounting.totalDebt = initialDebt;
+        accounting.lastDecay = Context.getBlockHeight();
+        this.accounting.set(accounting);
     }
 
     // --- Policy Functions ---
@@ -394,6 +431,75 @@ public class KarmaCustomBond extends Ownable {
         );
     }
 
+    /**
+     * Set the minimum number of blocks between two price history checkpoints
+     * 
+     * Access: Policy
+     * 
+     * @param interval Minimum length (in blocks) between checkpoints
+     */
+    @External
+    public void setPriceHistoryInterval (
+        long interval
+    ) {
+        // Access control
+        onlyPolicy();
+
+        Context.require(interval > 0,
+            "setPriceHistoryInterval: invalid interval");
+
+        // OK
+        this.priceHistory.setInterval(interval);
+    }
+
+    /**
+     * Fetch again the payout token metadata stored in cache
+     * 
+     * Access: Policy
+     */
+    @External
+    public void refreshTokenMetadata () {
+        // Access control
+        onlyPolicy();
+
+        // OK
+        this.tokenMetadata.refreshDecimals(this.payoutToken);
+    }
+
+    /**
+     * Register the bonds stored before the depositors registry existed, so they are
+     * counted in the outstanding payout and listed by `depositors` and `bondInfos`.
+     * Depositors without a bond or already registered are skipped.
+     * 
+     * Access: Policy
+     * 
+     * @param depositors The depositors addresses, at most `REGISTER_DEPOSITORS_MAX`
+     */
+    @External
+    public void registerDepositors (
+        Address[] depositors
+    ) {
+        // Access control
+        onlyPolicy();
+
+        Context.require(depositors.length <= REGISTER_DEPOSITORS_MAX,
+            "registerDepositors: too many depositors");
+
+        // OK
+        var accounting = this.accounting.get();
+
+        for (Address depositor : depositors) {
+            Bond bond = this.bondInfo.get(depositor);
+
+            if (bond != null && !this.depositors.contains(depositor)) {
+                this.depositors.add(depositor);
+                accounting.outstandingPayout = accounting.outstandingPayout.add(bond.payout);
+            }
+        }
+
+        this.accounting.set(accounting);
+    }
+
     // --- Custom Bond settings ---
     /**
      * Change address of Karma Treasury
@@ -412,8 +518,10 @@ public class KarmaCustomBond extends Ownable {
         checkKarmaDao(caller);
 
         // OK
-        this.DaoAddressChanged(this.karmaTreasury.get(), karmaTreasury);
-        this.karmaTreasury.set(karmaTreasury);
+        var config = this.config.get();
+        this.DaoAddressChanged(config.karmaTreasury, karmaTreasury);
+        config.karmaTreasury = karmaTreasury;
+        this.config.set(config);
     }
 
     /**
@@ -433,8 +541,10 @@ public class KarmaCustomBond extends Ownable {
         checkKarmaDao(caller);
 
         // OK
-        this.DaoAddressChanged(this.karmaDAO.get(), karmaDAO);
-        this.karmaDAO.set(karmaDAO);
+        var config = this.config.get();
+        this.DaoAddressChanged(config.karmaDAO, karmaDAO);
+        config.karmaDAO = karmaDAO;
+        this.config.set(config);
     }
 
     /**
@@ -454,8 +564,10 @@ public class KarmaCustomBond extends Ownable {
         checkKarmaDao(caller);
 
         // OK
-        this.DaoAddressChanged(this.karmaOracle.get(), karmaOracle);
-        this.karmaOracle.set(karmaOracle);
+        var config = this.config.get();
+        this.DaoAddressChanged(config.karmaOracle, karmaOracle);
+        config.karmaOracle = karmaOracle;
+        this.config.set(config);
     }
 
     /**
@@ -471,8 +583,10 @@ public class KarmaCustomBond extends Ownable {
         checkSubsidyRouter(caller);
 
         // OK
-        BigInteger result = payoutSinceLastSubsidy.get();
-        this.payoutSinceLastSubsidy.set(ZERO);
+        var accounting = this.accounting.get();
+        BigInteger result = accounting.payoutSinceLastSubsidy;
+        accounting.payoutSinceLastSubsidy = ZERO;
+        this.accounting.set(accounting);
         this.PayoutUpdate(result, ZERO);
 
         return result;
@@ -482,9 +596,14 @@ public class KarmaCustomBond extends Ownable {
     /**
      * Deposit bond
      * 
+     * The principal received may be shared between several depositors: the deposit
+     * is priced once for the whole amount, and the payout is shared between the
+     * depositors pro rata of their allocation.
+     * 
      * @param amount
      * @param maxPrice
-     * @param depositor
+     * @param depositors
+     * @param allocations amount of principal allocated to each depositor, summing up to `amount`
      */
     // @External - this method is external through tokenFallback
     private void deposit (
@@ -492,28 +611,41 @@ public class KarmaCustomBond extends Ownable {
         Address token, // only principalToken is accepted. This field is handled by tokenFallback
         BigInteger amount, // amount of principal inflow token received. This field is handled by tokenFallback
         BigInteger maxPrice,
-        Address depositor
+        Address[] depositors,
+        BigInteger[] allocations
     ) {
         Context.require(token.equals(this.principalToken),
             "deposit: Only principal token accepted for deposit");
 
-        Context.require(!depositor.equals(ZERO_ADDRESS), 
-            "deposit: invalid depositor");
+        BigInteger allocated = ZERO;
+        for (int i = 0; i < depositors.length; i++) {
+            Context.require(!depositors[i].equals(ZERO_ADDRESS), 
+                "deposit: invalid depositor");
+            allocated = allocated.add(allocations[i]);
+        }
+        Context.require(allocated.equals(amount),
+            "deposit: allocations don't match the amount received");
 
-        decayDebt();
+        // the bond state is read once, and written back once before any call that could re-enter the bond
+        var state = loadState();
+        var terms = state.terms;
+        var accounting = state.accounting;
+        decayDebt(accounting, terms);
 
-        BigInteger totalDebt = this.totalDebt.get();
-        var terms = this.terms.get();
+        BigInteger totalDebt = accounting.totalDebt;
 
-        BigInteger nativePrice = trueBondPrice(null);
+        // every pricing input is read once
+        int payoutDecimals = this.tokenMetadata.loadDecimals(this.payoutToken);
+        DepositQuote quote = quoteFor(state, totalDebt, amount, payoutDecimals, false);
+        BigInteger nativePrice = quote.trueBondPrice;
 
         // slippage protection
         Context.require(maxPrice.compareTo(nativePrice) >= 0,
             "deposit: Slippage limit: more than max price"); 
 
-        BigInteger value = ICustomTreasury.valueOfToken(this.customTreasury, this.principalToken, amount);
+        BigInteger value = quote.value;
         // payout to bonder is computed
-        BigInteger payout = _payoutFor(value);
+        BigInteger payout = quote.payout;
 
         // Check if the deposit doesn't exceed the max debt
         Context.require(totalDebt.add(value).compareTo(terms.maxDebt) <= 0,
@@ -521,54 +653,75 @@ public class KarmaCustomBond extends Ownable {
 
         // must be > 0.01 payout token (underflow protection)
         // payout >= (10**payoutDecimals)/100
-        Context.require(payout.compareTo(MathUtils.pow10(IToken.decimals(this.payoutToken)).divide(BigInteger.valueOf(100))) >= 0,
+        BigInteger minPayout = MathUtils.pow10(quote.payoutDecimals).divide(BigInteger.valueOf(100));
+        Context.require(payout.compareTo(minPayout) >= 0,
             "deposit: Bond too small");
 
         // size protection because there is no slippage
-        Context.require(payout.compareTo(maxPayout()) <= 0, 
+        Context.require(payout.compareTo(quote.maxPayout) <= 0, 
             "deposit: Bond too large");
 
         // profits are calculated
-        BigInteger fee = payout.multiply(currentKarmaFee()).divide(PAYOUT_PRECISION);
-
-        // principal is transferred in, and 
-        // deposited into the treasury, returning (amount - profit) payout token
-        ICustomTreasury.deposit(this.customTreasury, this.principalToken, amount, payout);
-
-        // Fee is transferred to DAO treasury
-        if (!fee.equals(ZERO)) {
-            ITreasury.deposit(this.karmaTreasury.get(), this.payoutToken, fee);
-        }
+        BigInteger fee = quote.fee;
 
         // total debt is increased
-        this.totalDebt.set(totalDebt.add(value));
-
-        // depositor info is stored
-        var depositorBondInfo = this.bondInfo.getOrDefault(depositor, Bond.empty());
-
-        this.bondInfo.set(depositor, new Bond(
-            depositorBondInfo.payout.add(payout.subtract(fee)),
-            terms.vestingTerm,
-            Context.getBlockHeight(),
-            nativePrice
-        ));
+        BigInteger newTotalDebt = totalDebt.add(value);
+        accounting.totalDebt = newTotalDebt;
+
+        // depositors info is stored, the last depositor gets the rounding remainder
+        BigInteger bondedPayout = payout.subtract(fee);
+        BigInteger remainingPayout = bondedPayout;
+        for (int i = 0; i < depositors.length; i++) {
+            BigInteger depositorPayout = i == depositors.length - 1
+                ? remainingPayout
+                : bondedPayout.multiply(allocations[i]).divide(amount);
+            remainingPayout = remainingPayout.subtract(depositorPayout);
+            // each depositor gets the minimum payout too
+            Context.require(depositorPayout.compareTo(minPayout) >= 0,
+                "deposit: Bond too small");
+
+            var depositorBondInfo = this.bondInfo.getOrDefault(depositors[i], Bond.empty());
+
+            writeBond(depositors[i], depositorBondInfo, new Bond(
+                depositorBondInfo.payout.add(depositorPayout),
+                terms.vestingTerm,
+                Context.getBlockHeight(),
+                nativePrice
+            ), accounting);
+        }
 
         // indexed events are emitted
         this.BondCreated(amount, payout, Context.getBlockHeight() + terms.vestingTerm);
-        this.BondPriceChanged(_bondPrice(), debtRatio());
+        BigInteger newDebtRatio = computeDebtRatio(newTotalDebt, quote.payoutDecimals, quote.payoutTotalSupply);
+        BigInteger newBondPrice = _bondPrice(state, newDebtRatio, quote.payoutDecimals);
+        this.BondPriceChanged(newBondPrice, newDebtRatio);
+        this.priceHistory.record(Context.getBlockHeight(), newBondPrice, newDebtRatio, newTotalDebt);
 
         // total bonded increased
-        this.totalPrincipalBonded.set(this.totalPrincipalBonded.get().add(amount));
+        accounting.totalPrincipalBonded = accounting.totalPrincipalBonded.add(amount);
+        // fee tier moves forward if its ceiling is crossed
+        advanceFeeTier(state, accounting.totalPrincipalBonded);
         // total payout increased
-        this.totalPayoutGiven.set(this.totalPayoutGiven.get().add(payout));
+        accounting.totalPayoutGiven = accounting.totalPayoutGiven.add(payout);
         // subsidy counter increased
-        BigInteger oldPayout = this.payoutSinceLastSubsidy.get();
+        BigInteger oldPayout = accounting.payoutSinceLastSubsidy;
         BigInteger newPayout = oldPayout.add(payout);
-        this.payoutSinceLastSubsidy.set(newPayout);
+        accounting.payoutSinceLastSubsidy = newPayout;
         this.PayoutUpdate(oldPayout, newPayout);
 
         // control variable is adjusted
-        adjust();
+        adjust(state);
+
+        writeState(state);
+
+        // principal is transferred in, and 
+        // deposited into the treasury, returning (amount - profit) payout token
+        ICustomTreasury.deposit(this.customTreasury, this.principalToken, amount, payout);
+
+        // Fee is transferred to DAO treasury
+        if (!fee.equals(ZERO)) {
+            ITreasury.deposit(state.config.karmaTreasury, this.payoutToken, fee);
+        }
     }
 
     @External
@@ -583,7 +736,16 @@ public class KarmaCustomBond extends Ownable {
                 JsonObject params = root.get("params").asObject();
                 BigInteger maxPrice = StringUtils.toBigInt(params.get("maxPrice").asString());
                 Address depositor = Address.fromString(params.get("depositor").asString());
-                deposit(_from, token, _value, maxPrice, depositor);
+                deposit(_from, token, _value, maxPrice, new Address[] {depositor}, new BigInteger[] {_value});
+                break;
+            }
+
+            case "depositMany": {
+                JsonObject params = root.get("params").asObject();
+                BigInteger maxPrice = StringUtils.toBigInt(params.get("maxPrice").asString());
+                JsonArray allocations = params.get("allocations").asArray();
+                Address[] depositors = readAllocationDepositors(allocations);
+                deposit(_from, token, _value, maxPrice, depositors, readAllocationAmounts(allocations));
                 break;
             }
 
@@ -597,6 +759,34 @@ public class KarmaCustomBond extends Ownable {
         }
     }
 
+    /**
+     * Read the depositors of `depositMany` allocations, formatted as `[{"depositor": address, "amount": amount}, ...]`
+     */
+    private static Address[] readAllocationDepositors (JsonArray allocations) {
+        int size = allocations.size();
+        Context.require(size > 0 && size <= DEPOSIT_MANY_MAX_ALLOCATIONS,
+            "depositMany: invalid allocations count");
+
+        Address[] depositors = new Address[size];
+        for (int i = 0; i < size; i++) {
+            depositors[i] = Address.fromString(allocations.get(i).asObject().get("depositor").asString());
+        }
+        return depositors;
+    }
+
+    /**
+     * Read the principal amounts of `depositMany` allocations
+     */
+    private static BigInteger[] readAllocationAmounts (JsonArray allocations) {
+        BigInteger[] amounts = new BigInteger[allocations.size()];
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = StringUtils.toBigInt(allocations.get(i).asObject().get("amount").asString());
+            Context.require(amounts[i].compareTo(ZERO) > 0,
+                "depositMany: invalid allocation amount");
+        }
+        return amounts;
+    }
+
     private void pay (Address token, BigInteger value) {
         Context.require(value.compareTo(BigInteger.ZERO) > 0,
             "pay: Nothing paid");
@@ -621,66 +811,220 @@ public class KarmaCustomBond extends Ownable {
         Context.require(info != null,
             "redeem: no bond registered for depositor");
 
+        var accounting = this.accounting.get();
+        BigInteger payout = redeemBond(depositor, info, Context.getBlockHeight(), accounting);
+        this.accounting.set(accounting);
+
+        IToken.transfer(this.payoutToken, depositor, payout);
+        return payout;
+    }
+
+    /**
+     * Redeem bonds for a list of depositors
+     * 
+     * Depositors without a bond are skipped. A depositor listed several
+     * times is only redeemed once, its next occurrences are skipped.
+     * 
+     * Access: Everyone
+     * 
+     * @param depositors destination addresses, at most `REDEEM_MANY_MAX_DEPOSITORS`
+     * @return Payout amount for each depositor, 0 if skipped
+     */
+    @External
+    public BigInteger[] redeemMany (
+        Address[] depositors
+    ) {
+        Context.require(depositors.length <= REDEEM_MANY_MAX_DEPOSITORS,
+            "redeemMany: too many depositors");
+
+        long blockHeight = Context.getBlockHeight();
+        BigInteger[] payouts = new BigInteger[depositors.length];
+        // the counters are read once and written back once at the end of the batch
+        var accounting = this.accounting.get();
+
+        int redeemed = 0;
+        BigInteger totalPayout = ZERO;
+
+        for (int i = 0; i < depositors.length; i++) {
+            Address depositor = depositors[i];
+            // only the first occurrence of a depositor is redeemed
+            var info = firstIndexOf(depositors, depositor) == i
+                ? this.bondInfo.get(depositor)
+                : null;
+            if (info == null) {
+                payouts[i] = ZERO;
+                continue;
+            }
+
+            BigInteger payout = redeemBond(depositor, info, blockHeight, accounting);
+            payouts[i] = payout;
+            redeemed++;
+            totalPayout = totalPayout.add(payout);
+        }
+
+        this.accounting.set(accounting);
+
+        for (int i = 0; i < depositors.length; i++) {
+            if (payouts[i].compareTo(ZERO) > 0) {
+                IToken.transfer(this.payoutToken, depositors[i], payouts[i]);
+            }
+        }
+
+        this.BondsRedeemed(BigInteger.valueOf(redeemed), totalPayout);
+        return payouts;
+    }
+
+    // --- ICX token implementation ---
+    @Payable
+    public void fallback () {
+        Context.revert("fallback: Cannot transfer ICX to custom bond directly");
+    }
+
+    @External
+    @Payable
+    public void depositIcx (BigInteger maxPrice, Address depositor) {
+        final BigInteger value = Context.getValue();
+        final Address token = ICX.TOKEN_ADDRESS;
+        final Address caller = Context.getCaller();
+        deposit(caller, token, value, maxPrice, new Address[] {depositor}, new BigInteger[] {value});
+    }
+
+    @External
+    @Payable
+    public void payIcx () {
+        pay(ICX.TOKEN_ADDRESS, Context.getValue());
+    }
+
+    // --- Internal help functions ---
+    /**
+     * Read the bond state used by a call
+     */
+    private BondState loadState () {
+        return new BondState (
+            this.config.get(),
+            this.accounting.get(),
+            this.terms.get(),
+            this.adjustment.get(),
+            this.feeTierCursor.get()
+        );
+    }
+
+    /**
+     * Write back the bond state modified by a call. Must be called before any call
+     * to another contract, as it could re-enter the bond and read the storage.
+     */
+    private void writeState (BondState state) {
+        this.accounting.set(state.accounting);
+
+        if (state.termsChanged) {
+            this.terms.set(state.terms);
+        }
+
+        if (state.adjustmentChanged) {
+            this.adjustment.set(state.adjustment);
+        }
+
+        if (state.feeTierCursorChanged) {
+            this.feeTierCursor.set(state.feeTierCursor);
+        }
+    }
+
+    /**
+     * Update the bond of a depositor with the payout vested, the caller is in charge of the transfer
+     * and of writing the accounting back
+     * @return Payout amount
+     */
+    private BigInteger redeemBond (Address depositor, Bond info, long blockHeight, BondAccounting accounting) {
         // (blocks since last interaction / vesting term remaining)
-        BigInteger percentVested = percentVestedFor(depositor);
+        BigInteger percentVested = computePercentVested(info, blockHeight);
 
         // if fully vested
         if (percentVested.compareTo(FULLY_VESTED) >= 0) {
             // delete user info
-            this.bondInfo.set(depositor, null);
+            writeBond(depositor, info, null, accounting);
             // emit bond data
             this.BondRedeemed(depositor, info.payout, ZERO);
-            IToken.transfer(this.payoutToken, depositor, info.payout);
             return info.payout;
         } else {
             // if unfinished
             // calculate payout vested
             BigInteger fractionPayout = info.payout.multiply(percentVested).divide(FULLY_VESTED);
-            long blockHeight = Context.getBlockHeight();
 
             // store updated deposit info
             BigInteger newPayout = info.payout.subtract(fractionPayout);
-            bondInfo.set(depositor, new Bond(
+            writeBond(depositor, info, new Bond(
                 newPayout,
                 info.vesting - (blockHeight - info.lastBlock),
                 blockHeight,
                 info.truePricePaid
-            ));
+            ), accounting);
 
             this.BondRedeemed(depositor, fractionPayout, newPayout);
-            IToken.transfer(this.payoutToken, depositor, fractionPayout);
             return fractionPayout;
         }
     }
 
-    // --- ICX token implementation ---
-    @Payable
-    public void fallback () {
-        Context.revert("fallback: Cannot transfer ICX to custom bond directly");
+    /**
+     * Store or delete (if null) the bond of a depositor, keeping the depositors registry
+     * and the outstanding payout in sync. The caller is in charge of writing the accounting back
+     * 
+     * Bonds stored before the registry existed are registered on their next update
+     * or by `registerDepositors`, the outstanding payout only accounts for the registered bonds.
+     * 
+     * @param previous The bond currently stored, empty if none
+     */
+    private void writeBond (Address depositor, Bond previous, Bond bond, BondAccounting accounting) {
+        boolean registered = this.depositors.contains(depositor);
+        BigInteger previousPayout = registered ? previous.payout : ZERO;
+        BigInteger newPayout = bond != null ? bond.payout : ZERO;
+        accounting.outstandingPayout = accounting.outstandingPayout.add(newPayout).subtract(previousPayout);
+
+        this.bondInfo.set(depositor, bond);
+        if (bond == null) {
+            this.depositors.remove(depositor);
+        } else if (!registered) {
+            this.depositors.add(depositor);
+        }
     }
 
-    @External
-    @Payable
-    public void depositIcx (BigInteger maxPrice, Address depositor) {
-        final BigInteger value = Context.getValue();
-        final Address token = ICX.TOKEN_ADDRESS;
-        final Address caller = Context.getCaller();
-        deposit(caller, token, value, maxPrice, depositor);
+    /**
+     * Index of the first occurrence of an address in a list
+     */
+    private static int firstIndexOf (Address[] addresses, Address address) {
+        int i = 0;
+        while (!addresses[i].equals(address)) {
+            i++;
+        }
+        return i;
     }
 
-    @External
-    @Payable
-    public void payIcx () {
-        pay(ICX.TOKEN_ADDRESS, Context.getValue());
+    /**
+     * Calculate the payout of a bond available for claim
+     */
+    private static BigInteger computePendingPayout (Bond bond, BigInteger percentVested) {
+        return (percentVested.compareTo(FULLY_VESTED) >= 0)
+            ? bond.payout
+            : bond.payout.multiply(percentVested).divide(FULLY_VESTED);
     }
 
-    // --- Internal help functions ---
     /**
-     * Makes incremental adjustment to control variable
+     * Calculate how far into vesting a bond is at a given block
      */
-    private void adjust() {
-        var adjustment = this.adjustment.get();
-        var terms = this.terms.get();
+    private static BigInteger computePercentVested (Bond bond, long blockHeight) {
+        long blocksSinceLast = blockHeight - bond.lastBlock;
+        long vesting = bond.vesting;
+
+        return vesting > 0 
+            ? BigInteger.valueOf(blocksSinceLast).multiply(FULLY_VESTED).divide(BigInteger.valueOf(vesting))
+            : ZERO;
+    }
+
+    /**
+     * Makes incremental adjustment to control variable, the caller is in charge of writing the state back
+     */
+    private void adjust (BondState state) {
+        var adjustment = state.adjustment;
+        var terms = state.terms;
         long blockHeight = Context.getBlockHeight();
 
         long blockCanAdjust = adjustment.lastBlock + adjustment.buffer;
@@ -702,47 +1046,218 @@ public class KarmaCustomBond extends Ownable {
 
             adjustment.lastBlock = blockHeight;
 
-            this.terms.set(terms);
-            this.adjustment.set(adjustment);
+            state.termsChanged = true;
+            state.adjustmentChanged = true;
 
             this.ControlVariableAdjustment(initial, terms.controlVariable, adjustment.rate, adjustment.add);
         }
     }
 
     /**
-     * Reduce total debt
+     * Reduce total debt, the caller is in charge of writing the accounting back
      */
-    private void decayDebt() {
+    private void decayDebt (BondAccounting accounting, Terms terms) {
         long blockHeight = Context.getBlockHeight();
-        this.totalDebt.set(this.totalDebt.get().subtract(debtDecay()));
-        this.lastDecay.set(blockHeight);
+        accounting.totalDebt = accounting.totalDebt.subtract(computeDebtDecay(accounting, terms, blockHeight));
+        accounting.lastDecay = blockHeight;
     }
 
     /**
-     * Calculate current bond price and remove floor if above
+     * Calculate current bond price and remove floor if above, the caller is in charge of writing the state back
      * @return price
      */
-    private BigInteger _bondPrice() {
-        var terms = this.terms.get();
-
-        // price = BCV * debtRatio / (10**(IRC2(payoutToken).decimals()-DECIMALS_PRECISION))
-        BigInteger price = terms.controlVariable.multiply(debtRatio()).divide(MathUtils.pow10(IToken.decimals(this.payoutToken) - DECIMALS_PRECISION_EXPONENT));
+    private BigInteger _bondPrice (BondState state, BigInteger debtRatio, int payoutDecimals) {
+        var terms = state.terms;
+        BigInteger price = computeBondPrice(terms, debtRatio, payoutDecimals);
 
         if (price.compareTo(terms.minimumPrice) < 0) {
             price = terms.minimumPrice;
         } else if (!terms.minimumPrice.equals(ZERO)) {
             terms.minimumPrice = ZERO;
-            this.terms.set(terms);
+            state.termsChanged = true;
         }
 
         return price;
     }
 
+    // --- Pricing ---
+    /**
+     * Price a deposit from a single snapshot of the bond state.
+     * The payout token metadata, the fee tier and the oracle prices are only read once.
+     * 
+     * @param state The current bond state
+     * @param debt The current debt, decay included
+     * @param payoutDecimals The payout token decimals
+     * @param withMarketPrices Also compute the USD bond price and the bond discount
+     * @param amount Amount of principal token deposited
+     */
+    private DepositQuote quoteFor (BondState state, BigInteger debt, BigInteger amount, int payoutDecimals, boolean withMarketPrices) {
+        var terms = state.terms;
+        BigInteger payoutTotalSupply = IToken.totalSupply(this.payoutToken);
+        BigInteger karmaFee = state.feeTierCursor.fees;
+
+        BigInteger debtRatio = computeDebtRatio(debt, payoutDecimals, payoutTotalSupply);
+        BigInteger price = computeBondPrice(terms, debtRatio, payoutDecimals);
+        // NOTE: if minimumPrice is set in the terms capped discount is not applied!
+        boolean capDiscount = price.compareTo(terms.minimumPrice) >= 0 && terms.maxDiscount.compareTo(ZERO) > 0;
+
+        // the market prices are only needed for the capped discount, unless explicitly requested
+        BigInteger payoutTokenMarketPriceUSD = null;
+        BigInteger principalTokenMarketPriceUSD = null;
+        if (capDiscount || withMarketPrices) {
+            BigInteger[] marketPrices = marketPricesUSD(state.config.karmaOracle);
+            payoutTokenMarketPriceUSD = marketPrices[0];
+            principalTokenMarketPriceUSD = marketPrices[1];
+        }
+
+        if (price.compareTo(terms.minimumPrice) < 0) {
+            price = terms.minimumPrice;
+        } else if (capDiscount) {
+            price = capBondDiscount(terms, price, karmaFee, payoutTokenMarketPriceUSD, principalTokenMarketPriceUSD);
+        }
+
+        BigInteger value = ICustomTreasury.valueOfToken(this.customTreasury, this.principalToken, amount);
+        BigInteger payout = _payoutFor(value, price);
+        BigInteger trueBondPrice = computeTrueBondPrice(price, karmaFee);
+
+        BigInteger bondPriceUSD = null;
+        BigInteger bondDiscount = null;
+        if (withMarketPrices) {
+            bondPriceUSD = computeBondPriceUSD(trueBondPrice, principalTokenMarketPriceUSD);
+            bondDiscount = computeBondDiscount(bondPriceUSD, payoutTokenMarketPriceUSD);
+        }
+
+        return new DepositQuote (
+            amount,
+            value,
+            payout,
+            payout.multiply(karmaFee).divide(PAYOUT_PRECISION),
+            price,
+            trueBondPrice,
+            bondPriceUSD,
+            bondDiscount,
+            computeMaxPayout(terms, payoutTotalSupply),
+            karmaFee,
+            debt,
+            payoutTotalSupply,
+            payoutDecimals
+        );
+    }
+
+    /**
+     * Bond price from the control variable, without the minimum price nor the capped discount
+     */
+    private BigInteger computeBondPrice (Terms terms, BigInteger debtRatio, int payoutDecimals) {
+        // price = BCV * debtRatio / (10**(IRC2(payoutToken).decimals()-DECIMALS_PRECISION))
+        return terms.controlVariable.multiply(debtRatio).divide(MathUtils.pow10(payoutDecimals - DECIMALS_PRECISION_EXPONENT));
+    }
+
+    /**
+     * Increase the bond price so the bond discount doesn't exceed `terms.maxDiscount`
+     */
+    private BigInteger capBondDiscount (
+        Terms terms,
+        BigInteger price,
+        BigInteger karmaFee,
+        BigInteger payoutTokenMarketPriceUSD,
+        BigInteger principalTokenMarketPriceUSD
+    ) {
+        BigInteger bondPriceUSD = computeBondPriceUSD(computeTrueBondPrice(price, karmaFee), principalTokenMarketPriceUSD);
+        BigInteger bondDiscount = computeBondDiscount(bondPriceUSD, payoutTokenMarketPriceUSD);
+        BigInteger maxDiscount = terms.maxDiscount;
+
+        // if bond discount is greater than max discount, increase bond price to fit the max discount
+        if (bondDiscount.compareTo(maxDiscount) > 0) {
+            BigInteger newTrueBondPrice = payoutTokenMarketPriceUSD.multiply(MathUtils.pow10(3)).subtract(
+                    maxDiscount.multiply(payoutTokenMarketPriceUSD)).multiply(MathUtils.pow10(4)).divide(principalTokenMarketPriceUSD);
+            BigInteger newBondPrice = newTrueBondPrice.multiply(TRUE_BOND_PRICE_PRECISION).divide(TRUE_BOND_PRICE_PRECISION.add(karmaFee));
+
+            // only apply new bond price if it is higher than the old one, this should mitigate oracle risk
+            // by defaulting to the un-capped bond price
+            if (newBondPrice.compareTo(price) > 0) {
+                return newBondPrice;
+            }
+        }
+
+        return price;
+    }
+
+    /**
+     * Payout and principal token market USD prices, pulled from Karma Oracle in a single call
+     * @return [payout token USD price, principal token USD price]
+     */
+    private BigInteger[] marketPricesUSD (Address karmaOracle) {
+        Address[] tokens = {this.payoutToken, this.principalToken};
+        return IKarmaOracle.getUsdPrices(karmaOracle, tokens);
+    }
+
+    private BigInteger computeTrueBondPrice (BigInteger bondPrice, BigInteger karmaFee) {
+        // truePrice = `bondPrice()` + (`bondPrice()` * `currentKarmaFee()` / 10**TRUE_BOND_PRICE_PRECISION)
+        return bondPrice.add(bondPrice.multiply(karmaFee).divide(TRUE_BOND_PRICE_PRECISION));
+    }
+
+    private BigInteger computeBondPriceUSD (BigInteger trueBondPrice, BigInteger principalTokenMarketPriceUSD) {
+        // NOTE: result is in 1e18 decimal precision
+        return trueBondPrice.multiply(principalTokenMarketPriceUSD).divide(BOND_PRICE_PRECISION);
+    }
+
+    private BigInteger computeBondDiscount (BigInteger bondPriceUSD, BigInteger payoutTokenMarketPriceUSD) {
+        // discount = (payout token market price USD - bond price USD) / payout token market price USD
+        // NOTE: result is in 1e7 decimal precision
+        return (payoutTokenMarketPriceUSD.subtract(bondPriceUSD)).divide(payoutTokenMarketPriceUSD.divide(BOND_DISCOUNT_PRECISION));
+    }
+
+    private BigInteger computeMaxPayout (Terms terms, BigInteger payoutTotalSupply) {
+        // IRC2(payoutToken).totalSupply() * terms().maxPayout / 10**DECIMALS_PRECISION
+        return payoutTotalSupply.multiply(terms.maxPayout).divide(DECIMALS_PRECISION);
+    }
+
+    private BigInteger computeDebtRatio (BigInteger debt, int payoutDecimals, BigInteger payoutTotalSupply) {
+        // debtRatio = currentDebt() * IRC2(payoutToken).decimals() / IRC2(payoutToken).totalSupply()
+        return debt.multiply(MathUtils.pow10(payoutDecimals)).divide(payoutTotalSupply);
+    }
+
+    // --- Fee tiers ---
+    /**
+     * Move the fee tier cursor forward if the principal bonded crossed the current tier ceiling,
+     * the caller is in charge of writing the state back
+     */
+    private void advanceFeeTier (BondState state, BigInteger totalPrincipalBonded) {
+        var cursor = state.feeTierCursor;
+
+        if (cursor.tierCeilings != null && totalPrincipalBonded.compareTo(cursor.tierCeilings) >= 0) {
+            state.feeTierCursor = findFeeTier(cursor.index, totalPrincipalBonded);
+            state.feeTierCursorChanged = true;
+        }
+    }
+
+    /**
+     * Find the fee tier applied to a given principal bonded, starting from the tier `from`
+     */
+    private FeeTierCursor findFeeTier (int from, BigInteger totalPrincipalBonded) {
+        int tierLength = this.feeTiers.size();
+
+        for (int i = from; i < tierLength; i++) {
+            var feeTier = this.feeTiers.get(i);
+
+            // the last tier applies whatever the principal bonded, there is no ceiling to cross
+            if (i == (tierLength - 1)) {
+                return new FeeTierCursor(i, null, feeTier.fees);
+            }
+
+            if (totalPrincipalBonded.compareTo(feeTier.tierCeilings) < 0) {
+                return new FeeTierCursor(i, feeTier.tierCeilings, feeTier.fees);
+            }
+        }
+
+        return new FeeTierCursor(0, null, ZERO);
+    }
+
     // ================================================
     // Checks
     // ================================================
     private void checkKarmaDao(Address caller) {
-        Context.require(caller.equals(this.karmaDAO.get()),
+        Context.require(caller.equals(this.config.get().karmaDAO),
             "checkKarmaDao: only KarmaDAO can call this method");
     }
 
@@ -762,8 +1277,7 @@ public class KarmaCustomBond extends Ownable {
     public BigInteger bondPrice() {
         var terms = this.terms.get();
 
-        // price = BCV * debtRatio / (10**(IRC2(payoutToken).decimals()-DECIMALS_PRECISION))
-        BigInteger price = terms.controlVariable.multiply(debtRatio()).divide(MathUtils.pow10(IToken.decimals(this.payoutToken) - DECIMALS_PRECISION_EXPONENT));
+        BigInteger price = computeBondPrice(terms, debtRatio(), this.tokenMetadata.decimals(this.payoutToken));
 
         if (price.compareTo(terms.minimumPrice) < 0) {
             price = terms.minimumPrice;
@@ -771,22 +1285,8 @@ public class KarmaCustomBond extends Ownable {
         // check if max discount is greater than 0 and increase price to fit the capped discount
         // NOTE: if minimumPrice is set in the terms capped discount is not applied!
         else if (terms.maxDiscount.compareTo(ZERO) > 0) {
-            BigInteger bondDiscount = currentBondDiscount(price);
-            BigInteger maxDiscount = terms.maxDiscount;
-
-            // if bond discount is greater than max discount, increase bond price to fit the max discount
-            if (bondDiscount.compareTo(maxDiscount) > 0) {
-                BigInteger payoutTokenMarketPriceUSD = payoutTokenMarketPriceUSD();
-                BigInteger newTrueBondPrice = payoutTokenMarketPriceUSD.multiply(MathUtils.pow10(3)).subtract(
-                        maxDiscount.multiply(payoutTokenMarketPriceUSD)).multiply(MathUtils.pow10(4)).divide(this.principalTokenMarketPriceUSD());
-                BigInteger newBondPrice = newTrueBondPrice.multiply(TRUE_BOND_PRICE_PRECISION).divide(TRUE_BOND_PRICE_PRECISION.add(currentKarmaFee()));
-
-                // only apply new bond price if it is higher than the old one, this should mitigate oracle risk
-                // by defaulting to the un-capped bond price
-                if (newBondPrice.compareTo(price) > 0) {
-                    price = newBondPrice;
-                }
-            }
+            BigInteger[] marketPrices = marketPricesUSD(this.config.get().karmaOracle);
+            price = capBondDiscount(terms, price, currentKarmaFee(), marketPrices[0], marketPrices[1]);
         }
 
         return price;
@@ -801,12 +1301,7 @@ public class KarmaCustomBond extends Ownable {
     public BigInteger currentBondDiscount(
         @Optional BigInteger bondPrice
     ) {
-        BigInteger bondPriceUSD = this.bondPriceUSD(bondPrice);
-        BigInteger payoutTokenMarketPriceUSD = payoutTokenMarketPriceUSD();
-
-        // discount = (payout token market price USD - bond price USD) / payout token market price USD
-        // NOTE: result is in 1e7 decimal precision
-        return (payoutTokenMarketPriceUSD.subtract(bondPriceUSD)).divide(payoutTokenMarketPriceUSD.divide(BOND_DISCOUNT_PRECISION));
+        return computeBondDiscount(this.bondPriceUSD(bondPrice), payoutTokenMarketPriceUSD());
     }
 
     /**
@@ -814,7 +1309,7 @@ public class KarmaCustomBond extends Ownable {
      */
     @External(readonly = true)
     public BigInteger payoutTokenMarketPriceUSD() {
-        return IKarmaOracle.getUsdPrice(this.karmaOracle.get(), this.payoutToken);
+        return IKarmaOracle.getUsdPrice(this.config.get().karmaOracle, this.payoutToken);
     }
 
     /**
@@ -822,7 +1317,7 @@ public class KarmaCustomBond extends Ownable {
      */
     @External(readonly = true)
     public BigInteger principalTokenMarketPriceUSD() {
-        return IKarmaOracle.getUsdPrice(this.karmaOracle.get(), this.principalToken);
+        return IKarmaOracle.getUsdPrice(this.config.get().karmaOracle, this.principalToken);
     }
 
     /**
@@ -831,7 +1326,7 @@ public class KarmaCustomBond extends Ownable {
     @External(readonly = true)
     public BigInteger bondPriceUSD(BigInteger bondPrice) {
         // NOTE: result is in 1e18 decimal precision
-        return this.trueBondPrice(bondPrice).multiply(this.principalTokenMarketPriceUSD()).divide(BOND_PRICE_PRECISION);
+        return computeBondPriceUSD(this.trueBondPrice(bondPrice), this.principalTokenMarketPriceUSD());
     }
 
     /**
@@ -843,8 +1338,7 @@ public class KarmaCustomBond extends Ownable {
             // recursion only if no parameter given
             bondPrice = this.bondPrice();
         }
-        // truePrice = `bondPrice()` + (`bondPrice()` * `currentKarmaFee()` / 10**TRUE_BOND_PRICE_PRECISION)
-        return bondPrice.add(bondPrice.multiply(currentKarmaFee()).divide(TRUE_BOND_PRICE_PRECISION));
+        return computeTrueBondPrice(bondPrice, currentKarmaFee());
     }
 
     /**
@@ -852,16 +1346,15 @@ public class KarmaCustomBond extends Ownable {
      */
     @External(readonly = true)
     public BigInteger maxPayout() {
-        // IRC2(payoutToken).totalSupply() * terms().maxPayout / 10**DECIMALS_PRECISION
-        return IToken.totalSupply(this.payoutToken).multiply(this.terms.get().maxPayout).divide(DECIMALS_PRECISION);
+        return computeMaxPayout(this.terms.get(), IToken.totalSupply(this.payoutToken));
     }
 
     /**
      * Calculate total interest due for new bond
      */
-    private BigInteger _payoutFor (BigInteger value) {
+    private BigInteger _payoutFor (BigInteger value, BigInteger bondPrice) {
         // total = value * 10**18 / bondPrice() / 10**TOTAL_PAYOUT_PRECISION
-        return FullMath.mulDiv(value, EXA, bondPrice()).divide(TOTAL_PAYOUT_PRECISION);
+        return FullMath.mulDiv(value, EXA, bondPrice).divide(TOTAL_PAYOUT_PRECISION);
     }
 
     /**
@@ -872,20 +1365,42 @@ public class KarmaCustomBond extends Ownable {
     public BigInteger payoutFor (BigInteger value) {
         // value is denominated in payout token decimals
         BigInteger valueInPayout = ICustomTreasury.valueOfToken(this.customTreasury, this.principalToken, value);
-        BigInteger payout = _payoutFor(valueInPayout);
+        BigInteger payout = _payoutFor(valueInPayout, bondPrice());
 
         // payoutFor = total - (total * currentKarmaFee() / 10**PAYOUT_PRECISION)
         return payout.subtract(payout.multiply(currentKarmaFee()).divide(PAYOUT_PRECISION));
     }
 
+    /**
+     * Quote a deposit of principal token, all values are computed from the same state snapshot
+     * @param amount - amount of principal in principal decimal precision
+     */
+    @External(readonly = true)
+    public BondQuote quoteDeposit (BigInteger amount) {
+        var state = loadState();
+        var terms = state.terms;
+        BigInteger debt = state.accounting.totalDebt.subtract(computeDebtDecay(state.accounting, terms, Context.getBlockHeight()));
+        DepositQuote quote = quoteFor(state, debt, amount, this.tokenMetadata.decimals(this.payoutToken), true);
+
+        return new BondQuote (
+            quote.payout.subtract(quote.fee),
+            quote.fee,
+            quote.bondPrice,
+            quote.trueBondPrice,
+            quote.bondPriceUSD,
+            quote.bondDiscount,
+            terms.maxDebt.subtract(debt).max(ZERO),
+            quote.maxPayout
+        );
+    }
+
     /**
      *  Calculate current ratio of debt to payout token supply
      *  Protocols using Karma Bond should be careful when quickly adding large %s to total supply
      */
     @External(readonly = true)
     public BigInteger debtRatio() {
-        // debtRatio = currentDebt() * IRC2(payoutToken).decimals() / IRC2(payoutToken).totalSupply()
-        return currentDebt().multiply(MathUtils.pow10(IToken.decimals(this.payoutToken))).divide(IToken.totalSupply(this.payoutToken));
+        return computeDebtRatio(currentDebt(), this.tokenMetadata.decimals(this.payoutToken), IToken.totalSupply(this.payoutToken));
     }
 
     /**
@@ -894,8 +1409,9 @@ public class KarmaCustomBond extends Ownable {
      */
     @External(readonly = true)
     public BigInteger currentDebt() {
+        var accounting = this.accounting.get();
         // currentDebt = totalDebt() - debtDecay()
-        return this.totalDebt.get().subtract(debtDecay());
+        return accounting.totalDebt.subtract(computeDebtDecay(accounting, this.terms.get(), Context.getBlockHeight()));
     }
 
     /**
@@ -904,13 +1420,15 @@ public class KarmaCustomBond extends Ownable {
      */
     @External(readonly = true)
     public BigInteger debtDecay()  {
-        var terms = this.terms.get();
+        return computeDebtDecay(this.accounting.get(), this.terms.get(), Context.getBlockHeight());
+    }
+
+    private BigInteger computeDebtDecay (BondAccounting accounting, Terms terms, long blockHeight) {
         Context.require(terms.vestingTerm != 0,
             "debtDecay: The vesting term must be initialized first");
 
-        var totalDebt = this.totalDebt.get();
-        long blockHeight = Context.getBlockHeight();
-        BigInteger blocksSinceLast = BigInteger.valueOf(blockHeight - lastDecay.get());
+        var totalDebt = accounting.totalDebt;
+        BigInteger blocksSinceLast = BigInteger.valueOf(blockHeight - accounting.lastDecay);
         BigInteger vestingTerm = BigInteger.valueOf(terms.vestingTerm);
         // decay = totalDebt() * (blockHeight - lastDecay()) / (terms.vestingTerm)
         BigInteger decay = totalDebt.multiply(blocksSinceLast).divide(vestingTerm);
@@ -934,13 +1452,7 @@ public class KarmaCustomBond extends Ownable {
         Context.require(bond != null,
             "percentVestedFor: no bond registered for depositor");
 
-        long blockHeight = Context.getBlockHeight();
-        long blocksSinceLast = blockHeight - bond.lastBlock;
-        long vesting = bond.vesting;
-
-        return vesting > 0 
-            ? BigInteger.valueOf(blocksSinceLast).multiply(FULLY_VESTED).divide(BigInteger.valueOf(vesting))
-            : ZERO;
+        return computePercentVested(bond, Context.getBlockHeight());
     }
 
     /**
@@ -951,33 +1463,74 @@ public class KarmaCustomBond extends Ownable {
     public BigInteger pendingPayoutFor (
         Address depositor
     ) {
-        BigInteger percentVested = percentVestedFor (depositor);
-        BigInteger payout = bondInfo.get(depositor).payout;
+        Bond bond = bondInfo.get(depositor);
+        Context.require(bond != null,
+            "percentVestedFor: no bond registered for depositor");
 
-        return (percentVested.compareTo(FULLY_VESTED) >= 0)
-            ? payout
-            : payout.multiply(percentVested).divide(FULLY_VESTED);
+        return computePendingPayout(bond, computePercentVested(bond, Context.getBlockHeight()));
     }
 
     /**
-     * Get the current fee Karma takes of each bond
+     * Calculate how far into vesting several depositors are, 0 for a depositor without bond
+     * @param depositors The depositors addresses, at most `DEPOSITORS_PAGE_MAX_SIZE`
      */
     @External(readonly = true)
-    public BigInteger currentKarmaFee() {
-        int tierLength = feeTiers.size();
-        var totalPrincipalBonded = this.totalPrincipalBonded.get();
+    public BigInteger[] percentVestedForMany (
+        Address[] depositors
+    ) {
+        Context.require(depositors.length <= DEPOSITORS_PAGE_MAX_SIZE,
+            "percentVestedForMany: too many depositors");
+
+        long blockHeight = Context.getBlockHeight();
+        BigInteger[] result = new BigInteger[depositors.length];
+        for (int i = 0; i < depositors.length; i++) {
+            Bond bond = this.bondInfo.get(depositors[i]);
+            result[i] = bond != null ? computePercentVested(bond, blockHeight) : ZERO;
+        }
 
-        for (int i = 0; i < tierLength; i++) {
-            var feeTier = feeTiers.get(i);
+        return result;
+    }
 
-            if (totalPrincipalBonded.compareTo(feeTier.tierCeilings) < 0
-            || i == (tierLength - 1)
-            ) {
-                return feeTier.fees;
+    /**
+     * Get the bond, vesting progress and payout available for claim of several depositors.
+     * Each bond is only read once, a depositor without bond gets an empty status.
+     * @param depositors The depositors addresses, at most `DEPOSITORS_PAGE_MAX_SIZE`
+     */
+    @External(readonly = true)
+    public BondStatus[] pendingPayoutsFor (
+        Address[] depositors
+    ) {
+        Context.require(depositors.length <= DEPOSITORS_PAGE_MAX_SIZE,
+            "pendingPayoutsFor: too many depositors");
+
+        long blockHeight = Context.getBlockHeight();
+        BondStatus[] result = new BondStatus[depositors.length];
+        for (int i = 0; i < depositors.length; i++) {
+            Bond bond = this.bondInfo.get(depositors[i]);
+            if (bond == null) {
+                result[i] = BondStatus.empty();
+                continue;
             }
+
+            BigInteger percentVested = computePercentVested(bond, blockHeight);
+            result[i] = new BondStatus(
+                bond.payout,
+                bond.vesting,
+                bond.lastBlock,
+                percentVested,
+                computePendingPayout(bond, percentVested)
+            );
         }
 
-        return ZERO;
+        return result;
+    }
+
+    /**
+     * Get the current fee Karma takes of each bond
+     */
+    @External(readonly = true)
+    public BigInteger currentKarmaFee() {
+        return this.feeTierCursor.get().fees;
     }
 
     // ================================================
@@ -993,32 +1546,32 @@ public class KarmaCustomBond extends Ownable {
 
     @External(readonly = true)
     public Address karmaTreasury() {
-        return this.karmaTreasury.get();
+        return this.config.get().karmaTreasury;
     }
 
     @External(readonly = true)
     public BigInteger totalPrincipalBonded() {
-        return this.totalPrincipalBonded.get();
+        return this.accounting.get().totalPrincipalBonded;
     }
 
     @External(readonly = true)
     public BigInteger totalPayoutGiven() {
-        return this.totalPayoutGiven.get();
+        return this.accounting.get().totalPayoutGiven;
     }
 
     @External(readonly = true)
     public BigInteger totalDebt() {
-        return this.totalDebt.get();
+        return this.accounting.get().totalDebt;
     }
 
     @External(readonly = true)
     public BigInteger payoutSinceLastSubsidy() {
-        return this.payoutSinceLastSubsidy.get();
+        return this.accounting.get().payoutSinceLastSubsidy;
     }
 
     @External(readonly = true)
     public long lastDecay() {
-        return this.lastDecay.get();
+        return this.accounting.get().lastDecay;
     }
 
     @External(readonly = true)
@@ -1040,6 +1593,95 @@ public class KarmaCustomBond extends Ownable {
     public Bond bondInfo(Address depositor) {
         return this.bondInfo.get(depositor);
     }
+
+    /**
+     * Payout owed to the registered depositors, vested or not.
+     * The bonds stored before the depositors registry existed are only counted
+     * once registered, see `registerDepositors`.
+     */
+    @External(readonly = true)
+    public BigInteger outstandingPayout() {
+        return this.accounting.get().outstandingPayout;
+    }
+
+    @External(readonly = true)
+    public int depositorsCount() {
+        return this.depositors.length();
+    }
+
+    /**
+     * Depositors with a bond, in no particular order
+     * @param offset Index of the first depositor returned
+     * @param limit Maximum amount of depositors returned, up to `DEPOSITORS_PAGE_MAX_SIZE`
+     */
+    @External(readonly = true)
+    public Address[] depositors(int offset, int limit) {
+        Address[] result = new Address[depositorsPageSize(offset, limit)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = this.depositors.at(offset + i);
+        }
+
+        return result;
+    }
+
+    /**
+     * Bonds of the depositors returned by `depositors(offset, limit)`, in the same order
+     */
+    @External(readonly = true)
+    public Bond[] bondInfos(int offset, int limit) {
+        Bond[] result = new Bond[depositorsPageSize(offset, limit)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = this.bondInfo.get(this.depositors.at(offset + i));
+        }
+
+        return result;
+    }
+
+    /**
+     * Price history checkpoints, from the oldest to the latest
+     * @param fromIndex Index of the first checkpoint returned, at least `priceHistoryOldestIndex`
+     * @param count Maximum amount of checkpoints returned, up to `PRICE_HISTORY_PAGE_MAX_SIZE`
+     */
+    @External(readonly = true)
+    public PriceCheckpoint[] priceHistory(long fromIndex, int count) {
+        Context.require(count >= 0 && count <= PRICE_HISTORY_PAGE_MAX_SIZE,
+            "priceHistory: invalid count");
+        Context.require(fromIndex >= this.priceHistory.oldestIndex(),
+            "priceHistory: checkpoint overwritten");
+
+        int size = (int) Math.max(0, Math.min(count, this.priceHistory.length() - fromIndex));
+        PriceCheckpoint[] result = new PriceCheckpoint[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = this.priceHistory.get(fromIndex + i);
+        }
+
+        return result;
+    }
+
+    /**
+     * Number of price history checkpoints ever recorded, the latest one has the index `length - 1`
+     */
+    @External(readonly = true)
+    public long priceHistoryLength() {
+        return this.priceHistory.length();
+    }
+
+    @External(readonly = true)
+    public long priceHistoryOldestIndex() {
+        return this.priceHistory.oldestIndex();
+    }
+
+    @External(readonly = true)
+    public long priceHistoryInterval() {
+        return this.priceHistory.interval();
+    }
+
+    private int depositorsPageSize (int offset, int limit) {
+        Context.require(offset >= 0 && limit >= 0 && limit <= DEPOSITORS_PAGE_MAX_SIZE,
+            "depositors: invalid page");
+
+        return Math.max(0, Math.min(limit, this.depositors.length() - offset));
+    }
     
     @External(readonly = true)
     public Address principalToken () {
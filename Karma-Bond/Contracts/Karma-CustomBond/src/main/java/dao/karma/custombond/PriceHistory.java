@@ -0,0 +1,90 @@
+/*
+ * Copyright 2021 Karma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dao.karma.custombond;
+
+import java.math.BigInteger;
+
+import dao.karma.structs.bond.PriceCheckpoint;
+import score.Context;
+import score.DictDB;
+import score.VarDB;
+
+// Fixed-capacity ring buffer of the bond price checkpoints, at most one per `interval` blocks
+public class PriceHistory {
+    // Maximum number of checkpoints kept, the oldest ones are overwritten
+    public static final int CAPACITY = 512;
+    // 1 hour of 2 seconds blocks
+    public static final long DEFAULT_INTERVAL = 1800;
+
+    // slot => checkpoint
+    private final DictDB<Integer, PriceCheckpoint> checkpoints;
+    // number of checkpoints ever recorded, the latest one has the index `length - 1`
+    private final VarDB<Long> length;
+    // minimum number of blocks between two checkpoints
+    private final VarDB<Long> interval;
+
+    public PriceHistory (String id) {
+        this.checkpoints = Context.newDictDB(id + "_checkpoints", PriceCheckpoint.class);
+        this.length = Context.newVarDB(id + "_length", Long.class);
+        this.interval = Context.newVarDB(id + "_interval", Long.class);
+    }
+
+    public long length () {
+        return this.length.getOrDefault(0L);
+    }
+
+    // index of the oldest checkpoint kept
+    public long oldestIndex () {
+        return Math.max(0, this.length() - CAPACITY);
+    }
+
+    public long interval () {
+        return this.interval.getOrDefault(DEFAULT_INTERVAL);
+    }
+
+    public void setInterval (long interval) {
+        this.interval.set(interval);
+    }
+
+    public PriceCheckpoint get (long index) {
+        return this.checkpoints.get(slot(index));
+    }
+
+    /**
+     * Append a checkpoint, overwriting the oldest one if full
+     * 
+     * @return false if the latest checkpoint is less than `interval` blocks old
+     */
+    public boolean record (long blockHeight, BigInteger price, BigInteger debtRatio, BigInteger totalDebt) {
+        long length = this.length();
+
+        if (length > 0) {
+            PriceCheckpoint latest = this.get(length - 1);
+            if (blockHeight - latest.blockHeight < this.interval()) {
+                return false;
+            }
+        }
+
+        this.checkpoints.set(slot(length), new PriceCheckpoint(blockHeight, price, debtRatio, totalDebt));
+        this.length.set(length + 1);
+        return true;
+    }
+
+    private static int slot (long index) {
+        return (int) (index % CAPACITY);
+    }
+}
@@ -21,6 +21,7 @@ import java.math.BigInteger;
 import com.eclipsesource.json.JsonObject;
 
 import dao.karma.interfaces.bond.IToken;
+import dao.karma.interfaces.bond.TokenMetadataCache;
 
 import dao.karma.utils.AddressUtils;
 import dao.karma.utils.ICX;
@@ -56,6 +57,8 @@ public class KarmaCustomTreasury extends Ownable {
     // ================================================
     // DB Variables
     // ================================================
+    // payout and principal tokens decimals, fetched on first deposit
+    private final TokenMetadataCache tokenMetadata = new TokenMetadataCache(NAME + "_tokenMetadata");
 
     // ================================================
     // Event Logs
@@ -114,6 +117,10 @@ public class KarmaCustomTreasury extends Ownable {
         Context.require(bondContract.getOrDefault(caller, false), 
             "deposit: caller is not a bond contract");
 
+        // cache the decimals used by `valueOfToken`
+        this.tokenMetadata.loadDecimals(this.payoutToken);
+        this.tokenMetadata.loadDecimals(principalTokenAddress);
+
         IToken.transfer(this.payoutToken, caller, amountPayoutToken, "pay");
     }
 
@@ -229,6 +236,24 @@ public class KarmaCustomTreasury extends Ownable {
         this.bondContract.set(bondContract, !state);
     }
 
+    /**
+     * Fetch again the decimals of a token stored in cache
+     * 
+     * Access: Policy
+     * 
+     * @param token The token address
+     */
+    @External
+    public void refreshTokenMetadata (
+        Address token
+    ) {
+        // Access control
+        onlyPolicy();
+
+        // OK
+        this.tokenMetadata.refreshDecimals(token);
+    }
+
     // ================================================
     // Checks
     // ================================================
@@ -277,8 +302,8 @@ public class KarmaCustomTreasury extends Ownable {
         BigInteger amount
     ) {
         // convert amount to match payout token decimals
-        int payoutDecimals = IToken.decimals(payoutToken);
-        int principalDecimals = IToken.decimals(principalTokenAddress);
+        int payoutDecimals = this.tokenMetadata.decimals(payoutToken);
+        int principalDecimals = this.tokenMetadata.decimals(principalTokenAddress);
 
         return amount.multiply(MathUtils.pow10(payoutDecimals)).divide(MathUtils.pow10(principalDecimals));
     }
@@ -20,8 +20,8 @@ import java.math.BigInteger;
 
 import com.eclipsesource.json.JsonObject;
 
-import dao.karma.interfaces.bond.IBalancedDEX;
 import dao.karma.interfaces.bond.IToken;
+import dao.karma.interfaces.bond.TokenMetadataCache;
 
 import dao.karma.interfaces.lpbalanced.ILPBalanced;
 import dao.karma.utils.AddressUtils;
@@ -59,6 +59,8 @@ public class KarmaCustomTreasuryBalanced extends Ownable {
     // ================================================
     // DB Variables
     // ================================================
+    // payout token and principal pool decimals, fetched on first deposit
+    private final TokenMetadataCache tokenMetadata = new TokenMetadataCache(NAME + "_tokenMetadata");
 
     // ================================================
     // Event Logs
@@ -131,6 +133,10 @@ public class KarmaCustomTreasuryBalanced extends Ownable {
         Context.require(poolIdPrincipalToken.equals(this.poolIdPrincipalToken),
             "deposit: Wrong principal token pool ID");
 
+        // cache the decimals used by `valueOfToken`
+        this.tokenMetadata.loadDecimals(this.payoutToken);
+        this.tokenMetadata.loadPoolDecimals(principalTokenAddress, this.poolIdPrincipalToken);
+
         IToken.transfer(this.payoutToken, caller, amountPayoutToken, "pay");
     }
 
@@ -255,6 +261,42 @@ public class KarmaCustomTreasuryBalanced extends Ownable {
         this.bondContract.set(bondContract, !state);
     }
 
+    /**
+     * Fetch again the decimals of a token stored in cache
+     * 
+     * Access: Policy
+     * 
+     * @param token The token address
+     */
+    @External
+    public void refreshTokenMetadata (
+        Address token
+    ) {
+        // Access control
+        onlyPolicy();
+
+        // OK
+        this.tokenMetadata.refreshDecimals(token);
+    }
+
+    /**
+     * Fetch again the decimals of the principal pool stored in cache
+     * 
+     * Access: Policy
+     * 
+     * @param dex The Balanced DEX address
+     */
+    @External
+    public void refreshPoolMetadata (
+        Address dex
+    ) {
+        // Access control
+        onlyPolicy();
+
+        // OK
+        this.tokenMetadata.refreshPoolDecimals(dex, this.poolIdPrincipalToken);
+    }
+
     // ================================================
     // Checks
     // ================================================
@@ -290,15 +332,6 @@ public class KarmaCustomTreasuryBalanced extends Ownable {
     // ================================================
     // View Functions
     // ================================================
-    private int getPrincipalDecimals (Address principalTokenAddress) {
-        // The DEX address is the same than the token address
-        var stats = IBalancedDEX.getPoolStats(principalTokenAddress, this.poolIdPrincipalToken);
-        BigInteger base_decimals = (BigInteger) stats.get("base_decimals");
-        BigInteger quote_decimals = (BigInteger) stats.get("quote_decimals");
-        // The result is rounded down on purpose
-        return base_decimals.add(quote_decimals).divide(BigInteger.TWO).intValue();
-    }
-
     /**
      * Returns payout token valuation of principal token
      * i.e. convert amount denominated in principal decimals to be denominated in payout decimals
@@ -312,10 +345,11 @@ public class KarmaCustomTreasuryBalanced extends Ownable {
         BigInteger amount
     ) {
         // Convert amount to match payout token decimals
-        int payoutDecimals = IToken.decimals(payoutToken);
+        int payoutDecimals = this.tokenMetadata.decimals(payoutToken);
 
         // Get the principal token decimals
-        int principalDecimals = getPrincipalDecimals(principalTokenAddress);
+        // The DEX address is the same than the token address
+        int principalDecimals = this.tokenMetadata.poolDecimals(principalTokenAddress, this.poolIdPrincipalToken);
 
         return amount.multiply(MathUtils.pow10(payoutDecimals)).divide(MathUtils.pow10(principalDecimals));
     }
@@ -22,6 +22,7 @@ import java.math.BigInteger;
 
 import dao.karma.interfaces.bond.IKarmaFactoryStorage;
 import dao.karma.structs.bond.TreasuryBond;
+import dao.karma.structs.factory.BondSpec;
 import dao.karma.structs.factorystorage.BondDetails;
 import dao.karma.types.Ownable;
 import score.Address;
@@ -37,6 +38,9 @@ public class KarmaFactory extends Ownable {
     // Contract class name
     public static final String NAME = "KarmaFactory";
 
+    // Maximum amount of bonds deployed by a single `createBonds` call
+    public static final int CREATE_BONDS_MAX_BONDS = 20;
+
     // Contract name
     private final String name;
 
@@ -261,6 +265,62 @@ public class KarmaFactory extends Ownable {
         return IKarmaFactoryStorage.pushBond (this.karmaFactoryStorage, details);
     }
 
+    /**
+     * Deploys several custom bond contracts in a single transaction and returns their addresses.
+     * The bonds are registered with a single call to the Karma Factory Storage.
+     * 
+     * Access: Policy
+     * 
+     * @param specs The bonds parameters, at most `CREATE_BONDS_MAX_BONDS`
+     * @return The Treasury and the Bond addresses of each bond, in the same order
+     */
+    @External
+    public TreasuryBond[] createBonds (
+        BondSpec[] specs
+    ) {
+        onlyPolicy();
+
+        Context.require(specs.length > 0 && specs.length <= CREATE_BONDS_MAX_BONDS,
+            "createBonds: invalid bonds count");
+
+        // The contract bytes are only read once for all the bonds
+        byte[] contractBytes = this.customBondContractBytes.get();
+        Context.require(contractBytes != null,
+            "checkCustomBondContractBytesInitialized: not set");
+
+        // OK
+        BondDetails[] details = new BondDetails[specs.length];
+
+        for (int i = 0; i < specs.length; i++) {
+            BondSpec spec = specs[i];
+
+            Address bond = Context.deploy (
+                contractBytes, 
+                spec.customTreasury, 
+                spec.payoutToken, 
+                spec.principalToken, 
+                this.karmaTreasury, 
+                this.karmaSubsidyRouter, 
+                spec.initialOwner, 
+                this.karmaDAO, 
+                spec.tierCeilings, 
+                spec.fees
+            );
+
+            details[i] = new BondDetails (
+                spec.payoutToken, 
+                spec.principalToken, 
+                spec.customTreasury, 
+                bond,
+                spec.initialOwner,
+                spec.tierCeilings,
+                spec.fees
+            );
+        }
+
+        return IKarmaFactoryStorage.pushBonds (this.karmaFactoryStorage, details);
+    }
+
     // ================================================
     // Checks
     // ================================================
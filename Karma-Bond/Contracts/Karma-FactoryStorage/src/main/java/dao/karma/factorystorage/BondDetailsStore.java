@@ -0,0 +1,180 @@
+/*
+ * Copyright 2021 Karma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dao.karma.factorystorage;
+
+import java.math.BigInteger;
+
+import dao.karma.structs.factorystorage.BondDetails;
+import score.Address;
+import score.ArrayDB;
+import score.Context;
+import score.DictDB;
+
+/**
+ * Bond details, in creation order.
+ * 
+ * The payout tokens, principal tokens, treasuries, initial owners and fee schedules
+ * are interned: each distinct value is stored once and the bond entries only keep
+ * its ID, so bonds sharing the same tokens, owner and fees stay small.
+ * The interned tables are append-only, an ID never changes once assigned.
+ */
+public class BondDetailsStore {
+    // Index => bond entry
+    private final ArrayDB<StoredBondDetails> entries;
+    // ID => address
+    private final ArrayDB<Address> addresses;
+    // Address => ID + 1, so a missing entry reads as 0
+    private final DictDB<Address, Integer> addressIds;
+    // ID => fee schedule
+    private final ArrayDB<FeeSchedule> feeSchedules;
+    // Fee schedule key => ID + 1
+    private final DictDB<String, Integer> feeScheduleIds;
+
+    public BondDetailsStore (String id) {
+        // Same key as the former `ArrayDB<BondDetails>`, so the legacy entries are still found
+        this.entries = Context.newArrayDB(id, StoredBondDetails.class);
+        this.addresses = Context.newArrayDB(id + "_addresses", Address.class);
+        this.addressIds = Context.newDictDB(id + "_addressIds", Integer.class);
+        this.feeSchedules = Context.newArrayDB(id + "_feeSchedules", FeeSchedule.class);
+        this.feeScheduleIds = Context.newDictDB(id + "_feeScheduleIds", Integer.class);
+    }
+
+    public int size () {
+        return this.entries.size();
+    }
+
+    public void add (BondDetails bond) {
+        this.entries.add(new StoredBondDetails (
+            internAddress(bond.payoutToken),
+            internAddress(bond.principalToken),
+            internAddress(bond.treasuryAddress),
+            bond.bondAddress,
+            internAddress(bond.initialOwner),
+            internFeeSchedule(bond.tierCeilings, bond.fees)
+        ));
+    }
+
+    public BondDetails get (int index) {
+        return reader().get(index);
+    }
+
+    /**
+     * Decodes several entries, each interned value is only read once
+     */
+    public Reader reader () {
+        return new Reader();
+    }
+
+    private int internAddress (Address address) {
+        int id = this.addressIds.getOrDefault(address, 0) - 1;
+        if (id < 0) {
+            id = this.addresses.size();
+            this.addresses.add(address);
+            this.addressIds.set(address, id + 1);
+        }
+        return id;
+    }
+
+    private int internFeeSchedule (BigInteger[] tierCeilings, BigInteger[] fees) {
+        String key = FeeSchedule.key(tierCeilings, fees);
+        int id = this.feeScheduleIds.getOrDefault(key, 0) - 1;
+        if (id < 0) {
+            id = this.feeSchedules.size();
+            this.feeSchedules.add(new FeeSchedule(tierCeilings, fees));
+            this.feeScheduleIds.set(key, id + 1);
+        }
+        return id;
+    }
+
+    public class Reader {
+        private static final int INITIAL_CAPACITY = 8;
+
+        // Interned addresses already read
+        private int[] addressIds = new int[INITIAL_CAPACITY];
+        private Address[] addresses = new Address[INITIAL_CAPACITY];
+        private int addressesSize = 0;
+
+        // Interned fee schedules already read
+        private int[] feeScheduleIds = new int[INITIAL_CAPACITY];
+        private FeeSchedule[] feeSchedules = new FeeSchedule[INITIAL_CAPACITY];
+        private int feeSchedulesSize = 0;
+
+        public BondDetails get (int index) {
+            StoredBondDetails entry = BondDetailsStore.this.entries.get(index);
+            if (entry.legacy != null) {
+                return entry.legacy;
+            }
+
+            FeeSchedule feeSchedule = feeSchedule(entry.feeSchedule);
+            return new BondDetails (
+                address(entry.payoutToken),
+                address(entry.principalToken),
+                address(entry.treasuryAddress),
+                entry.bondAddress,
+                address(entry.initialOwner),
+                feeSchedule.tierCeilings,
+                feeSchedule.fees
+            );
+        }
+
+        private Address address (int id) {
+            for (int i = 0; i < this.addressesSize; i++) {
+                if (this.addressIds[i] == id) {
+                    return this.addresses[i];
+                }
+            }
+
+            if (this.addressesSize == this.addressIds.length) {
+                int[] ids = new int[this.addressesSize * 2];
+                Address[] values = new Address[this.addressesSize * 2];
+                System.arraycopy(this.addressIds, 0, ids, 0, this.addressesSize);
+                System.arraycopy(this.addresses, 0, values, 0, this.addressesSize);
+                this.addressIds = ids;
+                this.addresses = values;
+            }
+
+            Address result = BondDetailsStore.this.addresses.get(id);
+            this.addressIds[this.addressesSize] = id;
+            this.addresses[this.addressesSize] = result;
+            this.addressesSize++;
+            return result;
+        }
+
+        private FeeSchedule feeSchedule (int id) {
+            for (int i = 0; i < this.feeSchedulesSize; i++) {
+                if (this.feeScheduleIds[i] == id) {
+                    return this.feeSchedules[i];
+                }
+            }
+
+            if (this.feeSchedulesSize == this.feeScheduleIds.length) {
+                int[] ids = new int[this.feeSchedulesSize * 2];
+                FeeSchedule[] values = new FeeSchedule[this.feeSchedulesSize * 2];
+                System.arraycopy(this.feeScheduleIds, 0, ids, 0, this.feeSchedulesSize);
+                System.arraycopy(this.feeSchedules, 0, values, 0, this.feeSchedulesSize);
+                this.feeScheduleIds = ids;
+                this.feeSchedules = values;
+            }
+
+            FeeSchedule result = BondDetailsStore.this.feeSchedules.get(id);
+            this.feeScheduleIds[this.feeSchedulesSize] = id;
+            this.feeSchedules[this.feeSchedulesSize] = result;
+            this.feeSchedulesSize++;
+            return result;
+        }
+    }
+}
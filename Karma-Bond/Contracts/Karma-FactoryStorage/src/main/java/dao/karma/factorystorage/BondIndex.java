@@ -0,0 +1,49 @@
+/*
+ * Copyright 2021 Karma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dao.karma.factorystorage;
+
+import score.Address;
+import score.BranchDB;
+import score.Context;
+import score.DictDB;
+
+// Address => indices of the bonds in `bondDetails`, in push order
+public class BondIndex {
+    // Address => position => bond index
+    private final BranchDB<Address, DictDB<Integer, Integer>> indices;
+    // Address => number of bonds
+    private final DictDB<Address, Integer> count;
+
+    public BondIndex (String id) {
+        this.indices = Context.newBranchDB(id + "_indices", Integer.class);
+        this.count = Context.newDictDB(id + "_count", Integer.class);
+    }
+
+    public int count (Address key) {
+        return this.count.getOrDefault(key, 0);
+    }
+
+    public int get (Address key, int position) {
+        return this.indices.at(key).get(position);
+    }
+
+    public void add (Address key, int index) {
+        int count = this.count(key);
+        this.indices.at(key).set(count, index);
+        this.count.set(key, count + 1);
+    }
+}
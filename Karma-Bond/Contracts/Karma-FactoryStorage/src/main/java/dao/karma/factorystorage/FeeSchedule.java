@@ -0,0 +1,83 @@
+/*
+ * Copyright 2021 Karma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dao.karma.factorystorage;
+
+import java.math.BigInteger;
+
+import score.ObjectReader;
+import score.ObjectWriter;
+
+// Fee tiers of a bond, shared by all the bonds created with the same schedule
+public class FeeSchedule {
+    public BigInteger[] tierCeilings;
+    public BigInteger[] fees;
+
+    public FeeSchedule (BigInteger[] tierCeilings, BigInteger[] fees) {
+        this.tierCeilings = tierCeilings;
+        this.fees = fees;
+    }
+
+    // Identifies a schedule in the interned schedules table
+    public static String key (BigInteger[] tierCeilings, BigInteger[] fees) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < tierCeilings.length; i++) {
+            builder.append(tierCeilings[i].toString(16)).append(',');
+        }
+        builder.append('|');
+        for (int i = 0; i < fees.length; i++) {
+            builder.append(fees[i].toString(16)).append(',');
+        }
+        return builder.toString();
+    }
+
+    public static FeeSchedule readObject (ObjectReader r) {
+        r.beginList();
+        BigInteger[] tierCeilings = readArray(r);
+        BigInteger[] fees = readArray(r);
+        r.end();
+
+        return new FeeSchedule(tierCeilings, fees);
+    }
+
+    public static void writeObject (ObjectWriter w, FeeSchedule obj) {
+        w.beginList(4);
+        writeArray(w, obj.tierCeilings);
+        writeArray(w, obj.fees);
+        w.end();
+    }
+
+    private static BigInteger[] readArray (ObjectReader r) {
+        int length = r.readInt();
+        BigInteger[] result = new BigInteger[length];
+        r.beginList();
+        for (int i = 0; i < length; i++) {
+            result[i] = r.readBigInteger();
+        }
+        r.end();
+
+        return result;
+    }
+
+    private static void writeArray (ObjectWriter w, BigInteger[] values) {
+        w.write(values.length);
+        w.beginList(values.length);
+        for (int i = 0; i < values.length; i++) {
+            w.write(values[i]);
+        }
+        w.end();
+    }
+}
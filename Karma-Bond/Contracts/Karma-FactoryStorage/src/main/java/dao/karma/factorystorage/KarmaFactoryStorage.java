@@ -20,7 +20,6 @@ import dao.karma.structs.bond.TreasuryBond;
 import dao.karma.structs.factorystorage.BondDetails;
 import dao.karma.types.Ownable;
 import score.Address;
-import score.ArrayDB;
 import score.Context;
 import score.DictDB;
 import score.VarDB;
@@ -35,15 +34,26 @@ public class KarmaFactoryStorage extends Ownable {
     // Contract class name
     public static final String NAME = "KarmaFactoryStorage";
 
+    // Maximum amount of bond details returned by the paged getters
+    public static final int BOND_DETAILS_PAGE_MAX_SIZE = 50;
+    // Maximum amount of bonds added to the secondary indexes by a single `indexBonds` call
+    public static final int INDEX_BONDS_MAX = 50;
+
     // Contract name
     private final String name;
 
     // ================================================
     // DB Variables
     // ================================================
-    private final ArrayDB<BondDetails> bondDetails = Context.newArrayDB(NAME + "_bondDetails", BondDetails.class);
+    private final BondDetailsStore bondDetails = new BondDetailsStore(NAME + "_bondDetails");
     private final VarDB<Address> karmaFactory = Context.newVarDB(NAME + "_karmaFactory", Address.class);
     private final DictDB<Address, Integer> indexOfBond = Context.newDictDB(NAME + "_indexOfBond", Integer.class);
+    // Secondary indexes, they cover the first `indexedBondCount` bonds
+    private final BondIndex bondsByPayoutToken = new BondIndex(NAME + "_bondsByPayoutToken");
+    private final BondIndex bondsByPrincipalToken = new BondIndex(NAME + "_bondsByPrincipalToken");
+    private final BondIndex bondsByInitialOwner = new BondIndex(NAME + "_bondsByInitialOwner");
+    // Number of bonds, from the first one, in the secondary indexes
+    private final VarDB<Integer> indexedBondCount = Context.newVarDB(NAME + "_indexedBondCount", Integer.class);
 
     // ================================================
     // Event Logs
@@ -92,13 +102,44 @@ public class KarmaFactoryStorage extends Ownable {
         checkIsKarmaFactory(caller);
 
         // OK
-        indexOfBond.set(bond.bondAddress, bondDetails.size());
-        bondDetails.add(bond);
+        addBond(bond, bondDetails.size());
 
         this.BondCreation(bond.treasuryAddress, bond.bondAddress, bond.initialOwner);
         return new TreasuryBond(bond.treasuryAddress, bond.bondAddress);
     }
 
+    /**
+     * Pushes several bond details to array, a `BondCreation` event is emitted for each bond
+     * 
+     * Access: Karma Factory
+     * 
+     * @param bonds The bonds details
+     * @return The Treasury and the Bond addresses of each bond, in the same order
+     */
+    @External
+    public TreasuryBond[] pushBonds (
+        BondDetails[] bonds
+    ) {
+        final Address caller = Context.getCaller();
+
+        // Access control
+        checkIsKarmaFactory(caller);
+
+        // OK
+        int size = bondDetails.size();
+        TreasuryBond[] result = new TreasuryBond[bonds.length];
+
+        for (int i = 0; i < bonds.length; i++) {
+            BondDetails bond = bonds[i];
+            addBond(bond, size + i);
+
+            this.BondCreation(bond.treasuryAddress, bond.bondAddress, bond.initialOwner);
+            result[i] = new TreasuryBond(bond.treasuryAddress, bond.bondAddress);
+        }
+
+        return result;
+    }
+
     /**
      * Changes the Karma Factory address
      * 
@@ -118,6 +159,56 @@ public class KarmaFactoryStorage extends Ownable {
         this.FactoryChanged(factory);
     }
 
+    /**
+     * Adds the bonds pushed before the secondary indexes existed to them, in push order.
+     * Until the indexes catch up, the newly pushed bonds are left to this method too.
+     * 
+     * Access: Policy
+     * 
+     * @param offset Index of the first bond to index, must be `indexedBondCount`
+     * @param limit Maximum amount of bonds indexed, up to `INDEX_BONDS_MAX`
+     */
+    @External
+    public void indexBonds (
+        int offset,
+        int limit
+    ) {
+        // Access control
+        onlyPolicy();
+
+        int indexed = this.indexedBondCount.getOrDefault(0);
+        Context.require(offset == indexed,
+            "indexBonds: offset must be the indexed bond count");
+        Context.require(limit >= 0 && limit <= INDEX_BONDS_MAX,
+            "indexBonds: invalid limit");
+
+        // OK
+        int end = Math.min(this.bondDetails.size(), offset + limit);
+        BondDetailsStore.Reader reader = this.bondDetails.reader();
+        for (int i = offset; i < end; i++) {
+            indexBond(reader.get(i), i);
+        }
+
+        this.indexedBondCount.set(end);
+    }
+
+    private void addBond (BondDetails bond, int index) {
+        indexOfBond.set(bond.bondAddress, index);
+        bondDetails.add(bond);
+
+        // the indexes stay in push order: a bond is indexed once all the previous ones are
+        if (this.indexedBondCount.getOrDefault(0) == index) {
+            indexBond(bond, index);
+            this.indexedBondCount.set(index + 1);
+        }
+    }
+
+    private void indexBond (BondDetails bond, int index) {
+        bondsByPayoutToken.add(bond.payoutToken, index);
+        bondsByPrincipalToken.add(bond.principalToken, index);
+        bondsByInitialOwner.add(bond.initialOwner, index);
+    }
+
     // ================================================
     // Checks
     // ================================================
@@ -147,8 +238,103 @@ public class KarmaFactoryStorage extends Ownable {
         return this.karmaFactory.get();
     }
 
+    /**
+     * Get the index of a bond in the bond details
+     * @return The bond index, -1 if the bond is unknown
+     */
     @External(readonly = true)
     public int indexOfBond (Address bond) {
-        return this.indexOfBond.get(bond);
+        return this.indexOfBond.getOrDefault(bond, -1);
+    }
+
+    @External(readonly = true)
+    public int bondCount () {
+        return this.bondDetails.size();
+    }
+
+    /**
+     * Get the number of bonds, from the first one, in the secondary indexes
+     */
+    @External(readonly = true)
+    public int indexedBondCount () {
+        return this.indexedBondCount.getOrDefault(0);
+    }
+
+    /**
+     * Get the details of consecutive bonds
+     * @param offset Index of the first bond returned
+     * @param limit Maximum amount of bonds returned, up to `BOND_DETAILS_PAGE_MAX_SIZE`
+     */
+    @External(readonly = true)
+    public BondDetails[] bondDetailsRange (int offset, int limit) {
+        BondDetails[] result = new BondDetails[pageSize(this.bondDetails.size(), offset, limit)];
+        BondDetailsStore.Reader reader = this.bondDetails.reader();
+        for (int i = 0; i < result.length; i++) {
+            result[i] = reader.get(offset + i);
+        }
+
+        return result;
+    }
+
+    @External(readonly = true)
+    public int bondCountByPayoutToken (Address payoutToken) {
+        return this.bondsByPayoutToken.count(payoutToken);
+    }
+
+    /**
+     * Get the details of the bonds paying out a token, in push order
+     * @param offset Position of the first bond returned
+     * @param limit Maximum amount of bonds returned, up to `BOND_DETAILS_PAGE_MAX_SIZE`
+     */
+    @External(readonly = true)
+    public BondDetails[] bondsByPayoutToken (Address payoutToken, int offset, int limit) {
+        return bondDetailsPage(this.bondsByPayoutToken, payoutToken, offset, limit);
+    }
+
+    @External(readonly = true)
+    public int bondCountByPrincipalToken (Address principalToken) {
+        return this.bondsByPrincipalToken.count(principalToken);
+    }
+
+    /**
+     * Get the details of the bonds accepting a principal token, in push order
+     * @param offset Position of the first bond returned
+     * @param limit Maximum amount of bonds returned, up to `BOND_DETAILS_PAGE_MAX_SIZE`
+     */
+    @External(readonly = true)
+    public BondDetails[] bondsByPrincipalToken (Address principalToken, int offset, int limit) {
+        return bondDetailsPage(this.bondsByPrincipalToken, principalToken, offset, limit);
+    }
+
+    @External(readonly = true)
+    public int bondCountByInitialOwner (Address initialOwner) {
+        return this.bondsByInitialOwner.count(initialOwner);
+    }
+
+    /**
+     * Get the details of the bonds created for an initial owner, in push order
+     * @param offset Position of the first bond returned
+     * @param limit Maximum amount of bonds returned, up to `BOND_DETAILS_PAGE_MAX_SIZE`
+     */
+    @External(readonly = true)
+    public BondDetails[] bondsByInitialOwner (Address initialOwner, int offset, int limit) {
+        return bondDetailsPage(this.bondsByInitialOwner, initialOwner, offset, limit);
+    }
+
+    private BondDetails[] bondDetailsPage (BondIndex index, Address key, int offset, int limit) {
+        BondDetails[] result = new BondDetails[pageSize(index.count(key), offset, limit)];
+        BondDetailsStore.Reader reader = this.bondDetails.reader();
+        for (int i = 0; i < result.length; i++) {
+            result[i] = reader.get(index.get(key, offset + i));
+        }
+
+        return result;
+    }
+
+    private static int pageSize (int size, int offset, int limit) {
+        Context.require(offset >= 0 && limit >= 0 && limit <= BOND_DETAILS_PAGE_MAX_SIZE,
+            "bondDetails: invalid page");
+
+        return Math.max(0, Math.min(limit, size - offset));
     }
 }
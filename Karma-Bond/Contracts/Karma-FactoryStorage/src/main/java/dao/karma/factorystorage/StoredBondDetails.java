@@ -0,0 +1,147 @@
+/*
+ * Copyright 2021 Karma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dao.karma.factorystorage;
+
+import java.math.BigInteger;
+
+import dao.karma.structs.factorystorage.BondDetails;
+import score.Address;
+import score.Context;
+import score.ObjectReader;
+import score.ObjectWriter;
+
+/**
+ * Storage entry of a bond in `KarmaFactoryStorage`.
+ * 
+ * Legacy entries (v1) are a plain `BondDetails`. Since v2, the addresses shared
+ * between bonds and the fee schedule are referenced by their ID in the interned
+ * tables of `BondDetailsStore`, the entry starts with a null marker followed by
+ * the version so it can't be mistaken for a legacy one.
+ */
+public class StoredBondDetails {
+    // Storage layout version, written after the null marker
+    public static final int VERSION = 2;
+
+    // Only set for the legacy entries
+    public BondDetails legacy;
+
+    // Interned IDs, only set since v2
+    public int payoutToken;
+    public int principalToken;
+    public int treasuryAddress;
+    public int initialOwner;
+    public int feeSchedule;
+    // Unique to each bond, never interned
+    public Address bondAddress;
+
+    public StoredBondDetails (BondDetails legacy) {
+        this.legacy = legacy;
+    }
+
+    public StoredBondDetails (
+        int payoutToken,
+        int principalToken,
+        int treasuryAddress,
+        Address bondAddress,
+        int initialOwner,
+        int feeSchedule
+    ) {
+        this.payoutToken = payoutToken;
+        this.principalToken = principalToken;
+        this.treasuryAddress = treasuryAddress;
+        this.bondAddress = bondAddress;
+        this.initialOwner = initialOwner;
+        this.feeSchedule = feeSchedule;
+    }
+
+    public static StoredBondDetails readObject (ObjectReader r) {
+        // A legacy entry starts with the payout token address
+        Address payoutToken = r.readNullable(Address.class);
+        if (payoutToken != null) {
+            return new StoredBondDetails(readLegacy(r, payoutToken));
+        }
+
+        r.beginList();
+        int version = r.readInt();
+        Context.require(version == VERSION,
+            "StoredBondDetails: unknown storage version");
+
+        StoredBondDetails result = new StoredBondDetails (
+            r.readInt(),
+            r.readInt(),
+            r.readInt(),
+            r.readAddress(),
+            r.readInt(),
+            r.readInt()
+        );
+        r.end();
+
+        return result;
+    }
+
+    // v1 layout, as written by `BondDetails.writeObject`
+    private static BondDetails readLegacy (ObjectReader r, Address payoutToken) {
+        Address principalToken = r.readAddress();
+        Address treasuryAddress = r.readAddress();
+        Address bondAddress = r.readAddress();
+        Address initialOwner = r.readAddress();
+
+        int tierCeilingsLength = r.readInt();
+        BigInteger[] tierCeilings = new BigInteger[tierCeilingsLength];
+        r.beginList();
+        for (int i = 0; i < tierCeilingsLength; i++) {
+            tierCeilings[i] = r.readBigInteger();
+        }
+        r.end();
+
+        int feesLength = r.readInt();
+        BigInteger[] fees = new BigInteger[feesLength];
+        r.beginList();
+        for (int i = 0; i < feesLength; i++) {
+            fees[i] = r.readBigInteger();
+        }
+        r.end();
+
+        return new BondDetails (
+            payoutToken,
+            principalToken,
+            treasuryAddress,
+            bondAddress,
+            initialOwner,
+            tierCeilings,
+            fees
+        );
+    }
+
+    public static void writeObject (ObjectWriter w, StoredBondDetails obj) {
+        if (obj.legacy != null) {
+            BondDetails.writeObject(w, obj.legacy);
+            return;
+        }
+
+        w.writeNull();
+        w.beginList(7);
+        w.write(VERSION);
+        w.write(obj.payoutToken);
+        w.write(obj.principalToken);
+        w.write(obj.treasuryAddress);
+        w.write(obj.bondAddress);
+        w.write(obj.initialOwner);
+        w.write(obj.feeSchedule);
+        w.end();
+    }
+}
@@ -23,11 +23,14 @@ import java.util.Map;
 import dao.karma.interfaces.bond.IBalancedDEX;
 import dao.karma.interfaces.oracle.IBandOracle;
 import dao.karma.interfaces.oracle.IStakedIcx;
+import dao.karma.structs.oracle.CachedPrice;
+import dao.karma.structs.oracle.PoolRoutes;
 import dao.karma.types.Ownable;
 import dao.karma.utils.EnumerableSet;
 import dao.karma.utils.MathUtils;
 import score.Address;
 import score.Context;
+import score.DictDB;
 import score.VarDB;
 import score.annotation.EventLog;
 import score.annotation.External;
@@ -70,6 +73,16 @@ public class KarmaOracle extends Ownable {
     private final VarDB<Address> bandOracle = Context.newVarDB(NAME + "_bandOracle", Address.class);
     // List of stablecoins - the price for these tokens will always be evaluated at 1$ whatever happens
     private final EnumerableSet<Address> stablecoins = new EnumerableSet<>(NAME + "_stablecoins", Address.class);
+    // Last USD price computed by `refreshPrice` for a given token
+    private final DictDB<Address, CachedPrice> priceCache = Context.newDictDB(NAME + "_priceCache", CachedPrice.class);
+    // Maximum age (in blocks) of a cached price before it is computed again, the cache is disabled if 0
+    private final DictDB<Address, Long> priceMaxAge = Context.newDictDB(NAME + "_priceMaxAge", Long.class);
+    // Balanced pools known to exist between a base token and the stablecoins
+    private final DictDB<Address, PoolRoutes> poolRoutes = Context.newDictDB(NAME + "_poolRoutes", PoolRoutes.class);
+    // Incremented whenever the stablecoins list changes, routes built with an older version are ignored
+    private final VarDB<Long> poolRoutesVersion = Context.newVarDB(NAME + "_poolRoutesVersion", Long.class);
+    // Cumulative USD price observations of the tracked tokens, used for the TWAP
+    private final ObservationBuffer observations = new ObservationBuffer(NAME + "_observations");
 
     // ================================================
     // Event Logs
@@ -77,6 +90,32 @@ public class KarmaOracle extends Ownable {
     @EventLog
     public void AddressChanged(Address newAddress) {}
 
+    @EventLog(indexed = 1)
+    public void CachedPriceReplaced (
+        Address base,
+        BigInteger oldPrice,
+        long oldBlockHeight,
+        BigInteger newPrice
+    ) {}
+
+    @EventLog(indexed = 1)
+    public void PoolRoutesUpdated (
+        Address base,
+        int count
+    ) {}
+
+    @EventLog
+    public void PoolRoutesInvalidated (
+        long version
+    ) {}
+
+    @EventLog(indexed = 1)
+    public void PriceObserved (
+        Address base,
+        BigInteger price,
+        long blockHeight
+    ) {}
+
     // ================================================
     // Methods
     // ================================================
@@ -167,6 +206,7 @@ public class KarmaOracle extends Ownable {
 
         // OK
         this.stablecoins.add(newStablecoin);
+        this.invalidatePoolRoutes();
     }
 
     @External
@@ -176,6 +216,171 @@ public class KarmaOracle extends Ownable {
 
         // OK
         this.stablecoins.remove(newStablecoin);
+        this.invalidatePoolRoutes();
+    }
+
+    /**
+     * Set the Balanced pools used for pricing a token against the stablecoins
+     * 
+     * @param base The token address
+     * @param stablecoins The quote stablecoin of each pool
+     * @param poolIds The Balanced pool IDs
+     */
+    @External
+    public void setPoolRoutes (Address base, Address[] stablecoins, BigInteger[] poolIds) {
+        // Access control
+        this.onlyPolicy();
+
+        Context.require(stablecoins.length == poolIds.length,
+            "setPoolRoutes: stablecoins and poolIds length mismatch");
+
+        for (Address stablecoin : stablecoins) {
+            Context.require(this.stablecoins.contains(stablecoin),
+                "setPoolRoutes: not a stablecoin");
+        }
+
+        // OK
+        this.poolRoutes.set(base, new PoolRoutes(this.poolRoutesVersion.getOrDefault(0L), stablecoins, poolIds));
+        this.PoolRoutesUpdated(base, poolIds.length);
+    }
+
+    /**
+     * Set the maximum age of a cached price
+     * 
+     * @param base The token address
+     * @param maxAge The maximum age in blocks, 0 disables the cache for this token
+     */
+    @External
+    public void setPriceMaxAge (Address base, long maxAge) {
+        // Access control
+        this.onlyPolicy();
+
+        Context.require(maxAge >= 0,
+            "setPriceMaxAge: maxAge cannot be negative");
+
+        // OK
+        this.priceMaxAge.set(base, maxAge);
+    }
+
+    /**
+     * Set the number of TWAP observations kept for a token. The existing observations are discarded.
+     * 
+     * @param base The token address
+     * @param cardinality The number of observations, 0 stops tracking the token
+     */
+    @External
+    public void setObservationCardinality (Address base, int cardinality) {
+        // Access control
+        this.onlyPolicy();
+
+        Context.require(cardinality >= 0 && cardinality <= ObservationBuffer.MAX_CARDINALITY,
+            "setObservationCardinality: invalid cardinality");
+
+        // OK
+        this.observations.setCardinality(base, cardinality);
+    }
+
+    // --- Keeper methods ---
+    /**
+     * Record the current USD price of a list of tracked tokens in their TWAP observations.
+     * Tokens already observed in the current block are skipped.
+     * 
+     * Access: Everyone
+     * 
+     * @param bases The token addresses
+     */
+    @External
+    public void observe (Address[] bases) {
+        final long blockHeight = Context.getBlockHeight();
+        PriceMemo memo = new PriceMemo();
+
+        for (Address base : bases) {
+            Context.require(this.observations.cardinality(base) > 0,
+                "observe: token not tracked");
+
+            BigInteger price;
+            try {
+                price = this.computePrice(base, memo);
+            } catch (Exception e) {
+                Context.revert("observe: cannot retrieve price properly");
+                return;
+            }
+            memo.putPrice(base, price);
+
+            if (this.observations.write(base, blockHeight, price)) {
+                this.PriceObserved(base, price, blockHeight);
+            }
+        }
+    }
+
+    /**
+     * Look up the Balanced pools existing between each token and the stablecoins,
+     * and store them so price requests only query these pools
+     * 
+     * Access: Everyone
+     * 
+     * @param bases The token addresses
+     */
+    @External
+    public void discoverPoolRoutes (Address[] bases) {
+        final Address dex = this.balancedDex.get();
+        final long version = this.poolRoutesVersion.getOrDefault(0L);
+        final int stablecoinsSize = this.stablecoins.length();
+
+        for (Address base : bases) {
+            Address[] stablecoins = new Address[stablecoinsSize];
+            BigInteger[] poolIds = new BigInteger[stablecoinsSize];
+            int count = 0;
+
+            for (int i = 0; i < stablecoinsSize; i++) {
+                Address stablecoin = this.stablecoins.at(i);
+                BigInteger poolId = this.findPoolId(dex, base, stablecoin);
+
+                if (poolId != null) {
+                    stablecoins[count] = stablecoin;
+                    poolIds[count] = poolId;
+                    count++;
+                }
+            }
+
+            Address[] foundStablecoins = new Address[count];
+            BigInteger[] foundPoolIds = new BigInteger[count];
+            System.arraycopy(stablecoins, 0, foundStablecoins, 0, count);
+            System.arraycopy(poolIds, 0, foundPoolIds, 0, count);
+
+            this.poolRoutes.set(base, new PoolRoutes(version, foundStablecoins, foundPoolIds));
+            this.PoolRoutesUpdated(base, count);
+        }
+    }
+
+    /**
+     * Compute the USD prices of a list of tokens and store them in the cache
+     * 
+     * Access: Everyone
+     * 
+     * @param bases The token addresses
+     */
+    @External
+    public void refreshPrice (Address[] bases) {
+        final long blockHeight = Context.getBlockHeight();
+        PriceMemo memo = new PriceMemo();
+
+        for (Address base : bases) {
+            BigInteger price;
+            try {
+                price = this.computePrice(base, memo);
+            } catch (Exception e) {
+                Context.revert("refreshPrice: cannot retrieve price properly");
+                return;
+            }
+
+            CachedPrice cached = this.priceCache.get(base);
+            if (cached != null) {
+                this.CachedPriceReplaced(base, cached.price, cached.blockHeight, price);
+            }
+
+            this.priceCache.set(base, new CachedPrice(price, blockHeight));
+        }
     }
 
     @EventLog(indexed = 1)
@@ -184,8 +389,29 @@ public class KarmaOracle extends Ownable {
     // ================================================
     // Private methods
     // ================================================
-    private BigInteger getPrice (Address base) {
-        
+    private BigInteger getPrice (Address base, PriceMemo memo) {
+        // Already computed during this call
+        BigInteger price = memo.price(base);
+        if (price != null) {
+            return price;
+        }
+
+        // Use the cached price if it is recent enough
+        long maxAge = this.priceMaxAge.getOrDefault(base, 0L);
+        CachedPrice cached = maxAge > 0 ? this.priceCache.get(base) : null;
+
+        if (cached != null && Context.getBlockHeight() - cached.blockHeight <= maxAge) {
+            price = cached.price;
+        } else {
+            price = this.computePrice(base, memo);
+        }
+
+        memo.putPrice(base, price);
+        return price;
+    }
+
+    private BigInteger computePrice (Address base, PriceMemo memo) {
+
         // Stablecoin / USD
         if (this.stablecoins.contains(base)) {
             // return 1$ for stablecoins, whatever happens
@@ -195,7 +421,7 @@ public class KarmaOracle extends Ownable {
         // ICX / USD
         if (base.equals(ICX)) {
             // Use Band Oracle
-            Map<String, ?> data = IBandOracle.get_reference_data(this.bandOracle.get(), "ICX", "USD");
+            Map<String, ?> data = IBandOracle.get_reference_data(this.getBandOracle(memo), "ICX", "USD");
             BigInteger price = (BigInteger) data.get("rate");
             return price;
         }
@@ -203,64 +429,71 @@ public class KarmaOracle extends Ownable {
         // BALN / USD
         else if (base.equals(BALN)) {
             // Use Balanced BALN Oracle
-            BigInteger price = IBalancedDEX.getBalnPrice(this.balancedDex.get());
+            BigInteger price = IBalancedDEX.getBalnPrice(this.getBalancedDex(memo));
             return price;
         }
     
         // OMM / USD
         else if (base.equals(OMM)) {
-            return this.getOmmPrice();
+            return this.getOmmPrice(memo);
         }
 
         // sICX / USD
         else if (base.equals(SICX)) {
-            return this.getSicxPrice();
+            return this.getSicxPrice(memo);
         }
 
         // Other pairs
         else {
-            return this.getGenericPrice(base);
+            return this.getGenericPrice(base, memo);
         }
     }
 
-    private BigInteger getSicxPrice () {
-        BigInteger icxPrice = this.getPrice(ICX);
-        BigInteger sIcxRate = IStakedIcx.priceInLoop(SICX);
-        return sIcxRate.multiply(icxPrice).divide(EXA);
+    private BigInteger getSicxPrice (PriceMemo memo) {
+        BigInteger icxPrice = this.getPrice(ICX, memo);
+
+        if (memo.sicxRate == null) {
+            memo.sicxRate = IStakedIcx.priceInLoop(SICX);
+        }
+
+        return memo.sicxRate.multiply(icxPrice).divide(EXA);
     }
 
-    private BigInteger getGenericPrice (Address base) {
+    private BigInteger getGenericPrice (Address base, PriceMemo memo) {
 
-        int stablecoinsSize = this.stablecoins.length();
-        final Address dex = this.balancedDex.get();
+        final Address dex = this.getBalancedDex(memo);
         BigInteger totalPrice = ZERO;
         BigInteger totalBaseSupply = ZERO;
 
-        for (int i = 0; i < stablecoinsSize; i++) {
-            Address stablecoin = this.stablecoins.at(i);
-            BigInteger poolId = ZERO;
+        PoolRoutes routes = this.poolRoutes.get(base);
 
-            try {
-                poolId = IBalancedDEX.getPoolId(dex, base, stablecoin);
-            } catch (Exception e) {
-                // The base / stablecoin pool may not exist, keep iterating
-                continue;
+        if (routes != null && routes.version == this.getPoolRoutesVersion(memo)) {
+            // Only query the pools known to exist
+            for (int i = 0; i < routes.poolIds.length; i++) {
+                Map<String, ?> poolStats = this.getPoolStats(dex, routes.poolIds[i], memo);
+                BigInteger totalSupply = (BigInteger) poolStats.get("base");
+
+                totalBaseSupply = totalBaseSupply.add(totalSupply);
+                totalPrice = totalPrice.add(totalSupply.multiply(this.getPoolUsdPrice(poolStats, routes.stablecoins[i], memo)));
             }
-            Map<String, ?> poolStats = IBalancedDEX.getPoolStats(dex, poolId);
-            
-            // convert price to 10**18 precision and calculate price in quote
-            BigInteger price = (BigInteger) poolStats.get("price");
-            BigInteger quoteDecimals = (BigInteger) poolStats.get("quote_decimals");
-            BigInteger baseDecimals = (BigInteger) poolStats.get("base_decimals");
-            BigInteger averageDecimals = quoteDecimals.multiply(BigInteger.valueOf(18)).divide(baseDecimals);
-            BigInteger adjustedPrice = MathUtils.convertToExa(price, averageDecimals.intValue());
+        } else {
+            int stablecoinsSize = this.stablecoins.length();
 
-            BigInteger oraclePrice = this.getPrice(stablecoin);
-            BigInteger convertedPrice = MathUtils.exaMul(adjustedPrice, oraclePrice);
-            BigInteger totalSupply = (BigInteger) poolStats.get("base");
+            for (int i = 0; i < stablecoinsSize; i++) {
+                Address stablecoin = this.stablecoins.at(i);
+                BigInteger poolId = this.findPoolId(dex, base, stablecoin);
 
-            totalBaseSupply = totalBaseSupply.add(totalSupply);
-            totalPrice = totalPrice.add(totalSupply.multiply(convertedPrice));
+                if (poolId == null) {
+                    // The base / stablecoin pool may not exist, keep iterating
+                    continue;
+                }
+
+                Map<String, ?> poolStats = this.getPoolStats(dex, poolId, memo);
+                BigInteger totalSupply = (BigInteger) poolStats.get("base");
+
+                totalBaseSupply = totalBaseSupply.add(totalSupply);
+                totalPrice = totalPrice.add(totalSupply.multiply(this.getPoolUsdPrice(poolStats, stablecoin, memo)));
+            }
         }
 
         if (totalBaseSupply.equals(ZERO)) {
@@ -271,10 +504,86 @@ public class KarmaOracle extends Ownable {
         return totalPrice.divide(totalBaseSupply);
     }
 
-    private BigInteger getOmmPrice () {
+    /**
+     * USD price of the base token of a base / stablecoin pool
+     */
+    private BigInteger getPoolUsdPrice (Map<String, ?> poolStats, Address stablecoin, PriceMemo memo) {
+        // convert price to 10**18 precision and calculate price in quote
+        BigInteger price = (BigInteger) poolStats.get("price");
+        BigInteger quoteDecimals = (BigInteger) poolStats.get("quote_decimals");
+        BigInteger baseDecimals = (BigInteger) poolStats.get("base_decimals");
+        BigInteger averageDecimals = quoteDecimals.multiply(BigInteger.valueOf(18)).divide(baseDecimals);
+        BigInteger adjustedPrice = MathUtils.convertToExa(price, averageDecimals.intValue());
+
+        BigInteger oraclePrice = this.getPrice(stablecoin, memo);
+        return MathUtils.exaMul(adjustedPrice, oraclePrice);
+    }
+
+    /**
+     * Balanced pool ID of a base / stablecoin pair
+     * @return the pool ID, or null if the pool doesn't exist
+     */
+    private BigInteger findPoolId (Address dex, Address base, Address stablecoin) {
+        BigInteger poolId;
+        try {
+            poolId = IBalancedDEX.getPoolId(dex, base, stablecoin);
+        } catch (Exception e) {
+            return null;
+        }
+
+        if (poolId == null || poolId.equals(ZERO)) {
+            return null;
+        }
+
+        return poolId;
+    }
+
+    private Map<String, ?> getPoolStats (Address dex, BigInteger poolId, PriceMemo memo) {
+        Map<String, ?> poolStats = memo.poolStats(poolId);
+
+        if (poolStats == null) {
+            poolStats = IBalancedDEX.getPoolStats(dex, poolId);
+            memo.putPoolStats(poolId, poolStats);
+        }
+
+        return poolStats;
+    }
+
+    // The oracle settings are only read once per price request
+    private Address getBalancedDex (PriceMemo memo) {
+        if (memo.balancedDex == null) {
+            memo.balancedDex = this.balancedDex.get();
+        }
+
+        return memo.balancedDex;
+    }
+
+    private Address getBandOracle (PriceMemo memo) {
+        if (memo.bandOracle == null) {
+            memo.bandOracle = this.bandOracle.get();
+        }
+
+        return memo.bandOracle;
+    }
+
+    private long getPoolRoutesVersion (PriceMemo memo) {
+        if (memo.poolRoutesVersion == null) {
+            memo.poolRoutesVersion = this.poolRoutesVersion.getOrDefault(0L);
+        }
+
+        return memo.poolRoutesVersion;
+    }
+
+    private void invalidatePoolRoutes () {
+        long version = this.poolRoutesVersion.getOrDefault(0L) + 1;
+        this.poolRoutesVersion.set(version);
+        this.PoolRoutesInvalidated(version);
+    }
+
+    private BigInteger getOmmPrice (PriceMemo memo) {
         BigInteger totalPrice = ZERO;
         BigInteger totalOmmSupply = ZERO;
-        final Address dex = this.balancedDex.get();
+        final Address dex = this.getBalancedDex(memo);
 
         for (var token : OMM_TOKENS) {
             BigInteger poolId = IBalancedDEX.getPoolId(dex, OMM, token.address);
@@ -284,7 +593,7 @@ public class KarmaOracle extends Ownable {
                 return null;
             }
 
-            Map<String, ?> poolStats = IBalancedDEX.getPoolStats(dex, poolId);
+            Map<String, ?> poolStats = this.getPoolStats(dex, poolId, memo);
 
             // convert price to 10**18 precision and calculate price in quote
             BigInteger price = (BigInteger) poolStats.get("price");
@@ -293,7 +602,7 @@ public class KarmaOracle extends Ownable {
             BigInteger averageDecimals = quoteDecimals.multiply(BigInteger.valueOf(18)).divide(baseDecimals);
             BigInteger adjustedPrice = token.convert(dex, price, averageDecimals.intValue(), USDS, IUSDC, SICX, SICX_ICX_POOL_ID);
 
-            BigInteger oraclePrice = this.getPrice(token.priceOracleKey);
+            BigInteger oraclePrice = this.getPrice(token.priceOracleKey, memo);
             BigInteger convertedPrice = MathUtils.exaMul(adjustedPrice, oraclePrice);
             BigInteger totalSupply = (BigInteger) poolStats.get("base");
 
@@ -314,13 +623,51 @@ public class KarmaOracle extends Ownable {
     @External(readonly = true)
     public BigInteger getUsdPrice (Address base) {
         try {
-            return this.getPrice(base);
+            return this.getPrice(base, new PriceMemo());
         } catch (Exception e) {
             Context.revert("getUsdPrice: cannot retrieve price properly");
             return null;
         }
     }
 
+    /**
+     * Get the USD prices of a list of tokens in a single call.
+     * The intermediate results (ICX and sICX rates, stablecoins prices, pool stats) are shared between the tokens
+     * 
+     * @param bases The token addresses
+     * @return The USD prices, in the same order than `bases`
+     */
+    @External(readonly = true)
+    public BigInteger[] getUsdPrices (Address[] bases) {
+        PriceMemo memo = new PriceMemo();
+        BigInteger[] result = new BigInteger[bases.length];
+
+        try {
+            for (int i = 0; i < bases.length; i++) {
+                result[i] = this.getPrice(bases[i], memo);
+            }
+        } catch (Exception e) {
+            Context.revert("getUsdPrices: cannot retrieve prices properly");
+            return null;
+        }
+
+        return result;
+    }
+
+    /**
+     * Get the time-weighted average USD price of a tracked token
+     * 
+     * @param base The token address
+     * @param windowBlocks The number of blocks the price is averaged over
+     */
+    @External(readonly = true)
+    public BigInteger consult (Address base, long windowBlocks) {
+        Context.require(windowBlocks > 0,
+            "consult: windowBlocks must be positive");
+
+        return this.observations.consult(base, Context.getBlockHeight(), windowBlocks);
+    }
+
     // ================================================
     // Public variable getters
     // ================================================
@@ -342,6 +689,36 @@ public class KarmaOracle extends Ownable {
         return this.bandOracle.get();
     }
 
+    @External(readonly = true)
+    public CachedPrice cachedPrice (Address base) {
+        return this.priceCache.getOrDefault(base, CachedPrice.empty());
+    }
+
+    @External(readonly = true)
+    public long priceMaxAge (Address base) {
+        return this.priceMaxAge.getOrDefault(base, 0L);
+    }
+
+    @External(readonly = true)
+    public PoolRoutes poolRoutes (Address base) {
+        return this.poolRoutes.getOrDefault(base, PoolRoutes.empty());
+    }
+
+    @External(readonly = true)
+    public long poolRoutesVersion () {
+        return this.poolRoutesVersion.getOrDefault(0L);
+    }
+
+    @External(readonly = true)
+    public int observationCardinality (Address base) {
+        return this.observations.cardinality(base);
+    }
+
+    @External(readonly = true)
+    public int observationCount (Address base) {
+        return this.observations.count(base);
+    }
+
     @External(readonly = true)
     public Address[] stablecoins () {
         Address[] result = new Address[this.stablecoins.length()];
@@ -0,0 +1,203 @@
+package dao.karma.oracle;
+
+import static java.math.BigInteger.ZERO;
+import java.math.BigInteger;
+
+import dao.karma.structs.oracle.ObservationChunk;
+import score.Address;
+import score.BranchDB;
+import score.Context;
+import score.DictDB;
+
+/**
+ * Fixed-capacity ring buffer of cumulative USD price observations per token.
+ *
+ * The observations are packed by `CHUNK_SIZE` in a single storage entry: writing an
+ * observation costs one entry, and the window start of a TWAP is found with a binary
+ * search over at most `MAX_CARDINALITY / CHUNK_SIZE` entries.
+ */
+public class ObservationBuffer {
+  public static final int CHUNK_SIZE = 8;
+  public static final int MAX_CARDINALITY = 256;
+
+  // Token => chunk index => observations
+  private final BranchDB<Address, DictDB<Integer, ObservationChunk>> chunks;
+  // Token => maximum number of observations kept, the token isn't observed if 0
+  private final DictDB<Address, Integer> cardinality;
+  // Token => number of observations written, up to the cardinality
+  private final DictDB<Address, Integer> count;
+  // Token => slot of the latest observation
+  private final DictDB<Address, Integer> index;
+
+  public ObservationBuffer (String id) {
+    this.chunks = Context.newBranchDB(id + "_chunks", ObservationChunk.class);
+    this.cardinality = Context.newDictDB(id + "_cardinality", Integer.class);
+    this.count = Context.newDictDB(id + "_count", Integer.class);
+    this.index = Context.newDictDB(id + "_index", Integer.class);
+  }
+
+  public int cardinality (Address token) {
+    return this.cardinality.getOrDefault(token, 0);
+  }
+
+  public int count (Address token) {
+    return this.count.getOrDefault(token, 0);
+  }
+
+  /**
+   * Resize the buffer of a token. The existing observations are discarded.
+   */
+  public void setCardinality (Address token, int cardinality) {
+    DictDB<Integer, ObservationChunk> chunks = this.chunks.at(token);
+    int oldChunks = chunkCount(this.cardinality(token));
+    for (int i = 0; i < oldChunks; i++) {
+      chunks.set(i, null);
+    }
+
+    this.cardinality.set(token, cardinality);
+    this.count.set(token, null);
+    this.index.set(token, null);
+  }
+
+  /**
+   * Append an observation to the buffer of a token, overwriting the oldest one if full
+   *
+   * @return false if the token has already been observed in this block
+   */
+  public boolean write (Address token, long blockHeight, BigInteger price) {
+    DictDB<Integer, ObservationChunk> chunks = this.chunks.at(token);
+    int cardinality = this.cardinality(token);
+    int count = this.count(token);
+
+    int slot = 0;
+    BigInteger priceCumulative = ZERO;
+    ObservationChunk chunk = null;
+
+    if (count > 0) {
+      int last = this.index.get(token);
+      chunk = chunks.get(last / CHUNK_SIZE);
+      int i = last % CHUNK_SIZE;
+
+      if (chunk.blockHeights[i] == blockHeight) {
+        return false;
+      }
+
+      // the previous price lasted until this block
+      priceCumulative = chunk.priceCumulatives[i].add(
+        chunk.prices[i].multiply(BigInteger.valueOf(blockHeight - chunk.blockHeights[i])));
+      slot = (last + 1) % cardinality;
+
+      if (slot / CHUNK_SIZE != last / CHUNK_SIZE) {
+        chunk = null;
+      }
+    }
+
+    if (chunk == null) {
+      chunk = chunks.get(slot / CHUNK_SIZE);
+    }
+    if (chunk == null) {
+      chunk = ObservationChunk.empty(chunkLength(cardinality, slot / CHUNK_SIZE));
+    }
+
+    int i = slot % CHUNK_SIZE;
+    chunk.blockHeights[i] = blockHeight;
+    chunk.priceCumulatives[i] = priceCumulative;
+    chunk.prices[i] = price;
+    chunks.set(slot / CHUNK_SIZE, chunk);
+
+    this.index.set(token, slot);
+    if (count < cardinality) {
+      this.count.set(token, count + 1);
+    }
+
+    return true;
+  }
+
+  /**
+   * Time-weighted average USD price of a token over the last `windowBlocks` blocks
+   */
+  public BigInteger consult (Address token, long blockHeight, long windowBlocks) {
+    int count = this.count(token);
+    Context.require(count > 0, "consult: no observation for this token");
+
+    int cardinality = this.cardinality(token);
+    int last = this.index.get(token);
+    Reader reader = new Reader(this.chunks.at(token));
+
+    // the latest price lasts until now
+    reader.load(last);
+    long latestBlockHeight = reader.blockHeight();
+    BigInteger latestPrice = reader.price();
+    BigInteger cumulativeNow = reader.priceCumulative().add(
+      latestPrice.multiply(BigInteger.valueOf(blockHeight - latestBlockHeight)));
+
+    long target = blockHeight - windowBlocks;
+    if (target >= latestBlockHeight) {
+      return latestPrice;
+    }
+
+    int oldest = count < cardinality ? 0 : (last + 1) % cardinality;
+    reader.load(oldest);
+    Context.require(reader.blockHeight() <= target,
+      "consult: window older than the oldest observation");
+
+    // last observation at or before the window start, positions are relative to the oldest observation
+    int low = 0;
+    int high = count - 1;
+    while (high - low > 1) {
+      int mid = (low + high) >>> 1;
+      reader.load((oldest + mid) % cardinality);
+      if (reader.blockHeight() <= target) {
+        low = mid;
+      } else {
+        high = mid;
+      }
+    }
+
+    reader.load((oldest + low) % cardinality);
+    BigInteger cumulativeStart = reader.priceCumulative().add(
+      reader.price().multiply(BigInteger.valueOf(target - reader.blockHeight())));
+
+    return cumulativeNow.subtract(cumulativeStart).divide(BigInteger.valueOf(windowBlocks));
+  }
+
+  private static int chunkCount (int cardinality) {
+    return (cardinality + CHUNK_SIZE - 1) / CHUNK_SIZE;
+  }
+
+  private static int chunkLength (int cardinality, int chunkIndex) {
+    return Math.min(CHUNK_SIZE, cardinality - chunkIndex * CHUNK_SIZE);
+  }
+
+  // Reads the observations of a token, a chunk is only read once while its slots are accessed
+  private static class Reader {
+    private final DictDB<Integer, ObservationChunk> chunks;
+    private int chunkIndex = -1;
+    private ObservationChunk chunk;
+    private int i;
+
+    Reader (DictDB<Integer, ObservationChunk> chunks) {
+      this.chunks = chunks;
+    }
+
+    void load (int slot) {
+      if (slot / CHUNK_SIZE != this.chunkIndex) {
+        this.chunkIndex = slot / CHUNK_SIZE;
+        this.chunk = this.chunks.get(this.chunkIndex);
+      }
+      this.i = slot % CHUNK_SIZE;
+    }
+
+    long blockHeight () {
+      return this.chunk.blockHeights[this.i];
+    }
+
+    BigInteger priceCumulative () {
+      return this.chunk.priceCumulatives[this.i];
+    }
+
+    BigInteger price () {
+      return this.chunk.prices[this.i];
+    }
+  }
+}
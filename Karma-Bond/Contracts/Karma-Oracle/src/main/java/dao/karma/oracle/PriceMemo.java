@@ -0,0 +1,86 @@
+package dao.karma.oracle;
+
+import java.math.BigInteger;
+import java.util.Map;
+
+import score.Address;
+
+/**
+ * Intermediate results shared by the prices computed during a single call,
+ * so the Band ICX rate, the sICX rate, the stablecoins prices and the pool
+ * stats are only fetched once per call. Never persisted.
+ */
+public class PriceMemo {
+  private static final int INITIAL_CAPACITY = 8;
+
+  // USD prices already computed
+  private Address[] tokens = new Address[INITIAL_CAPACITY];
+  private BigInteger[] prices = new BigInteger[INITIAL_CAPACITY];
+  private int pricesSize = 0;
+
+  // Balanced pool stats already fetched
+  private BigInteger[] poolIds = new BigInteger[INITIAL_CAPACITY];
+  private Map<String, ?>[] poolStats = newPoolStatsArray(INITIAL_CAPACITY);
+  private int poolStatsSize = 0;
+
+  // sICX / ICX rate
+  public BigInteger sicxRate = null;
+
+  // Oracle settings read from the storage
+  public Address balancedDex = null;
+  public Address bandOracle = null;
+  public Long poolRoutesVersion = null;
+
+  public BigInteger price (Address token) {
+    for (int i = 0; i < this.pricesSize; i++) {
+      if (this.tokens[i].equals(token)) {
+        return this.prices[i];
+      }
+    }
+    return null;
+  }
+
+  public void putPrice (Address token, BigInteger price) {
+    if (this.pricesSize == this.tokens.length) {
+      Address[] tokens = new Address[this.pricesSize * 2];
+      BigInteger[] prices = new BigInteger[this.pricesSize * 2];
+      System.arraycopy(this.tokens, 0, tokens, 0, this.pricesSize);
+      System.arraycopy(this.prices, 0, prices, 0, this.pricesSize);
+      this.tokens = tokens;
+      this.prices = prices;
+    }
+
+    this.tokens[this.pricesSize] = token;
+    this.prices[this.pricesSize] = price;
+    this.pricesSize++;
+  }
+
+  public Map<String, ?> poolStats (BigInteger poolId) {
+    for (int i = 0; i < this.poolStatsSize; i++) {
+      if (this.poolIds[i].equals(poolId)) {
+        return this.poolStats[i];
+      }
+    }
+    return null;
+  }
+
+  public void putPoolStats (BigInteger poolId, Map<String, ?> stats) {
+    if (this.poolStatsSize == this.poolIds.length) {
+      BigInteger[] poolIds = new BigInteger[this.poolStatsSize * 2];
+      Map<String, ?>[] poolStats = newPoolStatsArray(this.poolStatsSize * 2);
+      System.arraycopy(this.poolIds, 0, poolIds, 0, this.poolStatsSize);
+      System.arraycopy(this.poolStats, 0, poolStats, 0, this.poolStatsSize);
+      this.poolIds = poolIds;
+      this.poolStats = poolStats;
+    }
+
+    this.poolIds[this.poolStatsSize] = poolId;
+    this.poolStats[this.poolStatsSize] = stats;
+    this.poolStatsSize++;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, ?>[] newPoolStatsArray (int size) {
+    return (Map<String, ?>[]) new Map[size];
+  }
+}
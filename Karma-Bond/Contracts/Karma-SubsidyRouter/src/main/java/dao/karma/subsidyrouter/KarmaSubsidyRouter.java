@@ -17,14 +17,18 @@
 package dao.karma.subsidyrouter;
 
 import static dao.karma.utils.AddressUtils.ZERO_ADDRESS;
+import static java.math.BigInteger.ZERO;
 
 import java.math.BigInteger;
 
 import dao.karma.interfaces.bond.ICustomBond;
+import dao.karma.structs.subsidyrouter.SubsidyInfo;
 import dao.karma.types.Ownable;
+import dao.karma.utils.EnumerableSet;
 import score.Address;
 import score.Context;
 import score.DictDB;
+import score.annotation.EventLog;
 import score.annotation.External;
 
 // Immutable contract routes between Karma bonds and subsidy controllers
@@ -37,14 +41,34 @@ public class KarmaSubsidyRouter extends Ownable {
     // Contract class name
     public static final String NAME = "KarmaSubsidyRouter";
 
+    // Maximum amount of bonds managed by a single subsidy controller,
+    // so their subsidies can always be collected in one transaction
+    public static final int CONTROLLER_MAX_BONDS = 50;
+
+    // Maximum amount of addresses returned by the paged getters
+    public static final int PAGE_MAX_SIZE = 100;
+
     // Contract name
     private final String name;
 
     // ================================================
     // DB Variables
     // ================================================
-    // maps bond contract managed by subsidy controller
+    // maps bond contract managed by subsidy controller, legacy single bond registrations
+    // are moved to the bonds set of the controller on its next update
     private final DictDB<Address, Address> bondForController = Context.newDictDB(NAME + "_bondForController", Address.class);
+    // registered subsidy controllers
+    private final EnumerableSet<Address> controllers = new EnumerableSet<>(NAME + "_controllers", Address.class);
+
+    // ================================================
+    // Event Logs
+    // ================================================
+    @EventLog(indexed = 1)
+    public void SubsidyCollected (
+        Address subsidyController,
+        BigInteger bondsCount,
+        BigInteger total
+    ) {}
 
     // ================================================
     // Methods
@@ -59,7 +83,7 @@ public class KarmaSubsidyRouter extends Ownable {
     }
 
     /**
-     * Add new subsidy controller for bond contract
+     * Add a bond contract to the bonds managed by a subsidy controller
      * 
      * Access: Policy
      * 
@@ -78,11 +102,16 @@ public class KarmaSubsidyRouter extends Ownable {
         Context.require (!subsidyController.equals(ZERO_ADDRESS));
 
         // OK
-        this.bondForController.set(subsidyController, bond);
+        EnumerableSet<Address> bonds = migratedBondsForController(subsidyController);
+        bonds.add(bond);
+        Context.require (bonds.length() <= CONTROLLER_MAX_BONDS,
+            "addSubsidyController: too many bonds");
+
+        this.controllers.add(subsidyController);
     }
 
     /**
-     * Remove subsidy controller for bond contract
+     * Remove a subsidy controller and all its bond contracts
      * 
      * Access: Policy
      * 
@@ -95,6 +124,38 @@ public class KarmaSubsidyRouter extends Ownable {
 
         // OK
         this.bondForController.set(subsidyController, null);
+
+        EnumerableSet<Address> bonds = controllerBonds(subsidyController);
+        for (int i = bonds.length() - 1; i >= 0; i--) {
+            bonds.remove(bonds.at(i));
+        }
+
+        this.controllers.remove(subsidyController);
+    }
+
+    /**
+     * Remove a bond contract from the bonds managed by a subsidy controller
+     * 
+     * Access: Policy
+     * 
+     * @param subsidyController The Subsidy Controller address
+     * @param bond A bond contract address
+     */
+    @External
+    public void removeSubsidyControllerBond (
+        Address subsidyController,
+        Address bond
+    ) {
+        // Access control
+        onlyPolicy();
+
+        // OK
+        EnumerableSet<Address> bonds = migratedBondsForController(subsidyController);
+        bonds.remove(bond);
+
+        if (bonds.length() == 0) {
+            this.controllers.remove(subsidyController);
+        }
     }
 
     /**
@@ -102,19 +163,74 @@ public class KarmaSubsidyRouter extends Ownable {
      * 
      * Access: Subsidy Controller
      * 
-     * Returns the old payout value before reset
+     * Returns the old payout value before reset, summed over all the bonds
+     * of the subsidy controller
      */
     @External
     public BigInteger getSubsidyInfo() {
+        return collectSubsidies("getSubsidyInfo").total;
+    }
+
+    /**
+     * Subsidy controller fetches and resets the payout counter of all its bonds
+     * 
+     * Access: Subsidy Controller
+     * 
+     * Returns the old payout value of each bond before reset, and their sum
+     */
+    @External
+    public SubsidyInfo getSubsidyInfoBatch() {
+        return collectSubsidies("getSubsidyInfoBatch");
+    }
+
+    private SubsidyInfo collectSubsidies (String method) {
         final Address caller = Context.getCaller();
 
         // Access control
-        Address bond = this.bondForController.get(caller);
+        EnumerableSet<Address> bonds = migratedBondsForController(caller);
+        int length = bonds.length();
         // Only a registred subsidy controller can call this method
-        Context.require (bond != null,
-            "getSubsidyInfo: Address not mapped");
+        Context.require (length > 0,
+            method + ": Address not mapped");
+
+        // OK
+        Address[] addresses = new Address[length];
+        BigInteger[] payouts = new BigInteger[length];
+        BigInteger total = ZERO;
+
+        for (int i = 0; i < length; i++) {
+            addresses[i] = bonds.at(i);
+            payouts[i] = ICustomBond.paySubsidy(addresses[i]);
+            total = total.add(payouts[i]);
+        }
+
+        this.SubsidyCollected(caller, BigInteger.valueOf(length), total);
+        return new SubsidyInfo(addresses, payouts, total);
+    }
+
+    private EnumerableSet<Address> controllerBonds (Address subsidyController) {
+        return new EnumerableSet<>(NAME + "_bondsForController_" + subsidyController, Address.class);
+    }
+
+    // Moves a legacy single bond registration to the bonds set
+    private EnumerableSet<Address> migratedBondsForController (Address subsidyController) {
+        EnumerableSet<Address> bonds = controllerBonds(subsidyController);
 
-        return ICustomBond.paySubsidy(bond);
+        Address legacy = this.bondForController.get(subsidyController);
+        if (legacy != null) {
+            bonds.add(legacy);
+            this.controllers.add(subsidyController);
+            this.bondForController.set(subsidyController, null);
+        }
+
+        return bonds;
+    }
+
+    private static int pageSize (int size, int offset, int limit) {
+        Context.require(offset >= 0 && limit >= 0 && limit <= PAGE_MAX_SIZE,
+            "subsidyRouter: invalid page");
+
+        return Math.max(0, Math.min(limit, size - offset));
     }
 
     // ================================================
@@ -129,12 +245,69 @@ public class KarmaSubsidyRouter extends Ownable {
     }
 
     /**
-     * Get the bond associated with a given subsidyController
+     * Get the first bond associated with a given subsidyController
      * @param subsidyController The subsidyController
-     * @return The bond
+     * @return The bond, null if the subsidyController isn't registered
      */
     @External(readonly = true)
     public Address bondForController (Address subsidyController) {
-        return this.bondForController.get(subsidyController);
+        Address legacy = this.bondForController.get(subsidyController);
+        if (legacy != null) {
+            return legacy;
+        }
+
+        EnumerableSet<Address> bonds = controllerBonds(subsidyController);
+        return bonds.length() > 0 ? bonds.at(0) : null;
+    }
+
+    @External(readonly = true)
+    public int bondsForControllerCount (Address subsidyController) {
+        return this.bondForController.get(subsidyController) != null
+            ? 1
+            : controllerBonds(subsidyController).length();
+    }
+
+    /**
+     * Get the bonds associated with a given subsidyController
+     * @param offset Index of the first bond returned
+     * @param limit Maximum amount of bonds returned, up to `PAGE_MAX_SIZE`
+     */
+    @External(readonly = true)
+    public Address[] bondsForController (Address subsidyController, int offset, int limit) {
+        Address legacy = this.bondForController.get(subsidyController);
+        if (legacy != null) {
+            return pageSize(1, offset, limit) > 0 ? new Address[] {legacy} : new Address[0];
+        }
+
+        EnumerableSet<Address> bonds = controllerBonds(subsidyController);
+        Address[] result = new Address[pageSize(bonds.length(), offset, limit)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bonds.at(offset + i);
+        }
+
+        return result;
+    }
+
+    /**
+     * Get the number of subsidy controllers registered since the bonds sets exist
+     */
+    @External(readonly = true)
+    public int controllersCount () {
+        return this.controllers.length();
+    }
+
+    /**
+     * Get the subsidy controllers registered since the bonds sets exist
+     * @param offset Index of the first subsidy controller returned
+     * @param limit Maximum amount of subsidy controllers returned, up to `PAGE_MAX_SIZE`
+     */
+    @External(readonly = true)
+    public Address[] controllers (int offset, int limit) {
+        Address[] result = new Address[pageSize(this.controllers.length(), offset, limit)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = this.controllers.at(offset + i);
+        }
+
+        return result;
     }
 }
@@ -16,18 +16,56 @@
 
 package dao.karma.bkarma;
 
+import static java.math.BigInteger.ONE;
+import static java.math.BigInteger.ZERO;
+
 import java.math.BigInteger;
 import com.iconloop.score.token.irc2.IRC2Mintable;
 import score.Address;
+import score.BranchDB;
 import score.Context;
+import score.DictDB;
+import score.VarDB;
+import score.annotation.EventLog;
 import score.annotation.External;
 
 public class BKarma extends IRC2Mintable {
 
+    // Claims flagged in a single bitmap word
+    public static final int CLAIMED_WORD_SIZE = 256;
+    // Deepest Merkle tree accepted, enough for 2^32 claims
+    public static final int MERKLE_PROOF_MAX_DEPTH = 32;
+
+    // Pull-based distributions, the tokens are minted when claimed
+    private final VarDB<Integer> distributionsCount = Context.newVarDB("distributions_count", Integer.class);
+    // Distribution => Merkle root of the claims
+    private final DictDB<Integer, byte[]> merkleRoot = Context.newDictDB("distribution_merkle_root", byte[].class);
+    // Distribution => maximum amount minted by the claims
+    private final DictDB<Integer, BigInteger> allocation = Context.newDictDB("distribution_allocation", BigInteger.class);
+    // Distribution => amount minted by the claims so far
+    private final DictDB<Integer, BigInteger> claimed = Context.newDictDB("distribution_claimed", BigInteger.class);
+    // Distribution => word index => bitmap of the claimed indices
+    private final BranchDB<Integer, DictDB<Integer, BigInteger>> claimedBitmap = Context.newBranchDB("distribution_claimed_bitmap", BigInteger.class);
+
     public BKarma (String _name, String _symbol, int _decimals) {
         super(_name, _symbol, _decimals);
     }
 
+    @EventLog(indexed = 1)
+    public void DistributionCreated (
+        int distribution,
+        byte[] merkleRoot,
+        BigInteger totalAllocation
+    ) {}
+
+    @EventLog(indexed = 2)
+    public void Claimed (
+        int distribution,
+        Address account,
+        int index,
+        BigInteger amount
+    ) {}
+
     /**
      * Mint new tokens to multiple addresses at once
      * 
@@ -50,4 +88,119 @@ public class BKarma extends IRC2Mintable {
             this.mintTo(addresses[i], amounts[i]);
         }
     }
+
+    /**
+     * Publish a distribution claimed by its recipients, instead of minting
+     * all the tokens at once with `mintToMany`
+     * 
+     * Access: Owner
+     * 
+     * @param merkleRoot The root of the claims Merkle tree, see `MerkleProof`
+     * @param totalAllocation The sum of the claims amounts
+     * @return The distribution ID
+     */
+    @External
+    public int createDistribution (
+        byte[] merkleRoot,
+        BigInteger totalAllocation
+    ) {
+        // Access control
+        Context.require(Context.getCaller().equals(Context.getOwner()),
+            "createDistribution: only the owner can call this method");
+
+        Context.require(merkleRoot.length == MerkleProof.HASH_LENGTH,
+            "createDistribution: invalid Merkle root");
+        Context.require(totalAllocation.signum() > 0,
+            "createDistribution: invalid allocation");
+
+        // OK
+        int distribution = this.distributionsCount.getOrDefault(0);
+        this.distributionsCount.set(distribution + 1);
+        this.merkleRoot.set(distribution, merkleRoot);
+        this.allocation.set(distribution, totalAllocation);
+
+        this.DistributionCreated(distribution, merkleRoot, totalAllocation);
+        return distribution;
+    }
+
+    /**
+     * Mint the tokens of a distribution claim to the caller
+     * 
+     * Access: Everyone
+     * 
+     * @param distribution The distribution ID
+     * @param index The claim index in the distribution
+     * @param amount The claim amount
+     * @param proof The sibling hashes from the claim leaf to the Merkle root
+     */
+    @External
+    public void claim (
+        int distribution,
+        int index,
+        BigInteger amount,
+        byte[][] proof
+    ) {
+        final Address caller = Context.getCaller();
+
+        byte[] root = this.merkleRoot.get(distribution);
+        Context.require(root != null,
+            "claim: distribution doesn't exist");
+        Context.require(index >= 0,
+            "claim: invalid index");
+        Context.require(proof.length <= MERKLE_PROOF_MAX_DEPTH,
+            "claim: proof too long");
+
+        DictDB<Integer, BigInteger> bitmap = this.claimedBitmap.at(distribution);
+        int wordIndex = index / CLAIMED_WORD_SIZE;
+        int bitIndex = index % CLAIMED_WORD_SIZE;
+        BigInteger word = bitmap.getOrDefault(wordIndex, ZERO);
+        Context.require(!word.testBit(bitIndex),
+            "claim: already claimed");
+
+        Context.require(MerkleProof.verify(proof, root, MerkleProof.leaf(index, caller, amount)),
+            "claim: invalid proof");
+
+        BigInteger claimed = this.claimed.getOrDefault(distribution, ZERO).add(amount);
+        Context.require(claimed.compareTo(this.allocation.get(distribution)) <= 0,
+            "claim: allocation exceeded");
+
+        // OK
+        bitmap.set(wordIndex, word.or(ONE.shiftLeft(bitIndex)));
+        this.claimed.set(distribution, claimed);
+        _mint(caller, amount);
+
+        this.Claimed(distribution, caller, index, amount);
+    }
+
+    // ================================================
+    // Public variable getters
+    // ================================================
+    @External(readonly = true)
+    public int distributionsCount () {
+        return this.distributionsCount.getOrDefault(0);
+    }
+
+    @External(readonly = true)
+    public byte[] distributionMerkleRoot (int distribution) {
+        return this.merkleRoot.get(distribution);
+    }
+
+    @External(readonly = true)
+    public BigInteger distributionAllocation (int distribution) {
+        return this.allocation.getOrDefault(distribution, ZERO);
+    }
+
+    @External(readonly = true)
+    public BigInteger distributionClaimed (int distribution) {
+        return this.claimed.getOrDefault(distribution, ZERO);
+    }
+
+    @External(readonly = true)
+    public boolean isClaimed (int distribution, int index) {
+        Context.require(index >= 0,
+            "isClaimed: invalid index");
+
+        BigInteger word = this.claimedBitmap.at(distribution).getOrDefault(index / CLAIMED_WORD_SIZE, ZERO);
+        return word.testBit(index % CLAIMED_WORD_SIZE);
+    }
 }
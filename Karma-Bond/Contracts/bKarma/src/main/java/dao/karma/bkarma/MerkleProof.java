@@ -0,0 +1,101 @@
+/*
+ * Copyright 2021 Karma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dao.karma.bkarma;
+
+import java.math.BigInteger;
+
+import score.Address;
+import score.Context;
+
+/**
+ * SHA3-256 Merkle tree of the claims of a distribution.
+ * 
+ * A leaf is the hash of the claim index (4 bytes), the account (21 bytes) and the
+ * amount (32 bytes), all big-endian. The two children of a node are sorted before
+ * being hashed together, so a proof is only the list of the sibling hashes.
+ */
+public class MerkleProof {
+    public static final int HASH_LENGTH = 32;
+    private static final int AMOUNT_LENGTH = 32;
+
+    public static byte[] leaf (int index, Address account, BigInteger amount) {
+        byte[] accountBytes = account.toByteArray();
+        Context.require(amount.signum() >= 0 && amount.bitLength() <= AMOUNT_LENGTH * 8,
+            "MerkleProof: invalid amount");
+        byte[] amountBytes = amount.toByteArray();
+
+        byte[] data = new byte[4 + accountBytes.length + AMOUNT_LENGTH];
+        data[0] = (byte) (index >>> 24);
+        data[1] = (byte) (index >>> 16);
+        data[2] = (byte) (index >>> 8);
+        data[3] = (byte) index;
+        System.arraycopy(accountBytes, 0, data, 4, accountBytes.length);
+
+        // toByteArray may prepend a sign byte
+        int length = Math.min(amountBytes.length, AMOUNT_LENGTH);
+        System.arraycopy(amountBytes, amountBytes.length - length, data, data.length - length, length);
+
+        return Context.hash("sha3-256", data);
+    }
+
+    public static byte[] node (byte[] a, byte[] b) {
+        byte[] data = new byte[a.length + b.length];
+        if (compare(a, b) <= 0) {
+            System.arraycopy(a, 0, data, 0, a.length);
+            System.arraycopy(b, 0, data, a.length, b.length);
+        } else {
+            System.arraycopy(b, 0, data, 0, b.length);
+            System.arraycopy(a, 0, data, b.length, a.length);
+        }
+
+        return Context.hash("sha3-256", data);
+    }
+
+    public static boolean verify (byte[][] proof, byte[] root, byte[] leaf) {
+        byte[] hash = leaf;
+        for (int i = 0; i < proof.length; i++) {
+            Context.require(proof[i].length == HASH_LENGTH,
+                "MerkleProof: invalid proof");
+            hash = node(hash, proof[i]);
+        }
+
+        return equals(hash, root);
+    }
+
+    // Unsigned lexicographic order
+    private static int compare (byte[] a, byte[] b) {
+        for (int i = 0; i < a.length && i < b.length; i++) {
+            int diff = (a[i] & 0xff) - (b[i] & 0xff);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return a.length - b.length;
+    }
+
+    private static boolean equals (byte[] a, byte[] b) {
+        if (a.length != b.length) {
+            return false;
+        }
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] != b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -17,13 +17,22 @@
 package dao.karma.custombond;
 
 import java.math.BigInteger;
+import java.util.Map;
+
+import org.junit.jupiter.api.extension.RegisterExtension;
 
 import dao.karma.test.KarmaTest;
 import dao.karma.test.ScoreSpy;
+import dao.karma.test.StepBaselineExtension;
+import dao.karma.test.StepBaselineExtension.Metric;
 import score.Address;
 
 public class KarmaCustomBondTest extends KarmaTest {
 
+  // Storage operations of each transaction, against step-baseline.json
+  @RegisterExtension
+  static StepBaselineExtension baseline = new StepBaselineExtension(Metric.STORAGE_OPS);
+
   ScoreSpy<KarmaCustomBond> bond;
 
   void setup_bond (
@@ -52,4 +61,9 @@ public class KarmaCustomBondTest extends KarmaTest {
       fees
     );
   }
+
+  @SuppressWarnings("unchecked")
+  BigInteger payoutOf (Address depositor) {
+    return (BigInteger) ((Map<String, Object>) bond.call("bondInfo", depositor)).get("payout");
+  }
 }
\ No newline at end of file
@@ -0,0 +1,130 @@
+package dao.karma.custombond;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigInteger;
+
+import com.iconloop.score.test.Account;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dao.karma.clients.IRC2Client;
+import dao.karma.clients.KarmaCustomBondClient;
+import dao.karma.clients.KarmaCustomTreasuryClient;
+import dao.karma.custombond.mocks.KarmaOracleMock;
+import dao.karma.custombond.tokens.PayoutToken;
+import dao.karma.custombond.tokens.PrincipalToken;
+import dao.karma.customtreasury.KarmaCustomTreasury;
+import dao.karma.test.ScoreSpy;
+import dao.karma.utils.JSONUtils;
+import score.Address;
+
+public class currentKarmaFeeTest extends KarmaCustomBondTest {
+  // Fake contracts
+  final Account subsidyRouterAccount = sm.createAccount();
+  final Address karmaTreasury = sm.createAccount().getAddress();
+  final Address subsidyRouter = subsidyRouterAccount.getAddress();
+  final Address karmaDAO = sm.createAccount().getAddress();
+  final Address treasuryAddress = sm.createAccount().getAddress();
+  final Address initialOwner = owner.getAddress();
+  final BigInteger amount = EXA.divide(BigInteger.valueOf(20));
+  final BigInteger[] tierCeilings = {
+    amount,
+    amount.multiply(BigInteger.TWO),
+    amount.multiply(BigInteger.valueOf(4))
+  };
+  final BigInteger[] fees = {
+    BigInteger.valueOf(10000),
+    BigInteger.valueOf(20000),
+    BigInteger.valueOf(30000)
+  };
+
+  ScoreSpy<PrincipalToken> principalToken;
+  ScoreSpy<KarmaOracleMock> karmaOracle;
+  ScoreSpy<PayoutToken> payoutToken;
+  ScoreSpy<KarmaCustomTreasury> customTreasury;
+
+  @BeforeEach
+  void setup() throws Exception {
+    // Deploys
+    principalToken = deploy(PrincipalToken.class);
+    payoutToken = deploy(PayoutToken.class);
+    customTreasury = deploy(KarmaCustomTreasury.class, payoutToken.getAddress(), initialOwner);
+    karmaOracle = deploy(KarmaOracleMock.class);
+
+    setup_bond(
+      customTreasury.getAddress(),
+      payoutToken.getAddress(),
+      principalToken.getAddress(),
+      karmaTreasury,
+      karmaOracle.getAddress(),
+      subsidyRouter,
+      initialOwner,
+      karmaDAO,
+      tierCeilings,
+      fees
+    );
+  }
+
+  @Test
+  void testCurrentKarmaFee () {
+    initializeBond(amount.multiply(BigInteger.valueOf(3)));
+    assertEquals(fees[0], KarmaCustomBondClient.currentKarmaFee(bond.score));
+
+    // Crossing a ceiling moves to the next tier
+    deposit();
+    assertEquals(amount, KarmaCustomBondClient.totalPrincipalBonded(bond.score));
+    assertEquals(fees[1], KarmaCustomBondClient.currentKarmaFee(bond.score));
+
+    deposit();
+    assertEquals(fees[2], KarmaCustomBondClient.currentKarmaFee(bond.score));
+
+    // The last tier applies whatever the principal bonded
+    deposit();
+    assertEquals(fees[2], KarmaCustomBondClient.currentKarmaFee(bond.score));
+  }
+
+  void deposit () {
+    KarmaCustomBondClient.deposit(
+      bond.score,
+      alice,
+      principalToken.score,
+      amount,
+      BigInteger.valueOf(10_000_000),
+      owner.getAddress()
+    );
+  }
+
+  void initializeBond (BigInteger amount) {
+    // send some principal token to alice
+    IRC2Client.transfer(principalToken.score, owner, alice, amount);
+    // send some payout token to the custom treasury
+    IRC2Client.transfer(payoutToken.score, owner, customTreasury.getAccount(), EXA.multiply(BigInteger.valueOf(1000)), JSONUtils.method("funding"));
+
+    // Initialize bond
+    BigInteger controlVariable = BigInteger.valueOf(400000);
+    long vestingTerm = 302400; // 1 week
+    BigInteger minimumPrice = BigInteger.valueOf(5403);
+    BigInteger maxPayout = BigInteger.valueOf(500);
+    BigInteger maxDebt = EXA.multiply(BigInteger.valueOf(5000));
+    BigInteger initialDebt = new BigInteger("1560000000");
+    BigInteger maxDiscount = new BigInteger("100"); // in thousands 100 = 10%
+
+    KarmaCustomBondClient.setBondTerms(bond.score, owner, KarmaCustomBond.VESTING, BigInteger.valueOf(302400));
+    KarmaCustomBondClient.initializeBond (
+      bond.score,
+      owner,
+      controlVariable,
+      vestingTerm,
+      minimumPrice,
+      maxPayout,
+      maxDebt,
+      initialDebt,
+      maxDiscount
+    );
+
+    // Enable the bond contract in the custom treasury
+    KarmaCustomTreasuryClient.toggleBondContract(customTreasury.score, owner, bond.getAddress());
+  }
+}
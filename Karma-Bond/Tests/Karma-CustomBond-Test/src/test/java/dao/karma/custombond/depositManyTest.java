@@ -0,0 +1,159 @@
+package dao.karma.custombond;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigInteger;
+
+import com.iconloop.score.test.Account;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dao.karma.clients.IRC2Client;
+import dao.karma.clients.KarmaCustomBondClient;
+import dao.karma.clients.KarmaCustomTreasuryClient;
+import dao.karma.custombond.mocks.KarmaOracleMock;
+import dao.karma.custombond.tokens.PayoutToken;
+import dao.karma.custombond.tokens.PrincipalToken;
+import dao.karma.customtreasury.KarmaCustomTreasury;
+import dao.karma.test.AssertUtils;
+import dao.karma.test.ScoreSpy;
+import dao.karma.test.SleepUtils;
+import dao.karma.utils.JSONUtils;
+import dao.karma.utils.TimeUtils;
+import score.Address;
+
+public class depositManyTest extends KarmaCustomBondTest {
+  // Fake contracts
+  final Account subsidyRouterAccount = sm.createAccount();
+  final Address karmaTreasury = sm.createAccount().getAddress();
+  final Address subsidyRouter = subsidyRouterAccount.getAddress();
+  final Address karmaDAO = sm.createAccount().getAddress();
+  final Address initialOwner = owner.getAddress();
+  final BigInteger[] tierCeilings = {
+    EXA.multiply(BigInteger.valueOf(10)),
+    EXA.multiply(BigInteger.valueOf(20))
+  };
+  final BigInteger[] fees = {
+    BigInteger.valueOf(33300),
+    BigInteger.valueOf(66600)
+  };
+
+  ScoreSpy<PrincipalToken> principalToken;
+  ScoreSpy<KarmaOracleMock> karmaOracle;
+  ScoreSpy<PayoutToken> payoutToken;
+  ScoreSpy<KarmaCustomTreasury> customTreasury;
+
+  @BeforeEach
+  void setup() throws Exception {
+    // Deploys
+    principalToken = deploy(PrincipalToken.class);
+    payoutToken = deploy(PayoutToken.class);
+    customTreasury = deploy(KarmaCustomTreasury.class, payoutToken.getAddress(), initialOwner);
+    karmaOracle = deploy(KarmaOracleMock.class);
+
+    setup_bond(
+      customTreasury.getAddress(),
+      payoutToken.getAddress(),
+      principalToken.getAddress(),
+      karmaTreasury,
+      karmaOracle.getAddress(),
+      subsidyRouter,
+      initialOwner,
+      karmaDAO,
+      tierCeilings,
+      fees
+    );
+
+    // send some principal token to alice
+    IRC2Client.transfer(principalToken.score, owner, alice, EXA);
+    // send some payout token to the custom treasury
+    IRC2Client.transfer(payoutToken.score, owner, customTreasury.getAccount(), EXA.multiply(BigInteger.valueOf(1000)), JSONUtils.method("funding"));
+
+    // Initialize bond
+    KarmaCustomBondClient.setBondTerms(bond.score, owner, KarmaCustomBond.VESTING, BigInteger.valueOf(302400));
+    KarmaCustomBondClient.initializeBond (
+      bond.score,
+      owner,
+      BigInteger.valueOf(400000),
+      302400, // 1 week
+      BigInteger.valueOf(5403),
+      BigInteger.valueOf(500),
+      EXA.multiply(BigInteger.valueOf(5000)),
+      new BigInteger("1560000000"),
+      new BigInteger("100")
+    );
+
+    // Enable the bond contract in the custom treasury
+    KarmaCustomTreasuryClient.toggleBondContract(customTreasury.score, owner, bond.getAddress());
+  }
+
+  @Test
+  void testDepositMany () {
+    // Alice bonds for owner (3/4) and bob (1/4) with a single transfer
+    BigInteger ownerAllocation = EXA.multiply(BigInteger.valueOf(3)).divide(BigInteger.valueOf(40));
+    BigInteger bobAllocation = EXA.divide(BigInteger.valueOf(40));
+    BigInteger amount = ownerAllocation.add(bobAllocation);
+
+    KarmaCustomBondClient.depositMany(
+      bond.score,
+      alice,
+      principalToken.score,
+      amount,
+      BigInteger.valueOf(6000),
+      new Address[] {owner.getAddress(), bob.getAddress()},
+      new BigInteger[] {ownerAllocation, bobAllocation}
+    );
+    assertEquals(amount, KarmaCustomBondClient.totalPrincipalBonded(bond.score));
+
+    // Sleep 1 week (vestingTerm)
+    SleepUtils.sleep(TimeUtils.ONE_WEEK);
+
+    BigInteger ownerBefore = IRC2Client.balanceOf(payoutToken.score, owner);
+    BigInteger bobBefore = IRC2Client.balanceOf(payoutToken.score, bob);
+    KarmaCustomBondClient.redeemMany(bond.score, alice, new Address[] {owner.getAddress(), bob.getAddress()});
+    BigInteger ownerPayout = IRC2Client.balanceOf(payoutToken.score, owner).subtract(ownerBefore);
+    BigInteger bobPayout = IRC2Client.balanceOf(payoutToken.score, bob).subtract(bobBefore);
+
+    // The payout is shared pro rata of the allocations
+    BigInteger bondedPayout = ownerPayout.add(bobPayout);
+    assertEquals(bondedPayout.multiply(ownerAllocation).divide(amount), ownerPayout);
+  }
+
+  @Test
+  void testDepositManyAllocationsMismatch () {
+    BigInteger allocation = EXA.divide(BigInteger.valueOf(40));
+
+    AssertUtils.assertThrowsMessage(() ->
+      KarmaCustomBondClient.depositMany(
+        bond.score,
+        alice,
+        principalToken.score,
+        allocation.multiply(BigInteger.valueOf(3)),
+        BigInteger.valueOf(6000),
+        new Address[] {owner.getAddress(), bob.getAddress()},
+        new BigInteger[] {allocation, allocation}
+      ),
+      "deposit: allocations don't match the amount received"
+    );
+  }
+
+  @Test
+  void testDepositManyAllocationTooSmall () {
+    BigInteger allocation = EXA.divide(BigInteger.valueOf(40));
+
+    // bob's share of the payout is below the 0.01 payout token minimum
+    AssertUtils.assertThrowsMessage(() ->
+      KarmaCustomBondClient.depositMany(
+        bond.score,
+        alice,
+        principalToken.score,
+        allocation.add(BigInteger.ONE),
+        BigInteger.valueOf(6000),
+        new Address[] {bob.getAddress(), owner.getAddress()},
+        new BigInteger[] {BigInteger.ONE, allocation}
+      ),
+      "deposit: Bond too small"
+    );
+  }
+}
@@ -1,6 +1,7 @@
 package dao.karma.custombond;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
@@ -8,6 +9,8 @@ import static org.mockito.Mockito.verify;
 import java.math.BigInteger;
 
 import com.iconloop.score.test.Account;
+import com.iconloop.score.test.StepReport;
+import com.iconloop.score.test.StepType;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -137,4 +140,130 @@ public class depositTest extends KarmaCustomBondTest {
     assertEquals(new BigInteger("0"), bondPayoutBefore);
     assertEquals(new BigInteger("178919119007958541551"), bondPayoutAfter);
   }
+
+  @Test
+  void testDepositStorageWrites () {
+    BigInteger amount = EXA.divide(BigInteger.valueOf(20));
+    Address depositor = owner.getAddress();
+
+    initializeBond(amount.multiply(BigInteger.TWO));
+    KarmaCustomBondClient.deposit(bond.score, alice, principalToken.score, amount, BigInteger.valueOf(6000), depositor);
+
+    // The bond counters are packed in a single record, written once per deposit
+    sm.resetStorageWriteCount();
+    KarmaCustomBondClient.deposit(bond.score, alice, principalToken.score, amount, BigInteger.valueOf(10_000_000), depositor);
+    assertEquals(1, sm.getStorageWriteCount(varDB("_accounting")));
+    assertEquals(0, sm.getStorageWriteCount(varDB("_totalDebt")));
+    assertEquals(0, sm.getStorageWriteCount(varDB("_payoutSinceLastSubsidy")));
+  }
+
+  // Storage key of a bond VarDB, see `AnyDBImpl`
+  static String varDB (String id) {
+    return "VarDB" + KarmaCustomBond.NAME + id;
+  }
+
+  @Test
+  void testDepositStorageReads () {
+    BigInteger amount = EXA.divide(BigInteger.valueOf(20));
+    Address depositor = owner.getAddress();
+
+    initializeBond(amount.multiply(BigInteger.TWO));
+    KarmaCustomBondClient.deposit(bond.score, alice, principalToken.score, amount, BigInteger.valueOf(6000), depositor);
+
+    // The config and the bond state are read once per deposit
+    sm.resetStorageReadCount();
+    KarmaCustomBondClient.deposit(bond.score, alice, principalToken.score, amount, BigInteger.valueOf(10_000_000), depositor);
+    assertEquals(1, sm.getStorageReadCount(varDB("_config")));
+    assertEquals(1, sm.getStorageReadCount(varDB("_accounting")));
+    assertEquals(1, sm.getStorageReadCount(varDB("_terms")));
+    assertEquals(1, sm.getStorageReadCount(varDB("_adjustment")));
+    assertEquals(1, sm.getStorageReadCount(varDB("_feeTierCursor")));
+  }
+
+  @Test
+  void testDepositSteps () {
+    BigInteger amount = EXA.divide(BigInteger.valueOf(20));
+    Address depositor = owner.getAddress();
+
+    initializeBond(amount.multiply(BigInteger.TWO));
+
+    sm.resetStorageReadCount();
+    sm.resetStorageWriteCount();
+    sm.resetInterCallCount();
+    KarmaCustomBondClient.deposit(bond.score, alice, principalToken.score, amount, BigInteger.valueOf(6000), depositor);
+    StepReport report = sm.getLastStepReport();
+
+    // The report covers the whole transaction, from the principal token transfer
+    assertEquals(sm.getStorageReadCount(), report.getStorageReads());
+    assertEquals(sm.getStorageWriteCount(), report.getStorageWrites() + report.getStorageDeletes());
+    assertEquals(sm.getInterCallCount(), report.getInterCalls());
+    assertEquals(
+      report.getStorageReads() * sm.getStepSchedule().get(StepType.GET_BASE) 
+        + report.getStorageReadBytes() * sm.getStepSchedule().get(StepType.GET),
+      report.getSteps(StepType.GET_BASE) + report.getSteps(StepType.GET)
+    );
+    assertTrue(report.getSteps() > sm.getStepSchedule().get(StepType.DEFAULT));
+
+    // Readonly calls aren't metered
+    KarmaCustomBondClient.pendingPayoutFor(bond.score, depositor);
+    assertEquals(report, sm.getLastStepReport());
+  }
+
+  void initializeBond (BigInteger amount) {
+    // send some principal token to alice
+    IRC2Client.transfer(principalToken.score, owner, alice, amount);
+    // send some payout token to the custom treasury
+    IRC2Client.transfer(payoutToken.score, owner, customTreasury.getAccount(), EXA.multiply(BigInteger.valueOf(1000)), JSONUtils.method("funding"));
+
+    // Initialize bond
+    BigInteger controlVariable = BigInteger.valueOf(400000);
+    long vestingTerm = 302400; // 1 week
+    BigInteger minimumPrice = BigInteger.valueOf(5403);
+    BigInteger maxPayout = BigInteger.valueOf(500);
+    BigInteger maxDebt = EXA.multiply(BigInteger.valueOf(5000));
+    BigInteger initialDebt = new BigInteger("1560000000");
+    BigInteger maxDiscount = new BigInteger("100"); // in thousands 100 = 10%
+
+    KarmaCustomBondClient.setBondTerms(bond.score, owner, KarmaCustomBond.VESTING, BigInteger.valueOf(302400));
+    KarmaCustomBondClient.initializeBond (
+      bond.score,
+      owner,
+      controlVariable,
+      vestingTerm,
+      minimumPrice,
+      maxPayout,
+      maxDebt,
+      initialDebt,
+      maxDiscount
+    );
+
+    // Enable the bond contract in the custom treasury
+    KarmaCustomTreasuryClient.toggleBondContract(customTreasury.score, owner, bond.getAddress());
+  }
+
+  @Test
+  void testDepositInterContractCalls () {
+    BigInteger amount = EXA.divide(BigInteger.valueOf(20));
+    Address depositor = owner.getAddress();
+
+    initializeBond(amount.multiply(BigInteger.TWO));
+
+    // The first deposit fills the tokens decimals caches of the bond and the treasury
+    KarmaCustomBondClient.deposit(bond.score, alice, principalToken.score, amount, BigInteger.valueOf(6000), depositor);
+
+    // The first deposit raised the debt ratio above the minimum price, so the
+    // capped discount now needs both oracle prices
+    sm.resetInterCallCount();
+    KarmaCustomBondClient.deposit(bond.score, alice, principalToken.score, amount, BigInteger.valueOf(10_000_000), depositor);
+
+    // The payout token supply is only fetched once
+    assertEquals(1, sm.getInterCallCount("totalSupply"));
+    // Tokens decimals are read from the caches
+    assertEquals(0, sm.getInterCallCount("decimals"));
+    // The principal is valued once
+    assertEquals(1, sm.getInterCallCount("valueOfToken"));
+    // Both oracle prices are fetched in a single call
+    assertEquals(1, sm.getInterCallCount("getUsdPrices"));
+    assertEquals(0, sm.getInterCallCount("getUsdPrice"));
+  }
 }
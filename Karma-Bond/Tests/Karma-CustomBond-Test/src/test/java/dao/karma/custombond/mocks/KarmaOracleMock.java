@@ -14,4 +14,13 @@ public class KarmaOracleMock {
   public BigInteger getUsdPrice (Address base) {
     return MathUtils.pow10(18);
   }
+
+  @External
+  public BigInteger[] getUsdPrices (Address[] bases) {
+    BigInteger[] prices = new BigInteger[bases.length];
+    for (int i = 0; i < bases.length; i++) {
+      prices[i] = MathUtils.pow10(18);
+    }
+    return prices;
+  }
 }
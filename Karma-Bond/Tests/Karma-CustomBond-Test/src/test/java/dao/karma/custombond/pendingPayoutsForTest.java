@@ -0,0 +1,149 @@
+package dao.karma.custombond;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+
+import com.iconloop.score.test.Account;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dao.karma.clients.IRC2Client;
+import dao.karma.clients.KarmaCustomBondClient;
+import dao.karma.clients.KarmaCustomTreasuryClient;
+import dao.karma.custombond.mocks.KarmaOracleMock;
+import dao.karma.custombond.tokens.PayoutToken;
+import dao.karma.custombond.tokens.PrincipalToken;
+import dao.karma.customtreasury.KarmaCustomTreasury;
+import dao.karma.structs.bond.BondStatus;
+import dao.karma.test.AssertUtils;
+import dao.karma.test.ScoreSpy;
+import dao.karma.test.SleepUtils;
+import dao.karma.utils.JSONUtils;
+import dao.karma.utils.TimeUtils;
+import score.Address;
+
+public class pendingPayoutsForTest extends KarmaCustomBondTest {
+  // Fake contracts
+  final Account subsidyRouterAccount = sm.createAccount();
+  final Address karmaTreasury = sm.createAccount().getAddress();
+  final Address subsidyRouter = subsidyRouterAccount.getAddress();
+  final Address karmaDAO = sm.createAccount().getAddress();
+  final Address initialOwner = owner.getAddress();
+  final Address nobody = sm.createAccount().getAddress();
+  final BigInteger[] tierCeilings = {
+    EXA.multiply(BigInteger.valueOf(10)),
+    EXA.multiply(BigInteger.valueOf(20))
+  };
+  final BigInteger[] fees = {
+    BigInteger.valueOf(33300),
+    BigInteger.valueOf(66600)
+  };
+
+  ScoreSpy<PrincipalToken> principalToken;
+  ScoreSpy<KarmaOracleMock> karmaOracle;
+  ScoreSpy<PayoutToken> payoutToken;
+  ScoreSpy<KarmaCustomTreasury> customTreasury;
+
+  @BeforeEach
+  void setup() throws Exception {
+    // Deploys
+    principalToken = deploy(PrincipalToken.class);
+    payoutToken = deploy(PayoutToken.class);
+    customTreasury = deploy(KarmaCustomTreasury.class, payoutToken.getAddress(), initialOwner);
+    karmaOracle = deploy(KarmaOracleMock.class);
+
+    setup_bond(
+      customTreasury.getAddress(),
+      payoutToken.getAddress(),
+      principalToken.getAddress(),
+      karmaTreasury,
+      karmaOracle.getAddress(),
+      subsidyRouter,
+      initialOwner,
+      karmaDAO,
+      tierCeilings,
+      fees
+    );
+
+    // send some principal token to alice
+    IRC2Client.transfer(principalToken.score, owner, alice, EXA);
+    // send some payout token to the custom treasury
+    IRC2Client.transfer(payoutToken.score, owner, customTreasury.getAccount(), EXA.multiply(BigInteger.valueOf(1000)), JSONUtils.method("funding"));
+
+    // Initialize bond
+    KarmaCustomBondClient.setBondTerms(bond.score, owner, KarmaCustomBond.VESTING, BigInteger.valueOf(302400));
+    KarmaCustomBondClient.initializeBond (
+      bond.score,
+      owner,
+      BigInteger.valueOf(400000),
+      302400, // 1 week
+      BigInteger.valueOf(5403),
+      BigInteger.valueOf(500),
+      EXA.multiply(BigInteger.valueOf(5000)),
+      new BigInteger("1560000000"),
+      new BigInteger("100")
+    );
+
+    // Enable the bond contract in the custom treasury
+    KarmaCustomTreasuryClient.toggleBondContract(customTreasury.score, owner, bond.getAddress());
+  }
+
+  void depositForOwnerAndBob () {
+    // Alice bonds for owner (3/4) and bob (1/4) with a single transfer
+    BigInteger ownerAllocation = EXA.multiply(BigInteger.valueOf(3)).divide(BigInteger.valueOf(40));
+    BigInteger bobAllocation = EXA.divide(BigInteger.valueOf(40));
+
+    KarmaCustomBondClient.depositMany(
+      bond.score,
+      alice,
+      principalToken.score,
+      ownerAllocation.add(bobAllocation),
+      BigInteger.valueOf(6000),
+      new Address[] {owner.getAddress(), bob.getAddress()},
+      new BigInteger[] {ownerAllocation, bobAllocation}
+    );
+  }
+
+  @Test
+  void testPendingPayoutsFor () {
+    depositForOwnerAndBob();
+    SleepUtils.sleep(TimeUtils.ONE_DAY);
+
+    Address[] depositors = {owner.getAddress(), nobody, bob.getAddress()};
+
+    // A single read per depositor
+    sm.resetStorageReadCount();
+    BondStatus[] statuses = KarmaCustomBondClient.pendingPayoutsFor(bond.score, depositors);
+    assertEquals(3, sm.getStorageReadCount());
+
+    BigInteger[] percentVested = KarmaCustomBondClient.percentVestedForMany(bond.score, depositors);
+
+    for (int i : new int[] {0, 2}) {
+      assertEquals(KarmaCustomBondClient.pendingPayoutFor(bond.score, depositors[i]), statuses[i].pendingPayout);
+      assertEquals(KarmaCustomBondClient.percentVestedFor(bond.score, depositors[i]), statuses[i].percentVested);
+      assertEquals(statuses[i].percentVested, percentVested[i]);
+      assertTrue(statuses[i].pendingPayout.compareTo(BigInteger.ZERO) > 0);
+    }
+
+    // A depositor without bond gets an empty status
+    assertEquals(BigInteger.ZERO, statuses[1].payout);
+    assertEquals(BigInteger.ZERO, statuses[1].pendingPayout);
+    assertEquals(BigInteger.ZERO, percentVested[1]);
+  }
+
+  @Test
+  void testPendingPayoutsForTooManyDepositors () {
+    Address[] depositors = new Address[KarmaCustomBond.DEPOSITORS_PAGE_MAX_SIZE + 1];
+    for (int i = 0; i < depositors.length; i++) {
+      depositors[i] = nobody;
+    }
+
+    AssertUtils.assertThrowsMessage(() ->
+      KarmaCustomBondClient.pendingPayoutsFor(bond.score, depositors),
+      "pendingPayoutsFor: too many depositors"
+    );
+  }
+}
@@ -0,0 +1,145 @@
+package dao.karma.custombond;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+
+import com.iconloop.score.test.Account;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dao.karma.clients.IRC2Client;
+import dao.karma.clients.KarmaCustomBondClient;
+import dao.karma.clients.KarmaCustomTreasuryClient;
+import dao.karma.custombond.mocks.KarmaOracleMock;
+import dao.karma.custombond.tokens.PayoutToken;
+import dao.karma.custombond.tokens.PrincipalToken;
+import dao.karma.customtreasury.KarmaCustomTreasury;
+import dao.karma.structs.bond.PriceCheckpoint;
+import dao.karma.test.AssertUtils;
+import dao.karma.test.ScoreSpy;
+import dao.karma.utils.JSONUtils;
+import score.Address;
+
+public class priceHistoryTest extends KarmaCustomBondTest {
+  // Fake contracts
+  final Account subsidyRouterAccount = sm.createAccount();
+  final Address karmaTreasury = sm.createAccount().getAddress();
+  final Address subsidyRouter = subsidyRouterAccount.getAddress();
+  final Address karmaDAO = sm.createAccount().getAddress();
+  final Address initialOwner = owner.getAddress();
+  final BigInteger[] tierCeilings = {
+    EXA.multiply(BigInteger.valueOf(10)),
+    EXA.multiply(BigInteger.valueOf(20))
+  };
+  final BigInteger[] fees = {
+    BigInteger.valueOf(33300),
+    BigInteger.valueOf(66600)
+  };
+
+  ScoreSpy<PrincipalToken> principalToken;
+  ScoreSpy<KarmaOracleMock> karmaOracle;
+  ScoreSpy<PayoutToken> payoutToken;
+  ScoreSpy<KarmaCustomTreasury> customTreasury;
+
+  @BeforeEach
+  void setup() throws Exception {
+    // Deploys
+    principalToken = deploy(PrincipalToken.class);
+    payoutToken = deploy(PayoutToken.class);
+    customTreasury = deploy(KarmaCustomTreasury.class, payoutToken.getAddress(), initialOwner);
+    karmaOracle = deploy(KarmaOracleMock.class);
+
+    setup_bond(
+      customTreasury.getAddress(),
+      payoutToken.getAddress(),
+      principalToken.getAddress(),
+      karmaTreasury,
+      karmaOracle.getAddress(),
+      subsidyRouter,
+      initialOwner,
+      karmaDAO,
+      tierCeilings,
+      fees
+    );
+
+    // send some principal token to alice
+    IRC2Client.transfer(principalToken.score, owner, alice, EXA);
+    // send some payout token to the custom treasury
+    IRC2Client.transfer(payoutToken.score, owner, customTreasury.getAccount(), EXA.multiply(BigInteger.valueOf(1000)), JSONUtils.method("funding"));
+
+    // Initialize bond
+    KarmaCustomBondClient.setBondTerms(bond.score, owner, KarmaCustomBond.VESTING, BigInteger.valueOf(302400));
+    KarmaCustomBondClient.initializeBond (
+      bond.score,
+      owner,
+      BigInteger.valueOf(400000),
+      302400, // 1 week
+      BigInteger.valueOf(5403),
+      BigInteger.valueOf(500),
+      EXA.multiply(BigInteger.valueOf(5000)),
+      new BigInteger("1560000000"),
+      new BigInteger("100")
+    );
+
+    // Enable the bond contract in the custom treasury
+    KarmaCustomTreasuryClient.toggleBondContract(customTreasury.score, owner, bond.getAddress());
+  }
+
+  void deposit () {
+    KarmaCustomBondClient.deposit(
+      bond.score,
+      alice,
+      principalToken.score,
+      EXA.divide(BigInteger.valueOf(100)),
+      BigInteger.valueOf(10_000_000),
+      owner.getAddress()
+    );
+  }
+
+  @Test
+  void testPriceHistory () {
+    KarmaCustomBondClient.setPriceHistoryInterval(bond.score, owner, 10);
+
+    deposit();
+    long firstBlock = sm.getBlock().getHeight();
+    // Less than 10 blocks since the latest checkpoint: no checkpoint recorded
+    deposit();
+    assertEquals(1, KarmaCustomBondClient.priceHistoryLength(bond.score));
+
+    sm.getBlock().increase(10);
+    deposit();
+    assertEquals(2, KarmaCustomBondClient.priceHistoryLength(bond.score));
+
+    PriceCheckpoint[] history = KarmaCustomBondClient.priceHistory(bond.score, 0, 10);
+    assertEquals(2, history.length);
+    assertEquals(firstBlock, history[0].blockHeight);
+    assertTrue(history[1].blockHeight - history[0].blockHeight >= 10);
+    // The debt increases with the deposits
+    assertTrue(history[1].totalDebt.compareTo(history[0].totalDebt) > 0);
+    assertEquals(history[1].totalDebt, bond.call("totalDebt"));
+
+    // Paging
+    assertEquals(history[1].blockHeight, KarmaCustomBondClient.priceHistory(bond.score, 1, 10)[0].blockHeight);
+    assertEquals(0, KarmaCustomBondClient.priceHistory(bond.score, 2, 10).length);
+    AssertUtils.assertThrowsMessage(() ->
+      KarmaCustomBondClient.priceHistory(bond.score, 0, KarmaCustomBond.PRICE_HISTORY_PAGE_MAX_SIZE + 1),
+      "priceHistory: invalid count"
+    );
+  }
+
+  @Test
+  void testSetPriceHistoryIntervalInvalid () {
+    AssertUtils.assertThrowsMessage(() ->
+      KarmaCustomBondClient.setPriceHistoryInterval(bond.score, owner, 0),
+      "setPriceHistoryInterval: invalid interval"
+    );
+
+    AssertUtils.assertThrowsMessage(() ->
+      KarmaCustomBondClient.setPriceHistoryInterval(bond.score, alice, 10),
+      "onlyPolicy: caller is not the owner"
+    );
+  }
+}
@@ -0,0 +1,145 @@
+package dao.karma.custombond;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigInteger;
+
+import com.iconloop.score.test.Account;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dao.karma.clients.IRC2Client;
+import dao.karma.clients.KarmaCustomBondClient;
+import dao.karma.clients.KarmaCustomTreasuryClient;
+import dao.karma.custombond.mocks.KarmaOracleMock;
+import dao.karma.custombond.tokens.PayoutToken;
+import dao.karma.custombond.tokens.PrincipalToken;
+import dao.karma.customtreasury.KarmaCustomTreasury;
+import dao.karma.structs.bond.BondQuote;
+import dao.karma.test.ScoreSpy;
+import dao.karma.utils.JSONUtils;
+import score.Address;
+
+public class quoteDepositTest extends KarmaCustomBondTest {
+  // Fake contracts
+  final Account subsidyRouterAccount = sm.createAccount();
+  final Address karmaTreasury = sm.createAccount().getAddress();
+  final Address subsidyRouter = subsidyRouterAccount.getAddress();
+  final Address karmaDAO = sm.createAccount().getAddress();
+  final Address treasuryAddress = sm.createAccount().getAddress();
+  final Address initialOwner = owner.getAddress();
+  final BigInteger[] tierCeilings = {
+    EXA.multiply(BigInteger.valueOf(10)),
+    EXA.multiply(BigInteger.valueOf(20))
+  };
+  final BigInteger[] fees = {
+    BigInteger.valueOf(33300),
+    BigInteger.valueOf(66600)
+  };
+
+  ScoreSpy<PrincipalToken> principalToken;
+  ScoreSpy<KarmaOracleMock> karmaOracle;
+  ScoreSpy<PayoutToken> payoutToken;
+  ScoreSpy<KarmaCustomTreasury> customTreasury;
+
+  @BeforeEach
+  void setup() throws Exception {
+    // Deploys
+    principalToken = deploy(PrincipalToken.class);
+    payoutToken = deploy(PayoutToken.class);
+    customTreasury = deploy(KarmaCustomTreasury.class, payoutToken.getAddress(), initialOwner);
+    karmaOracle = deploy(KarmaOracleMock.class);
+
+    setup_bond(
+      customTreasury.getAddress(),
+      payoutToken.getAddress(),
+      principalToken.getAddress(),
+      karmaTreasury,
+      karmaOracle.getAddress(),
+      subsidyRouter,
+      initialOwner,
+      karmaDAO,
+      tierCeilings,
+      fees
+    );
+  }
+
+  @Test
+  void testQuoteDeposit () {
+    BigInteger amount = EXA.divide(BigInteger.TEN);
+
+    initializeBond(amount);
+
+    BondQuote quote = KarmaCustomBondClient.quoteDeposit(bond.score, amount);
+
+    // The quote matches the individual views
+    assertEquals(bond.score.call("bondPrice"), quote.bondPrice);
+    assertEquals(bond.score.call("trueBondPrice", BigInteger.ZERO), quote.trueBondPrice);
+    assertEquals(bond.score.call("bondPriceUSD", BigInteger.ZERO), quote.bondPriceUSD);
+    assertEquals(bond.score.call("currentBondDiscount", BigInteger.ZERO), quote.bondDiscount);
+    assertEquals(bond.score.call("payoutFor", amount), quote.payout);
+    assertEquals(bond.score.call("maxPayout"), quote.maxPayout);
+    assertEquals(EXA.multiply(BigInteger.valueOf(5000)).subtract(new BigInteger("1560000000")), quote.capacityLeft);
+  }
+
+  @Test
+  void testQuoteMatchesDeposit () {
+    BigInteger amount = EXA.divide(BigInteger.TEN);
+    BigInteger maxPrice = BigInteger.valueOf(6000);
+    Address depositor = owner.getAddress();
+
+    initializeBond(amount);
+
+    BondQuote quote = KarmaCustomBondClient.quoteDeposit(bond.score, amount);
+    BigInteger treasuryPayoutBefore = IRC2Client.balanceOf(payoutToken.score, customTreasury.getAddress());
+    BigInteger bondPayoutBefore     = IRC2Client.balanceOf(payoutToken.score, bond.getAddress());
+
+    KarmaCustomBondClient.deposit(
+      bond.score,
+      alice, 
+      principalToken.score,
+      amount,
+      maxPrice,
+      depositor
+    );
+
+    // The bond keeps the quoted payout for the depositor, the quoted fee goes to the Karma treasury
+    BigInteger treasuryPayoutAfter = IRC2Client.balanceOf(payoutToken.score, customTreasury.getAddress());
+    BigInteger bondPayoutAfter     = IRC2Client.balanceOf(payoutToken.score, bond.getAddress());
+    assertEquals(quote.payout.add(quote.fee), treasuryPayoutBefore.subtract(treasuryPayoutAfter));
+    assertEquals(quote.payout, bondPayoutAfter.subtract(bondPayoutBefore));
+  }
+
+  void initializeBond (BigInteger amount) {
+    // send some principal token to alice
+    IRC2Client.transfer(principalToken.score, owner, alice, amount);
+    // send some payout token to the custom treasury
+    IRC2Client.transfer(payoutToken.score, owner, customTreasury.getAccount(), EXA.multiply(BigInteger.valueOf(1000)), JSONUtils.method("funding"));
+
+    // Initialize bond
+    BigInteger controlVariable = BigInteger.valueOf(400000);
+    long vestingTerm = 302400; // 1 week
+    BigInteger minimumPrice = BigInteger.valueOf(5403);
+    BigInteger maxPayout = BigInteger.valueOf(500);
+    BigInteger maxDebt = EXA.multiply(BigInteger.valueOf(5000));
+    BigInteger initialDebt = new BigInteger("1560000000");
+    BigInteger maxDiscount = new BigInteger("100"); // in thousands 100 = 10%
+
+    KarmaCustomBondClient.setBondTerms(bond.score, owner, KarmaCustomBond.VESTING, BigInteger.valueOf(302400));
+    KarmaCustomBondClient.initializeBond (
+      bond.score,
+      owner,
+      controlVariable,
+      vestingTerm,
+      minimumPrice,
+      maxPayout,
+      maxDebt,
+      initialDebt,
+      maxDiscount
+    );
+
+    // Enable the bond contract in the custom treasury
+    KarmaCustomTreasuryClient.toggleBondContract(customTreasury.score, owner, bond.getAddress());
+  }
+}
@@ -0,0 +1,152 @@
+package dao.karma.custombond;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigInteger;
+
+import com.iconloop.score.test.Account;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dao.karma.clients.IRC2Client;
+import dao.karma.clients.KarmaCustomBondClient;
+import dao.karma.clients.KarmaCustomTreasuryClient;
+import dao.karma.custombond.mocks.KarmaOracleMock;
+import dao.karma.custombond.tokens.PayoutToken;
+import dao.karma.custombond.tokens.PrincipalToken;
+import dao.karma.customtreasury.KarmaCustomTreasury;
+import dao.karma.test.AssertUtils;
+import dao.karma.test.ScoreSpy;
+import dao.karma.utils.JSONUtils;
+import score.Address;
+import score.Context;
+
+public class registerDepositorsTest extends KarmaCustomBondTest {
+  // Fake contracts
+  final Account subsidyRouterAccount = sm.createAccount();
+  final Address karmaTreasury = sm.createAccount().getAddress();
+  final Address subsidyRouter = subsidyRouterAccount.getAddress();
+  final Address karmaDAO = sm.createAccount().getAddress();
+  final Address initialOwner = owner.getAddress();
+  final BigInteger[] tierCeilings = {
+    EXA.multiply(BigInteger.valueOf(10)),
+    EXA.multiply(BigInteger.valueOf(20))
+  };
+  final BigInteger[] fees = {
+    BigInteger.valueOf(33300),
+    BigInteger.valueOf(66600)
+  };
+
+  ScoreSpy<PrincipalToken> principalToken;
+  ScoreSpy<KarmaOracleMock> karmaOracle;
+  ScoreSpy<PayoutToken> payoutToken;
+  ScoreSpy<KarmaCustomTreasury> customTreasury;
+
+  @BeforeEach
+  void setup() throws Exception {
+    // Deploys
+    principalToken = deploy(PrincipalToken.class);
+    payoutToken = deploy(PayoutToken.class);
+    customTreasury = deploy(KarmaCustomTreasury.class, payoutToken.getAddress(), initialOwner);
+    karmaOracle = deploy(KarmaOracleMock.class);
+
+    setup_bond(
+      customTreasury.getAddress(),
+      payoutToken.getAddress(),
+      principalToken.getAddress(),
+      karmaTreasury,
+      karmaOracle.getAddress(),
+      subsidyRouter,
+      initialOwner,
+      karmaDAO,
+      tierCeilings,
+      fees
+    );
+
+    // send some principal token to alice
+    IRC2Client.transfer(principalToken.score, owner, alice, EXA);
+    // send some payout token to the custom treasury
+    IRC2Client.transfer(payoutToken.score, owner, customTreasury.getAccount(), EXA.multiply(BigInteger.valueOf(1000)), JSONUtils.method("funding"));
+
+    // Initialize bond
+    KarmaCustomBondClient.setBondTerms(bond.score, owner, KarmaCustomBond.VESTING, BigInteger.valueOf(302400));
+    KarmaCustomBondClient.initializeBond (
+      bond.score,
+      owner,
+      BigInteger.valueOf(400000),
+      302400, // 1 week
+      BigInteger.valueOf(5403),
+      BigInteger.valueOf(500),
+      EXA.multiply(BigInteger.valueOf(5000)),
+      new BigInteger("1560000000"),
+      new BigInteger("100")
+    );
+
+    // Enable the bond contract in the custom treasury
+    KarmaCustomTreasuryClient.toggleBondContract(customTreasury.score, owner, bond.getAddress());
+  }
+
+  void depositForOwnerAndBob () {
+    // Alice bonds for owner (3/4) and bob (1/4) with a single transfer
+    BigInteger ownerAllocation = EXA.multiply(BigInteger.valueOf(3)).divide(BigInteger.valueOf(40));
+    BigInteger bobAllocation = EXA.divide(BigInteger.valueOf(40));
+
+    KarmaCustomBondClient.depositMany(
+      bond.score,
+      alice,
+      principalToken.score,
+      ownerAllocation.add(bobAllocation),
+      BigInteger.valueOf(6000),
+      new Address[] {owner.getAddress(), bob.getAddress()},
+      new BigInteger[] {ownerAllocation, bobAllocation}
+    );
+  }
+
+  // A bond stored before the depositors registry existed
+  void storeLegacyBond (Address depositor, BigInteger payout) {
+    sm.pushFrame(owner, bond.getAccount(), false, "storeLegacyBond", BigInteger.ZERO);
+    Context.newDictDB(KarmaCustomBond.NAME + "_bondInfo", Bond.class)
+      .set(depositor, new Bond(payout, 302400, sm.getBlock().getHeight(), EXA));
+    sm.popFrame();
+  }
+
+  @Test
+  void testRegisterDepositors () {
+    depositForOwnerAndBob();
+    BigInteger outstandingPayout = KarmaCustomBondClient.outstandingPayout(bond.score);
+
+    BigInteger legacyPayout = EXA.multiply(BigInteger.valueOf(3));
+    storeLegacyBond(alice.getAddress(), legacyPayout);
+    assertEquals(2, KarmaCustomBondClient.depositorsCount(bond.score));
+    assertEquals(outstandingPayout, KarmaCustomBondClient.outstandingPayout(bond.score));
+
+    // Registered depositors and addresses without a bond are skipped
+    Address noBond = sm.createAccount().getAddress();
+    KarmaCustomBondClient.registerDepositors(bond.score, owner, new Address[] {owner.getAddress(), noBond, alice.getAddress()});
+
+    assertArrayEquals(
+      new Address[] {owner.getAddress(), bob.getAddress(), alice.getAddress()},
+      KarmaCustomBondClient.depositors(bond.score, 0, 10)
+    );
+    assertEquals(outstandingPayout.add(legacyPayout), KarmaCustomBondClient.outstandingPayout(bond.score));
+
+    // Registering again doesn't count the bond twice
+    KarmaCustomBondClient.registerDepositors(bond.score, owner, new Address[] {alice.getAddress()});
+    assertEquals(outstandingPayout.add(legacyPayout), KarmaCustomBondClient.outstandingPayout(bond.score));
+  }
+
+  @Test
+  void testRegisterDepositorsLimits () {
+    AssertUtils.assertThrowsMessage(() ->
+      KarmaCustomBondClient.registerDepositors(bond.score, alice, new Address[] {alice.getAddress()}),
+      "onlyPolicy: caller is not the owner"
+    );
+
+    AssertUtils.assertThrowsMessage(() ->
+      KarmaCustomBondClient.registerDepositors(bond.score, owner, new Address[KarmaCustomBond.REGISTER_DEPOSITORS_MAX + 1]),
+      "registerDepositors: too many depositors"
+    );
+  }
+}
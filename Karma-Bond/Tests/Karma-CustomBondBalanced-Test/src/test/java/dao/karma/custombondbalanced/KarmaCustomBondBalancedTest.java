@@ -0,0 +1,71 @@
+/*
+ * Copyright 2021 Karma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dao.karma.custombondbalanced;
+
+import java.math.BigInteger;
+import java.util.Map;
+
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import dao.karma.test.KarmaTest;
+import dao.karma.test.ScoreSpy;
+import dao.karma.test.StepBaselineExtension;
+import dao.karma.test.StepBaselineExtension.Metric;
+import score.Address;
+
+public class KarmaCustomBondBalancedTest extends KarmaTest {
+
+  // Storage operations of each transaction, against step-baseline.json
+  @RegisterExtension
+  static StepBaselineExtension baseline = new StepBaselineExtension(Metric.STORAGE_OPS);
+
+  ScoreSpy<KarmaCustomBondBalanced> bond;
+
+  void setup_bond (
+    Address customTreasury,
+    Address payoutToken,
+    Address principalToken,
+    BigInteger principalPoolId,
+    Address karmaTreasury,
+    Address karmaOracle,
+    Address subsidyRouter,
+    Address initialOwner,
+    Address karmaDAO,
+    BigInteger[] tierCeilings,
+    BigInteger[] fees
+  ) throws Exception {
+    bond = deploy (
+      KarmaCustomBondBalanced.class,
+      customTreasury,
+      payoutToken,
+      principalToken,
+      principalPoolId,
+      karmaTreasury,
+      karmaOracle,
+      subsidyRouter,
+      initialOwner,
+      karmaDAO,
+      tierCeilings,
+      fees
+    );
+  }
+
+  @SuppressWarnings("unchecked")
+  BigInteger payoutOf (Address depositor) {
+    return (BigInteger) ((Map<String, Object>) bond.call("bondInfo", depositor)).get("payout");
+  }
+}
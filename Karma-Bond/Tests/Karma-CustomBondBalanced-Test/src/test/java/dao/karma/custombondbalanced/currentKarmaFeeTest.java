@@ -0,0 +1,130 @@
+package dao.karma.custombondbalanced;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigInteger;
+
+import com.iconloop.score.test.Account;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dao.karma.clients.IRC2Client;
+import dao.karma.clients.KarmaCustomBondBalancedClient;
+import dao.karma.clients.KarmaCustomBondClient;
+import dao.karma.clients.KarmaCustomTreasuryClient;
+import dao.karma.custombondbalanced.mocks.BalancedDexMock;
+import dao.karma.custombondbalanced.mocks.KarmaOracleMock;
+import dao.karma.custombondbalanced.tokens.PayoutToken;
+import dao.karma.customtreasurybalanced.KarmaCustomTreasuryBalanced;
+import dao.karma.test.ScoreSpy;
+import dao.karma.utils.JSONUtils;
+import score.Address;
+
+public class currentKarmaFeeTest extends KarmaCustomBondBalancedTest {
+  // Fake contracts
+  final Account subsidyRouterAccount = sm.createAccount();
+  final Address karmaTreasury = sm.createAccount().getAddress();
+  final Address subsidyRouter = subsidyRouterAccount.getAddress();
+  final Address karmaDAO = sm.createAccount().getAddress();
+  final Address initialOwner = owner.getAddress();
+  final Address baseToken = sm.createAccount().getAddress();
+  final Address quoteToken = sm.createAccount().getAddress();
+  final BigInteger poolId = BigInteger.valueOf(2);
+  final BigInteger amount = EXA.divide(BigInteger.valueOf(20));
+  final BigInteger[] tierCeilings = {
+    amount,
+    amount.multiply(BigInteger.TWO),
+    amount.multiply(BigInteger.valueOf(4))
+  };
+  final BigInteger[] fees = {
+    BigInteger.valueOf(10000),
+    BigInteger.valueOf(20000),
+    BigInteger.valueOf(30000)
+  };
+
+  ScoreSpy<BalancedDexMock> balancedDex;
+  ScoreSpy<KarmaOracleMock> karmaOracle;
+  ScoreSpy<PayoutToken> payoutToken;
+  ScoreSpy<KarmaCustomTreasuryBalanced> customTreasury;
+
+  @BeforeEach
+  void setup() throws Exception {
+    // Deploys
+    balancedDex = deploy(BalancedDexMock.class);
+    payoutToken = deploy(PayoutToken.class);
+    customTreasury = deploy(KarmaCustomTreasuryBalanced.class, payoutToken.getAddress(), initialOwner, poolId);
+    karmaOracle = deploy(KarmaOracleMock.class);
+
+    setup_bond(
+      customTreasury.getAddress(),
+      payoutToken.getAddress(),
+      balancedDex.getAddress(),
+      poolId,
+      karmaTreasury,
+      karmaOracle.getAddress(),
+      subsidyRouter,
+      initialOwner,
+      karmaDAO,
+      tierCeilings,
+      fees
+    );
+
+    // create the principal pool, the LP tokens are minted to the owner
+    balancedDex.invoke(owner, "setPool", poolId, baseToken, quoteToken,
+      EXA.multiply(BigInteger.valueOf(1000)),
+      EXA.multiply(BigInteger.valueOf(1000)),
+      EXA.multiply(BigInteger.valueOf(1000))
+    );
+    // send some principal LP token to alice
+    balancedDex.invoke(owner, "transfer", alice.getAddress(), EXA.multiply(BigInteger.valueOf(1)), poolId, new byte[0]);
+    // send some payout token to the custom treasury
+    IRC2Client.transfer(payoutToken.score, owner, customTreasury.getAccount(), EXA.multiply(BigInteger.valueOf(1000)), JSONUtils.method("funding"));
+
+    // Initialize bond
+    KarmaCustomBondClient.setBondTerms(bond.score, owner, KarmaCustomBondBalanced.VESTING, BigInteger.valueOf(302400));
+    KarmaCustomBondClient.initializeBond (
+      bond.score,
+      owner,
+      BigInteger.valueOf(400000),
+      302400, // 1 week
+      BigInteger.valueOf(5403),
+      BigInteger.valueOf(500),
+      EXA.multiply(BigInteger.valueOf(5000)),
+      new BigInteger("1560000000"),
+      new BigInteger("100")
+    );
+
+    // Enable the bond contract in the custom treasury
+    KarmaCustomTreasuryClient.toggleBondContract(customTreasury.score, owner, bond.getAddress());
+  }
+
+  void deposit () {
+    KarmaCustomBondBalancedClient.deposit(
+      bond.score,
+      alice,
+      balancedDex.score,
+      poolId,
+      amount,
+      BigInteger.valueOf(10_000_000),
+      owner.getAddress()
+    );
+  }
+
+  @Test
+  void testCurrentKarmaFee () {
+    assertEquals(fees[0], KarmaCustomBondClient.currentKarmaFee(bond.score));
+
+    // Crossing a ceiling moves to the next tier
+    deposit();
+    assertEquals(amount, KarmaCustomBondClient.totalPrincipalBonded(bond.score));
+    assertEquals(fees[1], KarmaCustomBondClient.currentKarmaFee(bond.score));
+
+    deposit();
+    assertEquals(fees[2], KarmaCustomBondClient.currentKarmaFee(bond.score));
+
+    // The last tier applies whatever the principal bonded
+    deposit();
+    assertEquals(fees[2], KarmaCustomBondClient.currentKarmaFee(bond.score));
+  }
+}
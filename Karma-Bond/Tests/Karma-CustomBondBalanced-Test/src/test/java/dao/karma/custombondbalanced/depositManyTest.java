@@ -0,0 +1,162 @@
+package dao.karma.custombondbalanced;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+
+import com.iconloop.score.test.Account;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dao.karma.clients.IRC2Client;
+import dao.karma.clients.KarmaCustomBondBalancedClient;
+import dao.karma.clients.KarmaCustomBondClient;
+import dao.karma.clients.KarmaCustomTreasuryClient;
+import dao.karma.custombondbalanced.mocks.BalancedDexMock;
+import dao.karma.custombondbalanced.mocks.KarmaOracleMock;
+import dao.karma.custombondbalanced.tokens.PayoutToken;
+import dao.karma.customtreasurybalanced.KarmaCustomTreasuryBalanced;
+import dao.karma.test.AssertUtils;
+import dao.karma.test.ScoreSpy;
+import dao.karma.utils.JSONUtils;
+import score.Address;
+
+public class depositManyTest extends KarmaCustomBondBalancedTest {
+  // Fake contracts
+  final Account subsidyRouterAccount = sm.createAccount();
+  final Address karmaTreasury = sm.createAccount().getAddress();
+  final Address subsidyRouter = subsidyRouterAccount.getAddress();
+  final Address karmaDAO = sm.createAccount().getAddress();
+  final Address initialOwner = owner.getAddress();
+  final Address baseToken = sm.createAccount().getAddress();
+  final Address quoteToken = sm.createAccount().getAddress();
+  final BigInteger poolId = BigInteger.valueOf(2);
+  final BigInteger amount = EXA.divide(BigInteger.valueOf(20));
+  final BigInteger[] tierCeilings = {
+    EXA.multiply(BigInteger.valueOf(10)),
+    EXA.multiply(BigInteger.valueOf(20))
+  };
+  final BigInteger[] fees = {
+    BigInteger.valueOf(33300),
+    BigInteger.valueOf(66600)
+  };
+
+  ScoreSpy<BalancedDexMock> balancedDex;
+  ScoreSpy<KarmaOracleMock> karmaOracle;
+  ScoreSpy<PayoutToken> payoutToken;
+  ScoreSpy<KarmaCustomTreasuryBalanced> customTreasury;
+
+  @BeforeEach
+  void setup() throws Exception {
+    // Deploys
+    balancedDex = deploy(BalancedDexMock.class);
+    payoutToken = deploy(PayoutToken.class);
+    customTreasury = deploy(KarmaCustomTreasuryBalanced.class, payoutToken.getAddress(), initialOwner, poolId);
+    karmaOracle = deploy(KarmaOracleMock.class);
+
+    setup_bond(
+      customTreasury.getAddress(),
+      payoutToken.getAddress(),
+      balancedDex.getAddress(),
+      poolId,
+      karmaTreasury,
+      karmaOracle.getAddress(),
+      subsidyRouter,
+      initialOwner,
+      karmaDAO,
+      tierCeilings,
+      fees
+    );
+
+    // create the principal pool, the LP tokens are minted to the owner
+    balancedDex.invoke(owner, "setPool", poolId, baseToken, quoteToken,
+      EXA.multiply(BigInteger.valueOf(1000)),
+      EXA.multiply(BigInteger.valueOf(1000)),
+      EXA.multiply(BigInteger.valueOf(1000))
+    );
+    // send some principal LP token to alice
+    balancedDex.invoke(owner, "transfer", alice.getAddress(), EXA.multiply(BigInteger.valueOf(1)), poolId, new byte[0]);
+    // send some payout token to the custom treasury
+    IRC2Client.transfer(payoutToken.score, owner, customTreasury.getAccount(), EXA.multiply(BigInteger.valueOf(1000)), JSONUtils.method("funding"));
+
+    // Initialize bond
+    KarmaCustomBondClient.setBondTerms(bond.score, owner, KarmaCustomBondBalanced.VESTING, BigInteger.valueOf(302400));
+    KarmaCustomBondClient.initializeBond (
+      bond.score,
+      owner,
+      BigInteger.valueOf(400000),
+      302400, // 1 week
+      BigInteger.valueOf(5403),
+      BigInteger.valueOf(500),
+      EXA.multiply(BigInteger.valueOf(5000)),
+      new BigInteger("1560000000"),
+      new BigInteger("100")
+    );
+
+    // Enable the bond contract in the custom treasury
+    KarmaCustomTreasuryClient.toggleBondContract(customTreasury.score, owner, bond.getAddress());
+  }
+
+  @Test
+  void testDepositMany () {
+    // Alice bonds for owner (3/4) and bob (1/4) with a single transfer
+    BigInteger ownerAllocation = amount.multiply(BigInteger.valueOf(3)).divide(BigInteger.valueOf(4));
+    BigInteger bobAllocation = amount.subtract(ownerAllocation);
+
+    KarmaCustomBondBalancedClient.depositMany(
+      bond.score,
+      alice,
+      balancedDex.score,
+      poolId,
+      amount,
+      BigInteger.valueOf(10_000_000),
+      new Address[] {owner.getAddress(), bob.getAddress()},
+      new BigInteger[] {ownerAllocation, bobAllocation}
+    );
+
+    BigInteger ownerPayout = payoutOf(owner.getAddress());
+    BigInteger bobPayout = payoutOf(bob.getAddress());
+
+    // The payout is shared pro rata, the last depositor gets the rounding remainder
+    assertTrue(ownerPayout.subtract(bobPayout.multiply(BigInteger.valueOf(3))).abs().compareTo(BigInteger.valueOf(3)) <= 0);
+    assertEquals(IRC2Client.balanceOf(payoutToken.score, bond.getAddress()), ownerPayout.add(bobPayout));
+    assertEquals(ownerPayout.add(bobPayout), KarmaCustomBondClient.outstandingPayout(bond.score));
+  }
+
+  @Test
+  void testDepositManyAllocationsMismatch () {
+    AssertUtils.assertThrowsMessage(() ->
+      KarmaCustomBondBalancedClient.depositMany(
+        bond.score,
+        alice,
+        balancedDex.score,
+        poolId,
+        amount,
+        BigInteger.valueOf(10_000_000),
+        new Address[] {owner.getAddress(), bob.getAddress()},
+        new BigInteger[] {amount, amount}
+      ),
+      "deposit: allocations don't match the amount received"
+    );
+  }
+
+  @Test
+  void testDepositManyAllocationTooSmall () {
+    // bob's share of the payout is below the 0.01 payout token minimum
+    AssertUtils.assertThrowsMessage(() ->
+      KarmaCustomBondBalancedClient.depositMany(
+        bond.score,
+        alice,
+        balancedDex.score,
+        poolId,
+        amount.add(BigInteger.ONE),
+        BigInteger.valueOf(10_000_000),
+        new Address[] {bob.getAddress(), owner.getAddress()},
+        new BigInteger[] {BigInteger.ONE, amount}
+      ),
+      "deposit: Bond too small"
+    );
+  }
+}
@@ -0,0 +1,223 @@
+package dao.karma.custombondbalanced;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigInteger;
+
+import com.iconloop.score.test.Account;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dao.karma.clients.IRC2Client;
+import dao.karma.clients.KarmaCustomBondBalancedClient;
+import dao.karma.clients.KarmaCustomBondClient;
+import dao.karma.clients.KarmaCustomTreasuryClient;
+import dao.karma.custombondbalanced.mocks.BalancedDexMock;
+import dao.karma.custombondbalanced.mocks.KarmaOracleMock;
+import dao.karma.custombondbalanced.tokens.PayoutToken;
+import dao.karma.customtreasurybalanced.KarmaCustomTreasuryBalanced;
+import dao.karma.structs.bond.BondQuote;
+import dao.karma.test.AssertUtils;
+import dao.karma.test.ScoreSpy;
+import dao.karma.utils.JSONUtils;
+import score.Address;
+
+public class depositTest extends KarmaCustomBondBalancedTest {
+  // Fake contracts
+  final Account subsidyRouterAccount = sm.createAccount();
+  final Address karmaTreasury = sm.createAccount().getAddress();
+  final Address subsidyRouter = subsidyRouterAccount.getAddress();
+  final Address karmaDAO = sm.createAccount().getAddress();
+  final Address initialOwner = owner.getAddress();
+  final Address baseToken = sm.createAccount().getAddress();
+  final Address quoteToken = sm.createAccount().getAddress();
+  final BigInteger poolId = BigInteger.valueOf(2);
+  final BigInteger amount = EXA.divide(BigInteger.valueOf(20));
+  final BigInteger[] tierCeilings = {
+    EXA.multiply(BigInteger.valueOf(10)),
+    EXA.multiply(BigInteger.valueOf(20))
+  };
+  final BigInteger[] fees = {
+    BigInteger.valueOf(33300),
+    BigInteger.valueOf(66600)
+  };
+
+  ScoreSpy<BalancedDexMock> balancedDex;
+  ScoreSpy<KarmaOracleMock> karmaOracle;
+  ScoreSpy<PayoutToken> payoutToken;
+  ScoreSpy<KarmaCustomTreasuryBalanced> customTreasury;
+
+  @BeforeEach
+  void setup() throws Exception {
+    // Deploys
+    balancedDex = deploy(BalancedDexMock.class);
+    payoutToken = deploy(PayoutToken.class);
+    customTreasury = deploy(KarmaCustomTreasuryBalanced.class, payoutToken.getAddress(), initialOwner, poolId);
+    karmaOracle = deploy(KarmaOracleMock.class);
+
+    setup_bond(
+      customTreasury.getAddress(),
+      payoutToken.getAddress(),
+      balancedDex.getAddress(),
+      poolId,
+      karmaTreasury,
+      karmaOracle.getAddress(),
+      subsidyRouter,
+      initialOwner,
+      karmaDAO,
+      tierCeilings,
+      fees
+    );
+
+    // create the principal pool, the LP tokens are minted to the owner
+    balancedDex.invoke(owner, "setPool", poolId, baseToken, quoteToken,
+      EXA.multiply(BigInteger.valueOf(1000)),
+      EXA.multiply(BigInteger.valueOf(1000)),
+      EXA.multiply(BigInteger.valueOf(1000))
+    );
+    // send some principal LP token to alice
+    balancedDex.invoke(owner, "transfer", alice.getAddress(), EXA.multiply(BigInteger.valueOf(1)), poolId, new byte[0]);
+    // send some payout token to the custom treasury
+    IRC2Client.transfer(payoutToken.score, owner, customTreasury.getAccount(), EXA.multiply(BigInteger.valueOf(1000)), JSONUtils.method("funding"));
+
+    // Initialize bond
+    KarmaCustomBondClient.setBondTerms(bond.score, owner, KarmaCustomBondBalanced.VESTING, BigInteger.valueOf(302400));
+    KarmaCustomBondClient.initializeBond (
+      bond.score,
+      owner,
+      BigInteger.valueOf(400000),
+      302400, // 1 week
+      BigInteger.valueOf(5403),
+      BigInteger.valueOf(500),
+      EXA.multiply(BigInteger.valueOf(5000)),
+      new BigInteger("1560000000"),
+      new BigInteger("100")
+    );
+
+    // Enable the bond contract in the custom treasury
+    KarmaCustomTreasuryClient.toggleBondContract(customTreasury.score, owner, bond.getAddress());
+  }
+
+  void deposit (Address depositor) {
+    KarmaCustomBondBalancedClient.deposit(
+      bond.score,
+      alice,
+      balancedDex.score,
+      poolId,
+      amount,
+      BigInteger.valueOf(10_000_000),
+      depositor
+    );
+  }
+
+  BigInteger lpBalanceOf (Address owner) {
+    return (BigInteger) balancedDex.call("balanceOf", owner, poolId);
+  }
+
+  @Test
+  void testDeposit () {
+    BigInteger alicePrincipalBefore = lpBalanceOf(alice.getAddress());
+
+    deposit(owner.getAddress());
+
+    // The principal LP token is deposited in the custom treasury
+    assertEquals(alicePrincipalBefore.subtract(amount), lpBalanceOf(alice.getAddress()));
+    assertEquals(amount, lpBalanceOf(customTreasury.getAddress()));
+
+    // The payout is held by the bond until redeemed
+    BigInteger payout = payoutOf(owner.getAddress());
+    assertEquals(IRC2Client.balanceOf(payoutToken.score, bond.getAddress()), payout);
+    assertEquals(payout, KarmaCustomBondClient.outstandingPayout(bond.score));
+    assertEquals(amount, KarmaCustomBondClient.totalPrincipalBonded(bond.score));
+  }
+
+  @Test
+  void testQuoteDeposit () {
+    BondQuote quote = KarmaCustomBondClient.quoteDeposit(bond.score, amount);
+
+    deposit(owner.getAddress());
+
+    // The deposit is priced like its quote
+    assertEquals(quote.payout, payoutOf(owner.getAddress()));
+    assertEquals(quote.fee, IRC2Client.balanceOf(payoutToken.score, karmaTreasury));
+  }
+
+  @Test
+  void testDepositInterContractCalls () {
+    // The first deposit fills the payout token and LP pool decimals caches of
+    // the bond and the treasury
+    deposit(owner.getAddress());
+
+    // The first deposit raised the debt ratio above the minimum price, so the
+    // capped discount now needs the oracle prices
+    sm.resetInterCallCount();
+    deposit(owner.getAddress());
+
+    // The payout token supply is only fetched once
+    assertEquals(1, sm.getInterCallCount("totalSupply"));
+    // Tokens and LP pool decimals are read from the caches, the bond
+    // still fetches the LP pool stats to value the principal
+    assertEquals(0, sm.getInterCallCount("decimals"));
+    assertEquals(1, sm.getInterCallCount("getPoolStats"));
+    // The principal is valued once
+    assertEquals(1, sm.getInterCallCount("valueOfToken"));
+    // The payout, pool base and pool quote token prices are fetched in a single call
+    assertEquals(1, sm.getInterCallCount("getUsdPrices"));
+    assertEquals(0, sm.getInterCallCount("getUsdPrice"));
+  }
+
+  @Test
+  void testDepositStorageReads () {
+    deposit(owner.getAddress());
+
+    // The bond state is read once per deposit
+    sm.resetStorageReadCount();
+    deposit(owner.getAddress());
+    assertEquals(1, sm.getStorageReadCount(varDB("_totalDebt")));
+    assertEquals(1, sm.getStorageReadCount(varDB("_lastDecay")));
+    assertEquals(1, sm.getStorageReadCount(varDB("_terms")));
+    assertEquals(1, sm.getStorageReadCount(varDB("_adjustment")));
+    assertEquals(1, sm.getStorageReadCount(varDB("_feeTierCursor")));
+  }
+
+  // Storage key of a bond VarDB, see `AnyDBImpl`
+  static String varDB (String id) {
+    return "VarDB" + KarmaCustomBondBalanced.NAME + id;
+  }
+
+  @Test
+  void testDepositSlippage () {
+    AssertUtils.assertThrowsMessage(() ->
+      KarmaCustomBondBalancedClient.deposit(
+        bond.score,
+        alice,
+        balancedDex.score,
+        poolId,
+        amount,
+        BigInteger.ONE,
+        owner.getAddress()
+      ),
+      "deposit: Slippage limit: more than max price"
+    );
+  }
+
+  @Test
+  void testDepositWrongPool () {
+    BigInteger otherPoolId = BigInteger.valueOf(3);
+    balancedDex.invoke(owner, "setPool", otherPoolId, baseToken, quoteToken, EXA, EXA, EXA);
+
+    AssertUtils.assertThrowsMessage(() ->
+      KarmaCustomBondBalancedClient.deposit(
+        bond.score,
+        owner,
+        balancedDex.score,
+        otherPoolId,
+        amount,
+        BigInteger.valueOf(10_000_000),
+        owner.getAddress()
+      ),
+      "deposit: Wrong LP token Pool ID"
+    );
+  }
+}
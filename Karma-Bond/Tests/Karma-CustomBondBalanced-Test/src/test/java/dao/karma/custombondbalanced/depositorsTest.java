@@ -0,0 +1,197 @@
+package dao.karma.custombondbalanced;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+import java.util.Map;
+
+import com.iconloop.score.test.Account;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dao.karma.clients.IRC2Client;
+import dao.karma.clients.KarmaCustomBondBalancedClient;
+import dao.karma.clients.KarmaCustomBondClient;
+import dao.karma.clients.KarmaCustomTreasuryClient;
+import dao.karma.custombondbalanced.mocks.BalancedDexMock;
+import dao.karma.custombondbalanced.mocks.KarmaOracleMock;
+import dao.karma.custombondbalanced.tokens.PayoutToken;
+import dao.karma.customtreasurybalanced.KarmaCustomTreasuryBalanced;
+import dao.karma.structs.bond.BondStatus;
+import dao.karma.test.AssertUtils;
+import dao.karma.test.ScoreSpy;
+import dao.karma.test.SleepUtils;
+import dao.karma.utils.JSONUtils;
+import dao.karma.utils.TimeUtils;
+import score.Address;
+import score.Context;
+
+public class depositorsTest extends KarmaCustomBondBalancedTest {
+  // Fake contracts
+  final Account subsidyRouterAccount = sm.createAccount();
+  final Address karmaTreasury = sm.createAccount().getAddress();
+  final Address subsidyRouter = subsidyRouterAccount.getAddress();
+  final Address karmaDAO = sm.createAccount().getAddress();
+  final Address initialOwner = owner.getAddress();
+  final Address baseToken = sm.createAccount().getAddress();
+  final Address quoteToken = sm.createAccount().getAddress();
+  final BigInteger poolId = BigInteger.valueOf(2);
+  final Address nobody = sm.createAccount().getAddress();
+  final BigInteger amount = EXA.divide(BigInteger.valueOf(20));
+  final BigInteger[] tierCeilings = {
+    EXA.multiply(BigInteger.valueOf(10)),
+    EXA.multiply(BigInteger.valueOf(20))
+  };
+  final BigInteger[] fees = {
+    BigInteger.valueOf(33300),
+    BigInteger.valueOf(66600)
+  };
+
+  ScoreSpy<BalancedDexMock> balancedDex;
+  ScoreSpy<KarmaOracleMock> karmaOracle;
+  ScoreSpy<PayoutToken> payoutToken;
+  ScoreSpy<KarmaCustomTreasuryBalanced> customTreasury;
+
+  @BeforeEach
+  void setup() throws Exception {
+    // Deploys
+    balancedDex = deploy(BalancedDexMock.class);
+    payoutToken = deploy(PayoutToken.class);
+    customTreasury = deploy(KarmaCustomTreasuryBalanced.class, payoutToken.getAddress(), initialOwner, poolId);
+    karmaOracle = deploy(KarmaOracleMock.class);
+
+    setup_bond(
+      customTreasury.getAddress(),
+      payoutToken.getAddress(),
+      balancedDex.getAddress(),
+      poolId,
+      karmaTreasury,
+      karmaOracle.getAddress(),
+      subsidyRouter,
+      initialOwner,
+      karmaDAO,
+      tierCeilings,
+      fees
+    );
+
+    // create the principal pool, the LP tokens are minted to the owner
+    balancedDex.invoke(owner, "setPool", poolId, baseToken, quoteToken,
+      EXA.multiply(BigInteger.valueOf(1000)),
+      EXA.multiply(BigInteger.valueOf(1000)),
+      EXA.multiply(BigInteger.valueOf(1000))
+    );
+    // send some principal LP token to alice
+    balancedDex.invoke(owner, "transfer", alice.getAddress(), EXA.multiply(BigInteger.valueOf(1)), poolId, new byte[0]);
+    // send some payout token to the custom treasury
+    IRC2Client.transfer(payoutToken.score, owner, customTreasury.getAccount(), EXA.multiply(BigInteger.valueOf(1000)), JSONUtils.method("funding"));
+
+    // Initialize bond
+    KarmaCustomBondClient.setBondTerms(bond.score, owner, KarmaCustomBondBalanced.VESTING, BigInteger.valueOf(302400));
+    KarmaCustomBondClient.initializeBond (
+      bond.score,
+      owner,
+      BigInteger.valueOf(400000),
+      302400, // 1 week
+      BigInteger.valueOf(5403),
+      BigInteger.valueOf(500),
+      EXA.multiply(BigInteger.valueOf(5000)),
+      new BigInteger("1560000000"),
+      new BigInteger("100")
+    );
+
+    // Enable the bond contract in the custom treasury
+    KarmaCustomTreasuryClient.toggleBondContract(customTreasury.score, owner, bond.getAddress());
+
+    // Alice bonds for owner and bob
+    BigInteger maxPrice = BigInteger.valueOf(10_000_000);
+    KarmaCustomBondBalancedClient.deposit(bond.score, alice, balancedDex.score, poolId, amount, maxPrice, owner.getAddress());
+    KarmaCustomBondBalancedClient.deposit(bond.score, alice, balancedDex.score, poolId, amount, maxPrice, bob.getAddress());
+  }
+
+  BigInteger registeredPayouts () {
+    BigInteger result = BigInteger.ZERO;
+    for (Object info : (Object[]) bond.call("bondInfos", 0, KarmaCustomBondBalanced.DEPOSITORS_PAGE_MAX_SIZE)) {
+      @SuppressWarnings("unchecked")
+      BigInteger payout = (BigInteger) ((Map<String, Object>) info).get("payout");
+      result = result.add(payout);
+    }
+    return result;
+  }
+
+  @Test
+  void testDepositors () {
+    assertArrayEquals(
+      new Address[] {owner.getAddress(), bob.getAddress()},
+      KarmaCustomBondClient.depositors(bond.score, 0, 10)
+    );
+    assertArrayEquals(
+      new Address[] {bob.getAddress()},
+      KarmaCustomBondClient.depositors(bond.score, 1, 10)
+    );
+    assertEquals(registeredPayouts(), KarmaCustomBondClient.outstandingPayout(bond.score));
+
+    AssertUtils.assertThrowsMessage(() ->
+      KarmaCustomBondClient.depositors(bond.score, 0, KarmaCustomBondBalanced.DEPOSITORS_PAGE_MAX_SIZE + 1),
+      "depositors: invalid page"
+    );
+  }
+
+  @Test
+  void testPendingPayoutsFor () {
+    SleepUtils.sleep(TimeUtils.ONE_DAY);
+
+    Address[] depositors = {owner.getAddress(), nobody, bob.getAddress()};
+    BondStatus[] statuses = KarmaCustomBondClient.pendingPayoutsFor(bond.score, depositors);
+    BigInteger[] percentVested = KarmaCustomBondClient.percentVestedForMany(bond.score, depositors);
+
+    for (int i : new int[] {0, 2}) {
+      assertEquals(KarmaCustomBondClient.pendingPayoutFor(bond.score, depositors[i]), statuses[i].pendingPayout);
+      assertEquals(KarmaCustomBondClient.percentVestedFor(bond.score, depositors[i]), statuses[i].percentVested);
+      assertEquals(statuses[i].percentVested, percentVested[i]);
+      assertTrue(statuses[i].pendingPayout.compareTo(BigInteger.ZERO) > 0);
+    }
+
+    // A depositor without bond gets an empty status
+    assertEquals(BigInteger.ZERO, statuses[1].payout);
+    assertEquals(BigInteger.ZERO, statuses[1].pendingPayout);
+    assertEquals(BigInteger.ZERO, percentVested[1]);
+  }
+
+  // A bond stored before the depositors registry existed
+  void storeLegacyBond (Address depositor, BigInteger payout) {
+    sm.pushFrame(owner, bond.getAccount(), false, "storeLegacyBond", BigInteger.ZERO);
+    Context.newDictDB(KarmaCustomBondBalanced.NAME + "_bondInfo", Bond.class)
+      .set(depositor, new Bond(payout, 302400, sm.getBlock().getHeight(), EXA));
+    sm.popFrame();
+  }
+
+  @Test
+  void testRegisterDepositors () {
+    BigInteger outstandingPayout = KarmaCustomBondClient.outstandingPayout(bond.score);
+
+    BigInteger legacyPayout = EXA.multiply(BigInteger.valueOf(3));
+    storeLegacyBond(alice.getAddress(), legacyPayout);
+    assertEquals(2, KarmaCustomBondClient.depositorsCount(bond.score));
+
+    // Registered depositors and addresses without a bond are skipped
+    KarmaCustomBondClient.registerDepositors(bond.score, owner, new Address[] {owner.getAddress(), nobody, alice.getAddress()});
+
+    assertArrayEquals(
+      new Address[] {owner.getAddress(), bob.getAddress(), alice.getAddress()},
+      KarmaCustomBondClient.depositors(bond.score, 0, 10)
+    );
+    assertEquals(outstandingPayout.add(legacyPayout), KarmaCustomBondClient.outstandingPayout(bond.score));
+
+    // Registering again doesn't count the bond twice
+    KarmaCustomBondClient.registerDepositors(bond.score, owner, new Address[] {alice.getAddress()});
+    assertEquals(outstandingPayout.add(legacyPayout), KarmaCustomBondClient.outstandingPayout(bond.score));
+
+    AssertUtils.assertThrowsMessage(() ->
+      KarmaCustomBondClient.registerDepositors(bond.score, alice, new Address[] {alice.getAddress()}),
+      "onlyPolicy: caller is not the owner"
+    );
+  }
+}
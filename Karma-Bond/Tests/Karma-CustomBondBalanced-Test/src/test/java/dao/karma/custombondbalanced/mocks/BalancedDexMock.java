@@ -0,0 +1,66 @@
+package dao.karma.custombondbalanced.mocks;
+
+import java.math.BigInteger;
+
+import score.Address;
+import score.BranchDB;
+import score.Context;
+import score.DictDB;
+import score.annotation.External;
+import score.annotation.Optional;
+
+// Balanced DEX pools, and their LP tokens as IRC31 tokens
+public class BalancedDexMock {
+  private final DictDB<BigInteger, PoolStats> poolStats = Context.newDictDB("poolStats", PoolStats.class);
+  private final BranchDB<BigInteger, DictDB<Address, BigInteger>> balances = Context.newBranchDB("balances", BigInteger.class);
+
+  public BalancedDexMock () {
+
+  }
+
+  /**
+   * Create a pool, its whole LP token supply is minted to the caller
+   */
+  @External
+  public void setPool (
+    BigInteger poolId,
+    Address baseToken,
+    Address quoteToken,
+    BigInteger base,
+    BigInteger quote,
+    BigInteger totalSupply
+  ) {
+    this.poolStats.set(poolId, new PoolStats(baseToken, quoteToken, base, quote, totalSupply, BigInteger.valueOf(18), BigInteger.valueOf(18)));
+    this.balances.at(poolId).set(Context.getCaller(), totalSupply);
+  }
+
+  @External(readonly = true)
+  public PoolStats getPoolStats (BigInteger _id) {
+    PoolStats stats = this.poolStats.get(_id);
+    Context.require(stats != null, "getPoolStats: pool doesn't exist");
+    return stats;
+  }
+
+  @External(readonly = true)
+  public BigInteger balanceOf (Address _owner, BigInteger _id) {
+    return this.balances.at(_id).getOrDefault(_owner, BigInteger.ZERO);
+  }
+
+  @External
+  public void transfer (Address _to, BigInteger _value, BigInteger _id, @Optional byte[] _data) {
+    Address _from = Context.getCaller();
+    DictDB<Address, BigInteger> balances = this.balances.at(_id);
+
+    Context.require(_value.compareTo(BigInteger.ZERO) >= 0, "_value needs to be positive");
+    Context.require(balances.getOrDefault(_from, BigInteger.ZERO).compareTo(_value) >= 0, "Insufficient balance");
+
+    balances.set(_from, balances.getOrDefault(_from, BigInteger.ZERO).subtract(_value));
+    balances.set(_to, balances.getOrDefault(_to, BigInteger.ZERO).add(_value));
+
+    // if the recipient is SCORE, call 'onIRC31Received' to handle further operation
+    if (_to.isContract()) {
+      byte[] dataBytes = (_data == null) ? new byte[0] : _data;
+      Context.call(_to, "onIRC31Received", _from, _from, _id, _value, dataBytes);
+    }
+  }
+}
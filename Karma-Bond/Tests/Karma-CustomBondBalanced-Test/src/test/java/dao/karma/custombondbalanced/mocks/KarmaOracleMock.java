@@ -0,0 +1,26 @@
+package dao.karma.custombondbalanced.mocks;
+
+import java.math.BigInteger;
+import dao.karma.utils.MathUtils;
+import score.Address;
+import score.annotation.External;
+
+public class KarmaOracleMock {
+  public KarmaOracleMock () {
+
+  }
+
+  @External
+  public BigInteger getUsdPrice (Address base) {
+    return MathUtils.pow10(18);
+  }
+
+  @External
+  public BigInteger[] getUsdPrices (Address[] bases) {
+    BigInteger[] prices = new BigInteger[bases.length];
+    for (int i = 0; i < bases.length; i++) {
+      prices[i] = MathUtils.pow10(18);
+    }
+    return prices;
+  }
+}
@@ -0,0 +1,58 @@
+package dao.karma.custombondbalanced.mocks;
+
+import java.math.BigInteger;
+
+import score.Address;
+import score.ObjectReader;
+import score.ObjectWriter;
+
+// Subset of the Balanced DEX `getPoolStats` result used by the bond and the treasury
+public class PoolStats {
+  public Address base_token;
+  public Address quote_token;
+  public BigInteger base;
+  public BigInteger quote;
+  public BigInteger total_supply;
+  public BigInteger base_decimals;
+  public BigInteger quote_decimals;
+
+  public PoolStats (
+    Address base_token,
+    Address quote_token,
+    BigInteger base,
+    BigInteger quote,
+    BigInteger total_supply,
+    BigInteger base_decimals,
+    BigInteger quote_decimals
+  ) {
+    this.base_token = base_token;
+    this.quote_token = quote_token;
+    this.base = base;
+    this.quote = quote;
+    this.total_supply = total_supply;
+    this.base_decimals = base_decimals;
+    this.quote_decimals = quote_decimals;
+  }
+
+  public static PoolStats readObject (ObjectReader r) {
+    return new PoolStats (
+      r.readAddress(),
+      r.readAddress(),
+      r.readBigInteger(),
+      r.readBigInteger(),
+      r.readBigInteger(),
+      r.readBigInteger(),
+      r.readBigInteger()
+    );
+  }
+
+  public static void writeObject (ObjectWriter w, PoolStats obj) {
+    w.write(obj.base_token);
+    w.write(obj.quote_token);
+    w.write(obj.base);
+    w.write(obj.quote);
+    w.write(obj.total_supply);
+    w.write(obj.base_decimals);
+    w.write(obj.quote_decimals);
+  }
+}
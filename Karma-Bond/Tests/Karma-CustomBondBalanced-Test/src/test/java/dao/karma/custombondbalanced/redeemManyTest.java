@@ -0,0 +1,186 @@
+package dao.karma.custombondbalanced;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import com.iconloop.score.test.Account;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dao.karma.clients.IRC2Client;
+import dao.karma.clients.KarmaCustomBondBalancedClient;
+import dao.karma.clients.KarmaCustomBondClient;
+import dao.karma.clients.KarmaCustomTreasuryClient;
+import dao.karma.custombondbalanced.mocks.BalancedDexMock;
+import dao.karma.custombondbalanced.mocks.KarmaOracleMock;
+import dao.karma.custombondbalanced.tokens.PayoutToken;
+import dao.karma.customtreasurybalanced.KarmaCustomTreasuryBalanced;
+import dao.karma.test.AssertUtils;
+import dao.karma.test.ScoreSpy;
+import dao.karma.test.SleepUtils;
+import dao.karma.utils.JSONUtils;
+import dao.karma.utils.TimeUtils;
+import score.Address;
+
+public class redeemManyTest extends KarmaCustomBondBalancedTest {
+  // Fake contracts
+  final Account subsidyRouterAccount = sm.createAccount();
+  final Address karmaTreasury = sm.createAccount().getAddress();
+  final Address subsidyRouter = subsidyRouterAccount.getAddress();
+  final Address karmaDAO = sm.createAccount().getAddress();
+  final Address initialOwner = owner.getAddress();
+  final Address baseToken = sm.createAccount().getAddress();
+  final Address quoteToken = sm.createAccount().getAddress();
+  final BigInteger poolId = BigInteger.valueOf(2);
+  final Address nobody = sm.createAccount().getAddress();
+  final BigInteger amount = EXA.divide(BigInteger.valueOf(20));
+  final BigInteger[] tierCeilings = {
+    EXA.multiply(BigInteger.valueOf(10)),
+    EXA.multiply(BigInteger.valueOf(20))
+  };
+  final BigInteger[] fees = {
+    BigInteger.valueOf(33300),
+    BigInteger.valueOf(66600)
+  };
+
+  ScoreSpy<BalancedDexMock> balancedDex;
+  ScoreSpy<KarmaOracleMock> karmaOracle;
+  ScoreSpy<PayoutToken> payoutToken;
+  ScoreSpy<KarmaCustomTreasuryBalanced> customTreasury;
+
+  @BeforeEach
+  void setup() throws Exception {
+    // Deploys
+    balancedDex = deploy(BalancedDexMock.class);
+    payoutToken = deploy(PayoutToken.class);
+    customTreasury = deploy(KarmaCustomTreasuryBalanced.class, payoutToken.getAddress(), initialOwner, poolId);
+    karmaOracle = deploy(KarmaOracleMock.class);
+
+    setup_bond(
+      customTreasury.getAddress(),
+      payoutToken.getAddress(),
+      balancedDex.getAddress(),
+      poolId,
+      karmaTreasury,
+      karmaOracle.getAddress(),
+      subsidyRouter,
+      initialOwner,
+      karmaDAO,
+      tierCeilings,
+      fees
+    );
+
+    // create the principal pool, the LP tokens are minted to the owner
+    balancedDex.invoke(owner, "setPool", poolId, baseToken, quoteToken,
+      EXA.multiply(BigInteger.valueOf(1000)),
+      EXA.multiply(BigInteger.valueOf(1000)),
+      EXA.multiply(BigInteger.valueOf(1000))
+    );
+    // send some principal LP token to alice
+    balancedDex.invoke(owner, "transfer", alice.getAddress(), EXA.multiply(BigInteger.valueOf(1)), poolId, new byte[0]);
+    // send some payout token to the custom treasury
+    IRC2Client.transfer(payoutToken.score, owner, customTreasury.getAccount(), EXA.multiply(BigInteger.valueOf(1000)), JSONUtils.method("funding"));
+
+    // Initialize bond
+    KarmaCustomBondClient.setBondTerms(bond.score, owner, KarmaCustomBondBalanced.VESTING, BigInteger.valueOf(302400));
+    KarmaCustomBondClient.initializeBond (
+      bond.score,
+      owner,
+      BigInteger.valueOf(400000),
+      302400, // 1 week
+      BigInteger.valueOf(5403),
+      BigInteger.valueOf(500),
+      EXA.multiply(BigInteger.valueOf(5000)),
+      new BigInteger("1560000000"),
+      new BigInteger("100")
+    );
+
+    // Enable the bond contract in the custom treasury
+    KarmaCustomTreasuryClient.toggleBondContract(customTreasury.score, owner, bond.getAddress());
+
+    // Alice bonds for owner and bob
+    BigInteger maxPrice = BigInteger.valueOf(10_000_000);
+    KarmaCustomBondBalancedClient.deposit(bond.score, alice, balancedDex.score, poolId, amount, maxPrice, owner.getAddress());
+    KarmaCustomBondBalancedClient.deposit(bond.score, alice, balancedDex.score, poolId, amount, maxPrice, bob.getAddress());
+  }
+
+  @Test
+  void testRedeemMany () {
+    // Sleep 1 week (vestingTerm)
+    SleepUtils.sleep(TimeUtils.ONE_WEEK);
+
+    BigInteger ownerBefore = IRC2Client.balanceOf(payoutToken.score, owner);
+    BigInteger bobBefore = IRC2Client.balanceOf(payoutToken.score, bob);
+
+    // Depositors without a bond are skipped, a single transfer is made per depositor
+    sm.resetInterCallCount();
+    KarmaCustomBondClient.redeemMany(bond.score, alice, new Address[] {
+      owner.getAddress(), nobody, bob.getAddress(), owner.getAddress()
+    });
+    assertEquals(2, sm.getInterCallCount());
+
+    BigInteger ownerPayout = IRC2Client.balanceOf(payoutToken.score, owner).subtract(ownerBefore);
+    BigInteger bobPayout = IRC2Client.balanceOf(payoutToken.score, bob).subtract(bobBefore);
+    assertTrue(ownerPayout.compareTo(BigInteger.ZERO) > 0);
+    assertTrue(bobPayout.compareTo(BigInteger.ZERO) > 0);
+    verify(bond.spy).BondsRedeemed(BigInteger.TWO, ownerPayout.add(bobPayout));
+    assertEquals(BigInteger.ZERO, KarmaCustomBondClient.outstandingPayout(bond.score));
+
+    // The bonds are fully vested, there shouldn't be anything left to redeem
+    AssertUtils.assertThrowsMessage(() ->
+      KarmaCustomBondClient.redeem (
+        bond.score,
+        alice,
+        bob.getAddress()
+      ),
+      "redeem: no bond registered for depositor"
+    );
+  }
+
+  @Test
+  void testRedeemManyDuplicateDepositor () {
+    // Sleep 1 day, the bonds are partially vested
+    SleepUtils.sleep(TimeUtils.ONE_DAY);
+
+    BigInteger ownerBond = payoutOf(owner.getAddress());
+    BigInteger ownerBefore = IRC2Client.balanceOf(payoutToken.score, owner);
+
+    // A depositor listed twice is only redeemed once, its second entry is skipped
+    sm.resetInterCallCount();
+    BigInteger[] payouts = redeemMany(owner.getAddress(), bob.getAddress(), owner.getAddress());
+    assertEquals(2, sm.getInterCallCount());
+
+    BigInteger ownerPayout = IRC2Client.balanceOf(payoutToken.score, owner).subtract(ownerBefore);
+    assertTrue(ownerPayout.compareTo(BigInteger.ZERO) > 0);
+    assertTrue(ownerPayout.compareTo(ownerBond) < 0);
+    assertEquals(ownerPayout, payouts[0]);
+    assertTrue(payouts[1].compareTo(BigInteger.ZERO) > 0);
+    assertEquals(BigInteger.ZERO, payouts[2]);
+    assertEquals(ownerBond.subtract(ownerPayout), payoutOf(owner.getAddress()));
+    verify(bond.spy).BondsRedeemed(BigInteger.TWO, payouts[0].add(payouts[1]));
+  }
+
+  @Test
+  void testRedeemManyTooManyDepositors () {
+    Address[] depositors = new Address[KarmaCustomBondBalanced.REDEEM_MANY_MAX_DEPOSITORS + 1];
+    for (int i = 0; i < depositors.length; i++) {
+      depositors[i] = nobody;
+    }
+
+    AssertUtils.assertThrowsMessage(() ->
+      KarmaCustomBondClient.redeemMany(bond.score, alice, depositors),
+      "redeemMany: too many depositors"
+    );
+  }
+
+  // redeemMany called through the service manager, which returns the payouts
+  BigInteger[] redeemMany (Address... depositors) {
+    Object[] result = (Object[]) sm.call(alice, BigInteger.ZERO, bond.getAddress(), "redeemMany", (Object) depositors);
+    return Arrays.copyOf(result, result.length, BigInteger[].class);
+  }
+}
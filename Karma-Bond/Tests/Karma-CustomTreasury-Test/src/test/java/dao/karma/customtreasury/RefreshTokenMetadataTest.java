@@ -0,0 +1,84 @@
+package dao.karma.customtreasury;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigInteger;
+
+import com.iconloop.score.test.Account;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dao.karma.clients.IRC2Client;
+import dao.karma.clients.KarmaCustomTreasuryClient;
+import dao.karma.test.AssertUtils;
+import dao.karma.test.ScoreSpy;
+import dao.karma.test.tokens.Bnusd;
+import dao.karma.test.tokens.Usdc;
+import dao.karma.utils.JSONUtils;
+
+public class RefreshTokenMetadataTest extends KarmaCustomTreasuryTest {
+
+  ScoreSpy<Usdc> depositToken;
+  ScoreSpy<Bnusd> payoutToken;
+
+  Account bondContract;
+
+  @BeforeEach
+  void setup() throws Exception {
+    // Fake bond contract
+    bondContract = sm.createAccount();
+
+    // Deploy tokens
+    depositToken = deploy(Usdc.class, "USDC", "USDC", 6);
+    payoutToken = deploy(Bnusd.class, "bnUSD", "bnUSD", 18);
+
+    setup_treasury(payoutToken.getAddress(), owner.getAddress());
+
+    // Mint depositToken to bondingContract
+    IRC2Client.mint(depositToken.score, owner, EXA.multiply(BigInteger.valueOf(1000)));
+    IRC2Client.transfer(depositToken.score, owner, bondContract, BigInteger.valueOf(1000));
+    // Mint payoutToken to treasury 
+    IRC2Client.mint(payoutToken.score, owner, EXA.multiply(BigInteger.valueOf(1000)));
+    IRC2Client.transfer(payoutToken.score, owner, treasury.getAddress(), BigInteger.valueOf(1000), JSONUtils.method("funding"));
+  }
+
+  @Test
+  void testDecimalsCachedOnDeposit () {
+    BigInteger amount = BigInteger.valueOf(1000);
+    BigInteger expected = amount.multiply(BigInteger.TEN.pow(12));
+
+    // Decimals are fetched from the tokens until the first deposit
+    sm.resetInterCallCount();
+    assertEquals(expected, KarmaCustomTreasuryClient.valueOfToken(treasury.score, depositToken.getAddress(), amount));
+    assertEquals(2, sm.getInterCallCount());
+
+    KarmaCustomTreasuryClient.toggleBondContract(treasury.score, owner, bondContract.getAddress());
+    KarmaCustomTreasuryClient.deposit(treasury.score, depositToken.score, bondContract, amount, amount);
+
+    // Then they are read from the cache
+    sm.resetInterCallCount();
+    assertEquals(expected, KarmaCustomTreasuryClient.valueOfToken(treasury.score, depositToken.getAddress(), amount));
+    assertEquals(0, sm.getInterCallCount());
+  }
+
+  @Test
+  void testRefreshTokenMetadata () {
+    BigInteger amount = BigInteger.valueOf(1000);
+
+    KarmaCustomTreasuryClient.refreshTokenMetadata(treasury.score, owner, depositToken.getAddress());
+    KarmaCustomTreasuryClient.refreshTokenMetadata(treasury.score, owner, payoutToken.getAddress());
+
+    sm.resetInterCallCount();
+    assertEquals(amount.multiply(BigInteger.TEN.pow(12)), KarmaCustomTreasuryClient.valueOfToken(treasury.score, depositToken.getAddress(), amount));
+    assertEquals(0, sm.getInterCallCount());
+  }
+
+  @Test
+  void testNotPolicy () {
+    // Only owner can call refreshTokenMetadata, alice is not owner
+    AssertUtils.assertThrowsMessage(
+      () -> KarmaCustomTreasuryClient.refreshTokenMetadata(treasury.score, alice, depositToken.getAddress()), 
+      "onlyPolicy: caller is not the owner");
+  }
+}
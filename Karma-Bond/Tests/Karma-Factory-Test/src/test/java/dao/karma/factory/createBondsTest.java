@@ -0,0 +1,111 @@
+package dao.karma.factory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigInteger;
+
+import com.iconloop.score.test.Account;
+import com.iconloop.score.test.Score;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dao.karma.clients.KarmaFactoryClient;
+import dao.karma.factory.mocks.FactoryStorageMock;
+import dao.karma.structs.factory.BondSpec;
+import dao.karma.test.AssertUtils;
+
+public class createBondsTest extends KarmaFactoryTest {
+
+  // Fake contracts
+  Account karmaTreasury = sm.createAccount();
+  Account karmaSubsidyRouter = sm.createAccount();
+  Account karmaDAO = sm.createAccount();
+  Account payoutToken = sm.createAccount();
+  Account principalToken = sm.createAccount();
+  Account otherPrincipalToken = sm.createAccount();
+  Account customTreasury = sm.createAccount();
+  Account initialOwner = sm.createAccount();
+  Score karmaFactoryStorage = null;
+
+  BigInteger[] tierCeilings = {
+    EXA.multiply(BigInteger.valueOf(10)),
+    EXA.multiply(BigInteger.valueOf(20))
+  };
+  BigInteger[] fees = {
+    BigInteger.valueOf(33300),
+    BigInteger.valueOf(66600)
+  };
+
+  @BeforeEach
+  void setup() throws Exception {
+
+    karmaFactoryStorage = deploy(FactoryStorageMock.class).score;
+
+    setup_factory (
+      karmaTreasury.getAddress(),
+      karmaFactoryStorage.getAddress(),
+      karmaSubsidyRouter.getAddress(),
+      karmaDAO.getAddress()
+    );
+  }
+
+  BondSpec spec (Account principalToken) {
+    return new BondSpec (
+      payoutToken.getAddress(),
+      principalToken.getAddress(),
+      customTreasury.getAddress(),
+      initialOwner.getAddress(),
+      tierCeilings,
+      fees
+    );
+  }
+
+  @Test
+  void testCreateBonds () {
+    KarmaFactoryClient.setCustomBondContractBytes(
+      factory.score,
+      owner,
+      new byte[] {}
+    );
+
+    // Both bonds are registered with a single call to the factory storage
+    sm.resetInterCallCount();
+    KarmaFactoryClient.createBonds(
+      factory.score,
+      owner,
+      new BondSpec[] {spec(principalToken), spec(otherPrincipalToken)}
+    );
+    assertEquals(1, sm.getInterCallCount());
+  }
+
+  @Test
+  void testCreateBondsNotInitialized () {
+    AssertUtils.assertThrowsMessage(() ->
+      KarmaFactoryClient.createBonds(
+        factory.score,
+        owner,
+        new BondSpec[] {spec(principalToken)}
+      ),
+      "checkCustomBondContractBytesInitialized: not set"
+    );
+  }
+
+  @Test
+  void testCreateBondsInvalidCount () {
+    KarmaFactoryClient.setCustomBondContractBytes(
+      factory.score,
+      owner,
+      new byte[] {}
+    );
+
+    AssertUtils.assertThrowsMessage(() ->
+      KarmaFactoryClient.createBonds(
+        factory.score,
+        owner,
+        new BondSpec[] {}
+      ),
+      "createBonds: invalid bonds count"
+    );
+  }
+}
@@ -9,4 +9,13 @@ public class FactoryStorageMock {
   public TreasuryBond pushBond (BondDetails bond) {
      return new TreasuryBond (bond.treasuryAddress, bond.bondAddress);
   }
+
+  @External
+  public TreasuryBond[] pushBonds (BondDetails[] bonds) {
+    TreasuryBond[] result = new TreasuryBond[bonds.length];
+    for (int i = 0; i < bonds.length; i++) {
+      result[i] = new TreasuryBond (bonds[i].treasuryAddress, bonds[i].bondAddress);
+    }
+    return result;
+  }
 }
@@ -0,0 +1,125 @@
+package dao.karma.factorystorage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dao.karma.clients.KarmaFactoryStorageClient;
+import dao.karma.structs.factorystorage.BondDetails;
+import score.Address;
+import score.impl.RLPObjectReader;
+import score.impl.RLPObjectWriter;
+
+public class bondDetailsEncodingTest extends KarmaFactoryStorageTest {
+
+  // Fake contracts
+  Address payoutToken = sm.createAccount().getAddress();
+  Address principalToken = sm.createAccount().getAddress();
+  Address treasuryAddress = sm.createAccount().getAddress();
+  Address bondAddress = sm.createAccount().getAddress();
+  Address otherBondAddress = sm.createAccount().getAddress();
+  Address initialOwner = sm.createAccount().getAddress();
+  BigInteger[] tierCeilings = {
+    EXA.multiply(BigInteger.valueOf(10)),
+    EXA.multiply(BigInteger.valueOf(20))
+  };
+  BigInteger[] fees = {
+    BigInteger.valueOf(33300),
+    BigInteger.valueOf(66600)
+  };
+  BondDetails details = new BondDetails (
+    payoutToken, 
+    principalToken, 
+    treasuryAddress, 
+    bondAddress, 
+    initialOwner, 
+    tierCeilings, 
+    fees
+  );
+
+  @BeforeEach
+  void setup() throws Exception {
+    setup_factory_storage();
+  }
+
+  @Test
+  void testLegacyEntry () {
+    // Entry written before the interned layout
+    RLPObjectWriter w = new RLPObjectWriter();
+    BondDetails.writeObject(w, details);
+    byte[] legacy = w.toByteArray();
+
+    StoredBondDetails entry = StoredBondDetails.readObject(new RLPObjectReader(legacy));
+    assertEquals(bondAddress, entry.legacy.bondAddress);
+    assertEquals(initialOwner, entry.legacy.initialOwner);
+    assertArrayEquals(fees, entry.legacy.fees);
+
+    // Rewriting it keeps the legacy layout
+    w = new RLPObjectWriter();
+    StoredBondDetails.writeObject(w, entry);
+    assertArrayEquals(legacy, w.toByteArray());
+  }
+
+  @Test
+  void testInternedEntry () {
+    RLPObjectWriter w = new RLPObjectWriter();
+    BondDetails.writeObject(w, details);
+    byte[] legacy = w.toByteArray();
+
+    w = new RLPObjectWriter();
+    StoredBondDetails.writeObject(w, new StoredBondDetails(0, 1, 2, bondAddress, 3, 0));
+    byte[] interned = w.toByteArray();
+
+    StoredBondDetails entry = StoredBondDetails.readObject(new RLPObjectReader(interned));
+    assertNull(entry.legacy);
+    assertEquals(1, entry.principalToken);
+    assertEquals(bondAddress, entry.bondAddress);
+    assertEquals(3, entry.initialOwner);
+
+    assertTrue(interned.length < legacy.length / 2);
+  }
+
+  @Test
+  void testSharedValues () {
+    // Set the factory address as the caller so we can call it
+    KarmaFactoryStorageClient.setFactoryAddress (
+      factoryStorage.score, 
+      owner, 
+      owner.getAddress()
+    );
+
+    BondDetails otherDetails = new BondDetails (
+      payoutToken, 
+      principalToken, 
+      treasuryAddress, 
+      otherBondAddress, 
+      alice.getAddress(), 
+      tierCeilings, 
+      new BigInteger[] {BigInteger.valueOf(10000), BigInteger.valueOf(20000)}
+    );
+
+    KarmaFactoryStorageClient.pushBonds (
+      factoryStorage.score,
+      owner,
+      new BondDetails[] {details, otherDetails, details}
+    );
+
+    // The details are decoded as they were pushed
+    BondDetails[] result = KarmaFactoryStorageClient.bondDetailsRange(factoryStorage.score, 0, 3);
+    assertEquals(bondAddress, result[0].bondAddress);
+    assertEquals(initialOwner, result[0].initialOwner);
+    assertArrayEquals(fees, result[0].fees);
+    assertEquals(otherBondAddress, result[1].bondAddress);
+    assertEquals(alice.getAddress(), result[1].initialOwner);
+    assertArrayEquals(otherDetails.fees, result[1].fees);
+    assertArrayEquals(tierCeilings, result[2].tierCeilings);
+    assertEquals(payoutToken, result[2].payoutToken);
+    assertEquals(treasuryAddress, result[2].treasuryAddress);
+  }
+}
@@ -0,0 +1,155 @@
+package dao.karma.factorystorage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dao.karma.clients.KarmaFactoryStorageClient;
+import dao.karma.structs.factorystorage.BondDetails;
+import dao.karma.test.AssertUtils;
+import score.Address;
+
+public class bondsByTokenTest extends KarmaFactoryStorageTest {
+
+  // Fake contracts
+  Address payoutToken = sm.createAccount().getAddress();
+  Address otherPayoutToken = sm.createAccount().getAddress();
+  Address principalToken = sm.createAccount().getAddress();
+  Address otherPrincipalToken = sm.createAccount().getAddress();
+  Address treasuryAddress = sm.createAccount().getAddress();
+  Address initialOwner = sm.createAccount().getAddress();
+  Address[] bondAddresses = {
+    sm.createAccount().getAddress(),
+    sm.createAccount().getAddress(),
+    sm.createAccount().getAddress(),
+    sm.createAccount().getAddress()
+  };
+  BigInteger[] tierCeilings = {
+    EXA.multiply(BigInteger.valueOf(10))
+  };
+  BigInteger[] fees = {
+    BigInteger.valueOf(33300)
+  };
+
+  BondDetails details (Address payoutToken, Address principalToken, Address owner, int bond) {
+    return new BondDetails (
+      payoutToken,
+      principalToken,
+      treasuryAddress,
+      bondAddresses[bond],
+      owner,
+      tierCeilings,
+      fees
+    );
+  }
+
+  @BeforeEach
+  void setup() throws Exception {
+    setup_factory_storage();
+
+    // Set the factory address as the caller so we can call it
+    KarmaFactoryStorageClient.setFactoryAddress (
+      factoryStorage.score, 
+      owner, 
+      owner.getAddress()
+    );
+
+    KarmaFactoryStorageClient.pushBond (
+      factoryStorage.score,
+      owner,
+      details(payoutToken, principalToken, initialOwner, 0)
+    );
+
+    KarmaFactoryStorageClient.pushBonds (
+      factoryStorage.score,
+      owner,
+      new BondDetails[] {
+        details(otherPayoutToken, principalToken, initialOwner, 1),
+        details(payoutToken, otherPrincipalToken, alice.getAddress(), 2),
+        details(payoutToken, principalToken, initialOwner, 3)
+      }
+    );
+  }
+
+  @Test
+  void testBondDetailsRange () {
+    assertEquals(4, KarmaFactoryStorageClient.bondCount(factoryStorage.score));
+
+    BondDetails[] page = KarmaFactoryStorageClient.bondDetailsRange(factoryStorage.score, 1, 2);
+    assertEquals(2, page.length);
+    assertEquals(bondAddresses[1], page[0].bondAddress);
+    assertEquals(bondAddresses[2], page[1].bondAddress);
+
+    // The last page is truncated
+    page = KarmaFactoryStorageClient.bondDetailsRange(factoryStorage.score, 3, 10);
+    assertEquals(1, page.length);
+    assertEquals(bondAddresses[3], page[0].bondAddress);
+
+    // Past the end
+    assertEquals(0, KarmaFactoryStorageClient.bondDetailsRange(factoryStorage.score, 10, 10).length);
+  }
+
+  @Test
+  void testBondsByPayoutToken () {
+    assertEquals(3, KarmaFactoryStorageClient.bondCountByPayoutToken(factoryStorage.score, payoutToken));
+    assertEquals(1, KarmaFactoryStorageClient.bondCountByPayoutToken(factoryStorage.score, otherPayoutToken));
+
+    BondDetails[] page = KarmaFactoryStorageClient.bondsByPayoutToken(factoryStorage.score, payoutToken, 1, 10);
+    assertEquals(2, page.length);
+    assertEquals(bondAddresses[2], page[0].bondAddress);
+    assertEquals(bondAddresses[3], page[1].bondAddress);
+  }
+
+  @Test
+  void testBondsByPrincipalToken () {
+    assertEquals(3, KarmaFactoryStorageClient.bondCountByPrincipalToken(factoryStorage.score, principalToken));
+
+    BondDetails[] page = KarmaFactoryStorageClient.bondsByPrincipalToken(factoryStorage.score, otherPrincipalToken, 0, 10);
+    assertEquals(1, page.length);
+    assertEquals(bondAddresses[2], page[0].bondAddress);
+  }
+
+  @Test
+  void testBondsByInitialOwner () {
+    assertEquals(3, KarmaFactoryStorageClient.bondCountByInitialOwner(factoryStorage.score, initialOwner));
+
+    BondDetails[] page = KarmaFactoryStorageClient.bondsByInitialOwner(factoryStorage.score, initialOwner, 0, 2);
+    assertEquals(2, page.length);
+    assertEquals(bondAddresses[0], page[0].bondAddress);
+    assertEquals(bondAddresses[1], page[1].bondAddress);
+
+    // Unknown owner
+    assertEquals(0, KarmaFactoryStorageClient.bondCountByInitialOwner(factoryStorage.score, bob.getAddress()));
+    assertEquals(0, KarmaFactoryStorageClient.bondsByInitialOwner(factoryStorage.score, bob.getAddress(), 0, 10).length);
+  }
+
+  @Test
+  void testInvalidPage () {
+    AssertUtils.assertThrowsMessage(() -> 
+      KarmaFactoryStorageClient.bondDetailsRange (
+        factoryStorage.score,
+        0,
+        KarmaFactoryStorage.BOND_DETAILS_PAGE_MAX_SIZE + 1
+      ), 
+      "bondDetails: invalid page"
+    );
+
+    AssertUtils.assertThrowsMessage(() -> 
+      KarmaFactoryStorageClient.bondsByPayoutToken (
+        factoryStorage.score,
+        payoutToken,
+        -1,
+        10
+      ), 
+      "bondDetails: invalid page"
+    );
+  }
+
+  @Test
+  void testIndexOfUnknownBond () {
+    assertEquals(-1, KarmaFactoryStorageClient.indexOfBond(factoryStorage.score, bob.getAddress()));
+  }
+}
@@ -0,0 +1,122 @@
+package dao.karma.factorystorage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dao.karma.clients.KarmaFactoryStorageClient;
+import dao.karma.structs.factorystorage.BondDetails;
+import dao.karma.test.AssertUtils;
+import score.Address;
+import score.Context;
+
+public class indexBondsTest extends KarmaFactoryStorageTest {
+
+  // Fake contracts
+  Address payoutToken = sm.createAccount().getAddress();
+  Address principalToken = sm.createAccount().getAddress();
+  Address treasuryAddress = sm.createAccount().getAddress();
+  Address initialOwner = sm.createAccount().getAddress();
+  Address[] bondAddresses = {
+    sm.createAccount().getAddress(),
+    sm.createAccount().getAddress(),
+    sm.createAccount().getAddress(),
+    sm.createAccount().getAddress(),
+    sm.createAccount().getAddress()
+  };
+  BigInteger[] tierCeilings = {
+    EXA.multiply(BigInteger.valueOf(10))
+  };
+  BigInteger[] fees = {
+    BigInteger.valueOf(33300)
+  };
+
+  BondDetails details (int bond) {
+    return new BondDetails (
+      payoutToken,
+      principalToken,
+      treasuryAddress,
+      bondAddresses[bond],
+      initialOwner,
+      tierCeilings,
+      fees
+    );
+  }
+
+  // A bond pushed before the secondary indexes existed, in the legacy layout
+  void pushLegacyBond (int bond) {
+    sm.pushFrame(owner, factoryStorage.getAccount(), false, "pushLegacyBond", BigInteger.ZERO);
+    var bondDetails = Context.newArrayDB(KarmaFactoryStorage.NAME + "_bondDetails", StoredBondDetails.class);
+    Context.newDictDB(KarmaFactoryStorage.NAME + "_indexOfBond", Integer.class)
+      .set(bondAddresses[bond], bondDetails.size());
+    bondDetails.add(new StoredBondDetails(details(bond)));
+    sm.popFrame();
+  }
+
+  @BeforeEach
+  void setup() throws Exception {
+    setup_factory_storage();
+
+    // Set the factory address as the caller so we can call it
+    KarmaFactoryStorageClient.setFactoryAddress (
+      factoryStorage.score, 
+      owner, 
+      owner.getAddress()
+    );
+
+    pushLegacyBond(0);
+    pushLegacyBond(1);
+    pushLegacyBond(2);
+  }
+
+  @Test
+  void testIndexBonds () {
+    // The bonds pushed after an upgrade wait for the older ones to be indexed
+    KarmaFactoryStorageClient.pushBond(factoryStorage.score, owner, details(3));
+    assertEquals(4, KarmaFactoryStorageClient.bondCount(factoryStorage.score));
+    assertEquals(0, KarmaFactoryStorageClient.indexedBondCount(factoryStorage.score));
+    assertEquals(0, KarmaFactoryStorageClient.bondCountByPayoutToken(factoryStorage.score, payoutToken));
+
+    KarmaFactoryStorageClient.indexBonds(factoryStorage.score, owner, 0, 2);
+    assertEquals(2, KarmaFactoryStorageClient.indexedBondCount(factoryStorage.score));
+    assertEquals(2, KarmaFactoryStorageClient.bondCountByPrincipalToken(factoryStorage.score, principalToken));
+
+    KarmaFactoryStorageClient.indexBonds(factoryStorage.score, owner, 2, KarmaFactoryStorage.INDEX_BONDS_MAX);
+    assertEquals(4, KarmaFactoryStorageClient.indexedBondCount(factoryStorage.score));
+
+    // Every bond is indexed once, in push order
+    BondDetails[] page = KarmaFactoryStorageClient.bondsByInitialOwner(factoryStorage.score, initialOwner, 0, 10);
+    assertEquals(4, page.length);
+    for (int i = 0; i < page.length; i++) {
+      assertEquals(bondAddresses[i], page[i].bondAddress);
+    }
+
+    // Once caught up, the pushed bonds are indexed right away
+    KarmaFactoryStorageClient.pushBond(factoryStorage.score, owner, details(4));
+    assertEquals(5, KarmaFactoryStorageClient.indexedBondCount(factoryStorage.score));
+    assertEquals(5, KarmaFactoryStorageClient.bondCountByPayoutToken(factoryStorage.score, payoutToken));
+  }
+
+  @Test
+  void testIndexBondsChecks () {
+    AssertUtils.assertThrowsMessage(() ->
+      KarmaFactoryStorageClient.indexBonds(factoryStorage.score, alice, 0, 10),
+      "onlyPolicy: caller is not the owner"
+    );
+
+    // A call replayed after the cursor moved doesn't index the bonds twice
+    KarmaFactoryStorageClient.indexBonds(factoryStorage.score, owner, 0, 1);
+    AssertUtils.assertThrowsMessage(() ->
+      KarmaFactoryStorageClient.indexBonds(factoryStorage.score, owner, 0, 1),
+      "indexBonds: offset must be the indexed bond count"
+    );
+
+    AssertUtils.assertThrowsMessage(() ->
+      KarmaFactoryStorageClient.indexBonds(factoryStorage.score, owner, 1, KarmaFactoryStorage.INDEX_BONDS_MAX + 1),
+      "indexBonds: invalid limit"
+    );
+  }
+}
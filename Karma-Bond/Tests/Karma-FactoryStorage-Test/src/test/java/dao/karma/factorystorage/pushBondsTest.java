@@ -0,0 +1,101 @@
+package dao.karma.factorystorage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dao.karma.clients.KarmaFactoryStorageClient;
+import dao.karma.structs.factorystorage.BondDetails;
+import dao.karma.test.AssertUtils;
+import score.Address;
+
+public class pushBondsTest extends KarmaFactoryStorageTest {
+
+  // Fake contracts
+  Address payoutToken = sm.createAccount().getAddress();
+  Address principalToken = sm.createAccount().getAddress();
+  Address treasuryAddress = sm.createAccount().getAddress();
+  Address bondAddress = sm.createAccount().getAddress();
+  Address otherBondAddress = sm.createAccount().getAddress();
+  Address initialOwner = sm.createAccount().getAddress();
+  BigInteger[] tierCeilings = {
+    EXA.multiply(BigInteger.valueOf(10)),
+    EXA.multiply(BigInteger.valueOf(20))
+  };
+  BigInteger[] fees = {
+    BigInteger.valueOf(33300),
+    BigInteger.valueOf(66600)
+  };
+  BondDetails details = new BondDetails (
+    payoutToken, 
+    principalToken, 
+    treasuryAddress, 
+    bondAddress, 
+    initialOwner, 
+    tierCeilings, 
+    fees
+  );
+  BondDetails otherDetails = new BondDetails (
+    payoutToken, 
+    principalToken, 
+    treasuryAddress, 
+    otherBondAddress, 
+    initialOwner, 
+    tierCeilings, 
+    fees
+  );
+
+  @BeforeEach
+  void setup() throws Exception {
+    setup_factory_storage();
+  }
+
+  @Test
+  void testPushBonds () {
+    // Set the factory address as the caller so we can call it
+    KarmaFactoryStorageClient.setFactoryAddress (
+      factoryStorage.score, 
+      owner, 
+      owner.getAddress()
+    );
+
+    KarmaFactoryStorageClient.pushBond (
+      factoryStorage.score,
+      owner,
+      details
+    );
+
+    KarmaFactoryStorageClient.pushBonds (
+      factoryStorage.score,
+      owner,
+      new BondDetails[] {otherDetails, details}
+    );
+
+    // The bonds are appended after the existing ones
+    assertEquals(1, KarmaFactoryStorageClient.indexOfBond(factoryStorage.score, otherBondAddress));
+    assertEquals(2, KarmaFactoryStorageClient.indexOfBond(factoryStorage.score, bondAddress));
+    assertEquals(otherBondAddress, KarmaFactoryStorageClient.bondDetails(factoryStorage.score, 1).bondAddress);
+  }
+
+  @Test
+  void testNotFactoryAddress () {
+    // Set the factory address as another address
+    KarmaFactoryStorageClient.setFactoryAddress (
+      factoryStorage.score, 
+      owner, 
+      alice.getAddress()
+    );
+
+    AssertUtils.assertThrowsMessage(() -> 
+      KarmaFactoryStorageClient.pushBonds (
+        factoryStorage.score,
+        owner,
+        new BondDetails[] {details}
+      ), 
+      "checkIsKarmaFactory: Only Karma Factory can call this method"
+    );
+  }
+}
@@ -16,6 +16,8 @@
 
 package dao.karma.oracle;
 
+import java.math.BigInteger;
+
 import dao.karma.test.KarmaTest;
 import dao.karma.test.ScoreSpy;
 import score.Address;
@@ -24,16 +26,29 @@ public class KarmaOracleTest extends KarmaTest {
 
   ScoreSpy<KarmaOracle> oracle;
 
-  void setup_bond (
+  // Only BALN and the stablecoins are priced without the DEX pools
+  void setup_oracle (
     Address initialOwner,
     Address balancedDex,
-    Address bandOracle
+    Address bandOracle,
+    Address BALN,
+    Address[] stablecoins
   ) throws Exception {
+    final Address ZERO = Address.fromString("cx0000000000000000000000000000000000000000");
     oracle = deploy (
-      KarmaOracleTest.class,
+      KarmaOracle.class,
       initialOwner,
       balancedDex,
-      bandOracle
+      bandOracle,
+      stablecoins.length > 0 ? stablecoins[0] : ZERO, // USDS
+      ZERO, // USDB
+      stablecoins.length > 1 ? stablecoins[1] : ZERO, // BNUSD
+      ZERO, // IUSDC
+      ZERO, // IUSDT
+      BALN,
+      ZERO, // SICX
+      ZERO, // OMM
+      BigInteger.ZERO
     );
   }
-}
\ No newline at end of file
+}
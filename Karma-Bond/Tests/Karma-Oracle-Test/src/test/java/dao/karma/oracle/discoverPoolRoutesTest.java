@@ -0,0 +1,96 @@
+package dao.karma.oracle;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dao.karma.clients.KarmaOracleClient;
+import dao.karma.oracle.mocks.BalancedDexMock;
+import dao.karma.structs.oracle.PoolRoutes;
+import dao.karma.test.AssertUtils;
+import dao.karma.test.ScoreSpy;
+import score.Address;
+
+public class discoverPoolRoutesTest extends KarmaOracleTest {
+
+  final Address bandOracle = sm.createAccount().getAddress();
+  final Address BALN = sm.createAccount().getAddress();
+  final Address USDS = sm.createAccount().getAddress();
+  final Address BNUSD = sm.createAccount().getAddress();
+  final Address token = sm.createAccount().getAddress();
+  final BigInteger poolId = BigInteger.valueOf(7);
+
+  ScoreSpy<BalancedDexMock> dex;
+
+  @BeforeEach
+  void setup() throws Exception {
+    dex = deploy(BalancedDexMock.class);
+    // Only a token / bnUSD pool exists
+    dex.score.invoke(owner, "setPool", token, BNUSD, poolId, EXA.multiply(BigInteger.TWO), EXA.multiply(BigInteger.valueOf(100)));
+
+    setup_oracle(owner.getAddress(), dex.getAddress(), bandOracle, BALN, new Address[] {USDS, BNUSD});
+  }
+
+  @Test
+  void testDiscoverPoolRoutes () {
+    // Without routes, every stablecoin pair is looked up
+    sm.resetInterCallCount();
+    assertEquals(EXA.multiply(BigInteger.TWO), KarmaOracleClient.getUsdPrice(oracle.score, token));
+    assertEquals(3, sm.getInterCallCount());
+
+    KarmaOracleClient.discoverPoolRoutes(oracle.score, alice, new Address[] {token});
+
+    PoolRoutes routes = KarmaOracleClient.poolRoutes(oracle.score, token);
+    assertArrayEquals(new Address[] {BNUSD}, routes.stablecoins);
+    assertArrayEquals(new BigInteger[] {poolId}, routes.poolIds);
+
+    // With routes, only the existing pool is queried
+    sm.resetInterCallCount();
+    assertEquals(EXA.multiply(BigInteger.TWO), KarmaOracleClient.getUsdPrice(oracle.score, token));
+    assertEquals(1, sm.getInterCallCount());
+  }
+
+  @Test
+  void testRoutesInvalidatedByStablecoinsChange () {
+    KarmaOracleClient.discoverPoolRoutes(oracle.score, alice, new Address[] {token});
+
+    final Address IUSDC = sm.createAccount().getAddress();
+    KarmaOracleClient.addStablecoin(oracle.score, owner, IUSDC);
+    assertEquals(BigInteger.ONE, KarmaOracleClient.poolRoutesVersion(oracle.score));
+
+    // The routes are outdated, all the stablecoins pairs are looked up again
+    sm.resetInterCallCount();
+    assertEquals(EXA.multiply(BigInteger.TWO), KarmaOracleClient.getUsdPrice(oracle.score, token));
+    assertEquals(4, sm.getInterCallCount());
+
+    KarmaOracleClient.removeStablecoin(oracle.score, owner, IUSDC);
+    assertEquals(BigInteger.TWO, KarmaOracleClient.poolRoutesVersion(oracle.score));
+  }
+
+  @Test
+  void testSetPoolRoutes () {
+    KarmaOracleClient.setPoolRoutes(oracle.score, owner, token, new Address[] {BNUSD}, new BigInteger[] {poolId});
+
+    sm.resetInterCallCount();
+    assertEquals(EXA.multiply(BigInteger.TWO), KarmaOracleClient.getUsdPrice(oracle.score, token));
+    assertEquals(1, sm.getInterCallCount());
+  }
+
+  @Test
+  void testSetPoolRoutesNotStablecoin () {
+    AssertUtils.assertThrowsMessage(
+      () -> KarmaOracleClient.setPoolRoutes(oracle.score, owner, token, new Address[] {BALN}, new BigInteger[] {poolId}),
+      "setPoolRoutes: not a stablecoin");
+  }
+
+  @Test
+  void testSetPoolRoutesNotPolicy () {
+    AssertUtils.assertThrowsMessage(
+      () -> KarmaOracleClient.setPoolRoutes(oracle.score, alice, token, new Address[] {BNUSD}, new BigInteger[] {poolId}),
+      "onlyPolicy: caller is not the owner");
+  }
+}
@@ -0,0 +1,74 @@
+package dao.karma.oracle;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dao.karma.clients.KarmaOracleClient;
+import dao.karma.oracle.mocks.BalancedDexMock;
+import dao.karma.test.ScoreSpy;
+import score.Address;
+
+public class getUsdPricesTest extends KarmaOracleTest {
+
+  final Address bandOracle = sm.createAccount().getAddress();
+  final Address BALN = sm.createAccount().getAddress();
+  final Address USDS = sm.createAccount().getAddress();
+  final Address BNUSD = sm.createAccount().getAddress();
+  final Address token = sm.createAccount().getAddress();
+  final Address otherToken = sm.createAccount().getAddress();
+  final BigInteger poolId = BigInteger.valueOf(7);
+  final BigInteger otherPoolId = BigInteger.valueOf(8);
+
+  ScoreSpy<BalancedDexMock> dex;
+
+  @BeforeEach
+  void setup() throws Exception {
+    dex = deploy(BalancedDexMock.class);
+    dex.score.invoke(owner, "setPool", token, BNUSD, poolId, EXA.multiply(BigInteger.TWO), EXA.multiply(BigInteger.valueOf(100)));
+    dex.score.invoke(owner, "setPool", otherToken, BNUSD, otherPoolId, EXA.multiply(BigInteger.valueOf(3)), EXA.multiply(BigInteger.valueOf(100)));
+
+    setup_oracle(owner.getAddress(), dex.getAddress(), bandOracle, BALN, new Address[] {USDS, BNUSD});
+    KarmaOracleClient.discoverPoolRoutes(oracle.score, alice, new Address[] {token, otherToken});
+  }
+
+  @Test
+  void testGetUsdPrices () {
+    BigInteger[] prices = KarmaOracleClient.getUsdPrices(oracle.score, new Address[] {token, BNUSD, otherToken});
+
+    assertArrayEquals(new BigInteger[] {
+      EXA.multiply(BigInteger.TWO),
+      EXA,
+      EXA.multiply(BigInteger.valueOf(3))
+    }, prices);
+  }
+
+  @Test
+  void testGetUsdPricesMemoized () {
+    // The same token requested twice only fetches its pool stats once
+    sm.resetInterCallCount();
+    BigInteger[] prices = KarmaOracleClient.getUsdPrices(oracle.score, new Address[] {token, token, otherToken});
+    assertEquals(2, sm.getInterCallCount());
+
+    assertEquals(prices[0], prices[1]);
+    assertEquals(KarmaOracleClient.getUsdPrice(oracle.score, otherToken), prices[2]);
+  }
+
+  @Test
+  void testGetUsdPricesStorageReads () {
+    // The DEX address and the pool routes version are only read once for both tokens
+    sm.resetStorageReadCount();
+    KarmaOracleClient.getUsdPrices(oracle.score, new Address[] {token, otherToken});
+    assertEquals(1, sm.getStorageReadCount("VarDB" + KarmaOracle.NAME + "_balancedDex"));
+    assertEquals(1, sm.getStorageReadCount("VarDB" + KarmaOracle.NAME + "_poolRoutesVersion"));
+  }
+
+  @Test
+  void testGetUsdPricesEmpty () {
+    assertEquals(0, KarmaOracleClient.getUsdPrices(oracle.score, new Address[] {}).length);
+  }
+}
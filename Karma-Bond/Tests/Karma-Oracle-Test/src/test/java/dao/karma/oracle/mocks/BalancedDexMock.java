@@ -0,0 +1,48 @@
+package dao.karma.oracle.mocks;
+
+import java.math.BigInteger;
+
+import score.Address;
+import score.Context;
+import score.DictDB;
+import score.VarDB;
+import score.annotation.External;
+
+public class BalancedDexMock {
+  private final VarDB<BigInteger> balnPrice = Context.newVarDB("balnPrice", BigInteger.class);
+  private final DictDB<String, BigInteger> poolIds = Context.newDictDB("poolIds", BigInteger.class);
+  private final DictDB<BigInteger, PoolStats> poolStats = Context.newDictDB("poolStats", PoolStats.class);
+
+  public BalancedDexMock () {
+    
+  }
+
+  @External
+  public void setBalnPrice (BigInteger price) {
+    this.balnPrice.set(price);
+  }
+
+  @External(readonly = true)
+  public BigInteger getBalnPrice () {
+    return this.balnPrice.get();
+  }
+
+  @External
+  public void setPool (Address base, Address quote, BigInteger poolId, BigInteger price, BigInteger baseSupply) {
+    this.poolIds.set(base.toString() + "/" + quote.toString(), poolId);
+    this.poolStats.set(poolId, new PoolStats(price, baseSupply, BigInteger.valueOf(18), BigInteger.valueOf(18)));
+  }
+
+  @External(readonly = true)
+  public BigInteger getPoolId (Address token1, Address token2) {
+    // Unknown pairs have a pool ID of 0
+    return this.poolIds.getOrDefault(token1.toString() + "/" + token2.toString(), BigInteger.ZERO);
+  }
+
+  @External(readonly = true)
+  public PoolStats getPoolStats (BigInteger poolId) {
+    PoolStats stats = this.poolStats.get(poolId);
+    Context.require(stats != null, "getPoolStats: pool doesn't exist");
+    return stats;
+  }
+}
@@ -0,0 +1,42 @@
+package dao.karma.oracle.mocks;
+
+import java.math.BigInteger;
+
+import score.ObjectReader;
+import score.ObjectWriter;
+
+// Subset of the Balanced DEX `getPoolStats` result used by the oracle
+public class PoolStats {
+  public BigInteger price;
+  public BigInteger base;
+  public BigInteger base_decimals;
+  public BigInteger quote_decimals;
+
+  public PoolStats (
+    BigInteger price,
+    BigInteger base,
+    BigInteger base_decimals,
+    BigInteger quote_decimals
+  ) {
+    this.price = price;
+    this.base = base;
+    this.base_decimals = base_decimals;
+    this.quote_decimals = quote_decimals;
+  }
+
+  public static PoolStats readObject (ObjectReader r) {
+    return new PoolStats (
+      r.readBigInteger(),
+      r.readBigInteger(),
+      r.readBigInteger(),
+      r.readBigInteger()
+    );
+  }
+
+  public static void writeObject (ObjectWriter w, PoolStats obj) {
+    w.write(obj.price);
+    w.write(obj.base);
+    w.write(obj.base_decimals);
+    w.write(obj.quote_decimals);
+  }
+}
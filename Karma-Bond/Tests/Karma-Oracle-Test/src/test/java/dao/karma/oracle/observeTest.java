@@ -0,0 +1,124 @@
+package dao.karma.oracle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dao.karma.clients.KarmaOracleClient;
+import dao.karma.oracle.mocks.BalancedDexMock;
+import dao.karma.test.AssertUtils;
+import dao.karma.test.ScoreSpy;
+import score.Address;
+
+public class observeTest extends KarmaOracleTest {
+
+  final Address bandOracle = sm.createAccount().getAddress();
+  final Address BALN = sm.createAccount().getAddress();
+  final Address USDS = sm.createAccount().getAddress();
+  final Address BNUSD = sm.createAccount().getAddress();
+  final Address token = sm.createAccount().getAddress();
+  final BigInteger poolId = BigInteger.valueOf(7);
+  final BigInteger supply = EXA.multiply(BigInteger.valueOf(100));
+
+  ScoreSpy<BalancedDexMock> dex;
+
+  @BeforeEach
+  void setup() throws Exception {
+    dex = deploy(BalancedDexMock.class);
+    setPoolPrice(2);
+
+    setup_oracle(owner.getAddress(), dex.getAddress(), bandOracle, BALN, new Address[] {USDS, BNUSD});
+  }
+
+  void setPoolPrice (long price) {
+    dex.score.invoke(owner, "setPool", token, BNUSD, poolId, EXA.multiply(BigInteger.valueOf(price)), supply);
+  }
+
+  void observe () {
+    KarmaOracleClient.observe(oracle.score, alice, new Address[] {token});
+  }
+
+  @Test
+  void testConsult () {
+    KarmaOracleClient.setObservationCardinality(oracle.score, owner, token, 10);
+
+    // $2 during 10 blocks, then $5 during 30 blocks
+    observe();
+    sm.getBlock().increase(10);
+    setPoolPrice(5);
+    observe();
+    sm.getBlock().increase(30);
+
+    assertEquals(BigInteger.TWO, KarmaOracleClient.observationCount(oracle.score, token));
+    assertEquals(EXA.multiply(BigInteger.valueOf(5)), KarmaOracleClient.consult(oracle.score, token, 20));
+    // (10 * 2 + 30 * 5) / 40
+    assertEquals(EXA.multiply(BigInteger.valueOf(170)).divide(BigInteger.valueOf(40)), KarmaOracleClient.consult(oracle.score, token, 40));
+    // (5 * 2 + 30 * 5) / 35
+    assertEquals(EXA.multiply(BigInteger.valueOf(160)).divide(BigInteger.valueOf(35)), KarmaOracleClient.consult(oracle.score, token, 35));
+  }
+
+  @Test
+  void testRingBufferWraps () {
+    KarmaOracleClient.setObservationCardinality(oracle.score, owner, token, 3);
+
+    for (long price = 1; price <= 12; price++) {
+      setPoolPrice(price);
+      observe();
+      sm.getBlock().increase(10);
+    }
+
+    // Only the 3 latest observations are kept
+    assertEquals(BigInteger.valueOf(3), KarmaOracleClient.observationCount(oracle.score, token));
+    // (10 * 11 + 10 * 12) / 20
+    assertEquals(EXA.multiply(BigInteger.valueOf(23)).divide(BigInteger.TWO), KarmaOracleClient.consult(oracle.score, token, 20));
+    // (10 * 10 + 10 * 11 + 10 * 12) / 30
+    assertEquals(EXA.multiply(BigInteger.valueOf(11)), KarmaOracleClient.consult(oracle.score, token, 30));
+
+    AssertUtils.assertThrowsMessage(
+      () -> KarmaOracleClient.consult(oracle.score, token, 31),
+      "consult: window older than the oldest observation");
+  }
+
+  @Test
+  void testConsultAcrossChunks () {
+    KarmaOracleClient.setObservationCardinality(oracle.score, owner, token, 20);
+
+    for (long price = 1; price <= 30; price++) {
+      setPoolPrice(price);
+      observe();
+      sm.getBlock().increase(10);
+    }
+
+    // prices 21 to 30, 10 blocks each
+    assertEquals(EXA.multiply(BigInteger.valueOf(51)).divide(BigInteger.TWO), KarmaOracleClient.consult(oracle.score, token, 100));
+    // prices 11 to 30
+    assertEquals(EXA.multiply(BigInteger.valueOf(41)).divide(BigInteger.TWO), KarmaOracleClient.consult(oracle.score, token, 200));
+  }
+
+  @Test
+  void testObserveSameBlock () {
+    KarmaOracleClient.setObservationCardinality(oracle.score, owner, token, 10);
+
+    observe();
+    observe();
+
+    assertEquals(BigInteger.ONE, KarmaOracleClient.observationCount(oracle.score, token));
+  }
+
+  @Test
+  void testObserveNotTracked () {
+    AssertUtils.assertThrowsMessage(
+      () -> observe(),
+      "observe: token not tracked");
+  }
+
+  @Test
+  void testSetObservationCardinalityNotPolicy () {
+    AssertUtils.assertThrowsMessage(
+      () -> KarmaOracleClient.setObservationCardinality(oracle.score, alice, token, 10),
+      "onlyPolicy: caller is not the owner");
+  }
+}
@@ -0,0 +1,78 @@
+package dao.karma.oracle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dao.karma.clients.KarmaOracleClient;
+import dao.karma.oracle.mocks.BalancedDexMock;
+import dao.karma.structs.oracle.CachedPrice;
+import dao.karma.test.AssertUtils;
+import dao.karma.test.ScoreSpy;
+import score.Address;
+
+public class refreshPriceTest extends KarmaOracleTest {
+
+  final Address bandOracle = sm.createAccount().getAddress();
+  final Address BALN = sm.createAccount().getAddress();
+
+  ScoreSpy<BalancedDexMock> dex;
+
+  @BeforeEach
+  void setup() throws Exception {
+    dex = deploy(BalancedDexMock.class);
+    dex.score.invoke(owner, "setBalnPrice", EXA);
+
+    setup_oracle(owner.getAddress(), dex.getAddress(), bandOracle, BALN, new Address[] {});
+  }
+
+  @Test
+  void testCachedPriceWithinMaxAge () {
+    KarmaOracleClient.setPriceMaxAge(oracle.score, owner, BALN, 10);
+    KarmaOracleClient.refreshPrice(oracle.score, alice, new Address[] {BALN});
+
+    CachedPrice cached = KarmaOracleClient.cachedPrice(oracle.score, BALN);
+    assertEquals(EXA, cached.price);
+    assertEquals(sm.getBlock().getHeight(), cached.blockHeight);
+
+    // The DEX price moves, the cached price is still served
+    dex.score.invoke(owner, "setBalnPrice", EXA.multiply(BigInteger.TWO));
+    assertEquals(EXA, KarmaOracleClient.getUsdPrice(oracle.score, BALN));
+
+    // Once stale, the price is computed again
+    sm.getBlock().increase(11);
+    assertEquals(EXA.multiply(BigInteger.TWO), KarmaOracleClient.getUsdPrice(oracle.score, BALN));
+  }
+
+  @Test
+  void testCacheDisabledByDefault () {
+    KarmaOracleClient.refreshPrice(oracle.score, alice, new Address[] {BALN});
+
+    dex.score.invoke(owner, "setBalnPrice", EXA.multiply(BigInteger.TWO));
+    assertEquals(BigInteger.ZERO, KarmaOracleClient.priceMaxAge(oracle.score, BALN));
+    assertEquals(EXA.multiply(BigInteger.TWO), KarmaOracleClient.getUsdPrice(oracle.score, BALN));
+  }
+
+  @Test
+  void testCachedPriceReplaced () {
+    KarmaOracleClient.refreshPrice(oracle.score, alice, new Address[] {BALN});
+    long oldBlockHeight = KarmaOracleClient.cachedPrice(oracle.score, BALN).blockHeight;
+
+    dex.score.invoke(owner, "setBalnPrice", EXA.multiply(BigInteger.TWO));
+    KarmaOracleClient.refreshPrice(oracle.score, alice, new Address[] {BALN});
+
+    verify(oracle.spy).CachedPriceReplaced(BALN, EXA, oldBlockHeight, EXA.multiply(BigInteger.TWO));
+    assertEquals(EXA.multiply(BigInteger.TWO), KarmaOracleClient.cachedPrice(oracle.score, BALN).price);
+  }
+
+  @Test
+  void testSetPriceMaxAgeNotPolicy () {
+    AssertUtils.assertThrowsMessage(
+      () -> KarmaOracleClient.setPriceMaxAge(oracle.score, alice, BALN, 10),
+      "onlyPolicy: caller is not the owner");
+  }
+}
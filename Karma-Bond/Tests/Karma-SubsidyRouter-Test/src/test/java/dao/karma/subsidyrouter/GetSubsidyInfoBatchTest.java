@@ -0,0 +1,117 @@
+package dao.karma.subsidyrouter;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dao.karma.clients.KarmaSubsidyRouterClient;
+import dao.karma.subsidyrouter.client.SubsidyControllerMockClient;
+import dao.karma.subsidyrouter.mocks.BondMock;
+import dao.karma.subsidyrouter.mocks.SubsidyControllerMock;
+import dao.karma.test.AssertUtils;
+import dao.karma.test.ScoreSpy;
+import score.Address;
+
+public class GetSubsidyInfoBatchTest extends KarmaSubsidyRouterTest {
+
+  ScoreSpy<BondMock> bond;
+  ScoreSpy<BondMock> otherBond;
+  ScoreSpy<SubsidyControllerMock> subsidyController;
+
+  @BeforeEach
+  void setup() throws Exception {
+    setup_subsidy_router();
+
+    bond = deploy(BondMock.class);
+    otherBond = deploy(BondMock.class);
+    subsidyController = deploy(SubsidyControllerMock.class, subsidyRouter.getAddress());
+  }
+
+  @Test
+  void testGetSubsidyInfoBatch () {
+    KarmaSubsidyRouterClient.addSubsidyController(subsidyRouter.score, owner, subsidyController.getAddress(), bond.getAddress());
+    KarmaSubsidyRouterClient.addSubsidyController(subsidyRouter.score, owner, subsidyController.getAddress(), otherBond.getAddress());
+
+    SubsidyControllerMockClient.getSubsidyInfoBatch(subsidyController.score, owner);
+
+    // Each bond pays its subsidy once
+    verify(bond.spy).paySubsidy();
+    verify(otherBond.spy).paySubsidy();
+    verify(subsidyRouter.spy).SubsidyCollected(subsidyController.getAddress(), BigInteger.TWO, BigInteger.TWO);
+  }
+
+  @Test
+  void testGetSubsidyInfoSumsBonds () {
+    KarmaSubsidyRouterClient.addSubsidyController(subsidyRouter.score, owner, subsidyController.getAddress(), bond.getAddress());
+    KarmaSubsidyRouterClient.addSubsidyController(subsidyRouter.score, owner, subsidyController.getAddress(), otherBond.getAddress());
+
+    SubsidyControllerMockClient.getSubsidyInfo(subsidyController.score, owner);
+
+    verify(subsidyRouter.spy).SubsidyCollected(subsidyController.getAddress(), BigInteger.TWO, BigInteger.TWO);
+  }
+
+  @Test
+  void testBondsForController () {
+    KarmaSubsidyRouterClient.addSubsidyController(subsidyRouter.score, owner, subsidyController.getAddress(), bond.getAddress());
+    KarmaSubsidyRouterClient.addSubsidyController(subsidyRouter.score, owner, subsidyController.getAddress(), otherBond.getAddress());
+    // Adding the same bond twice is a no-op
+    KarmaSubsidyRouterClient.addSubsidyController(subsidyRouter.score, owner, subsidyController.getAddress(), bond.getAddress());
+
+    assertEquals(2, KarmaSubsidyRouterClient.bondsForControllerCount(subsidyRouter.score, subsidyController.getAddress()));
+    assertArrayEquals(
+      new Address[] {bond.getAddress(), otherBond.getAddress()},
+      KarmaSubsidyRouterClient.bondsForController(subsidyRouter.score, subsidyController.getAddress(), 0, 10)
+    );
+    assertArrayEquals(
+      new Address[] {otherBond.getAddress()},
+      KarmaSubsidyRouterClient.bondsForController(subsidyRouter.score, subsidyController.getAddress(), 1, 10)
+    );
+
+    assertEquals(1, KarmaSubsidyRouterClient.controllersCount(subsidyRouter.score));
+    assertArrayEquals(
+      new Address[] {subsidyController.getAddress()},
+      KarmaSubsidyRouterClient.controllers(subsidyRouter.score, 0, 10)
+    );
+
+    // Remove a single bond
+    KarmaSubsidyRouterClient.removeSubsidyControllerBond(subsidyRouter.score, owner, subsidyController.getAddress(), bond.getAddress());
+    assertArrayEquals(
+      new Address[] {otherBond.getAddress()},
+      KarmaSubsidyRouterClient.bondsForController(subsidyRouter.score, subsidyController.getAddress(), 0, 10)
+    );
+
+    // The controller is unregistered with its last bond
+    KarmaSubsidyRouterClient.removeSubsidyControllerBond(subsidyRouter.score, owner, subsidyController.getAddress(), otherBond.getAddress());
+    assertEquals(0, KarmaSubsidyRouterClient.controllersCount(subsidyRouter.score));
+  }
+
+  @Test
+  void testTooManyBonds () {
+    for (int i = 0; i < KarmaSubsidyRouter.CONTROLLER_MAX_BONDS; i++) {
+      KarmaSubsidyRouterClient.addSubsidyController(subsidyRouter.score, owner, subsidyController.getAddress(), sm.createAccount().getAddress());
+    }
+
+    AssertUtils.assertThrowsMessage(
+      () -> KarmaSubsidyRouterClient.addSubsidyController(subsidyRouter.score, owner, subsidyController.getAddress(), bond.getAddress()),
+      "addSubsidyController: too many bonds");
+  }
+
+  @Test
+  void testInvalidPage () {
+    AssertUtils.assertThrowsMessage(
+      () -> KarmaSubsidyRouterClient.controllers(subsidyRouter.score, 0, KarmaSubsidyRouter.PAGE_MAX_SIZE + 1),
+      "subsidyRouter: invalid page");
+  }
+
+  @Test
+  void testNotMapped () {
+    AssertUtils.assertThrowsMessage(
+      () -> SubsidyControllerMockClient.getSubsidyInfoBatch(subsidyController.score, owner), 
+      "getSubsidyInfoBatch: Address not mapped");
+  }
+}
@@ -8,4 +8,8 @@ public class SubsidyControllerMockClient {
   public static void getSubsidyInfo(Score client, Account from) {
     client.invoke(from, "getSubsidyInfo");
   }
+
+  public static void getSubsidyInfoBatch(Score client, Account from) {
+    client.invoke(from, "getSubsidyInfoBatch");
+  }
 }
@@ -13,4 +13,8 @@ public class SubsidyControllerMock {
   public void getSubsidyInfo () {
     Context.call(this.subsidyRouter, "getSubsidyInfo");
   }
+
+  public void getSubsidyInfoBatch () {
+    Context.call(this.subsidyRouter, "getSubsidyInfoBatch");
+  }
 }
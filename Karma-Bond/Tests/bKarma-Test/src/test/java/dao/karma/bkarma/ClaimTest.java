@@ -0,0 +1,194 @@
+package dao.karma.bkarma;
+
+import static java.math.BigInteger.ZERO;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.iconloop.score.test.Account;
+
+import dao.karma.clients.IRC2Client;
+import dao.karma.test.AssertUtils;
+
+public class ClaimTest extends BKarmaTest {
+
+  Account[] accounts = {
+    sm.createAccount(),
+    sm.createAccount(),
+    sm.createAccount(),
+    sm.createAccount(),
+    sm.createAccount()
+  };
+
+  BigInteger[] amounts = {
+    BigInteger.valueOf(100),
+    BigInteger.valueOf(200),
+    BigInteger.valueOf(300),
+    BigInteger.valueOf(400),
+    BigInteger.valueOf(500)
+  };
+
+  BigInteger totalAllocation = BigInteger.valueOf(1500);
+
+  // Tree layers, from the leaves to the root
+  List<byte[][]> layers = new ArrayList<>();
+
+  @BeforeEach
+  void setup() throws Exception {
+    setup_bkarma("bKarma", "bKarma", 18);
+
+    byte[][] layer = new byte[accounts.length][];
+    for (int i = 0; i < accounts.length; i++) {
+      layer[i] = MerkleProof.leaf(i, accounts[i].getAddress(), amounts[i]);
+    }
+    layers.add(layer);
+
+    while (layer.length > 1) {
+      byte[][] parent = new byte[(layer.length + 1) / 2][];
+      for (int i = 0; i < parent.length; i++) {
+        // An odd node is promoted as is
+        parent[i] = 2 * i + 1 < layer.length
+          ? MerkleProof.node(layer[2 * i], layer[2 * i + 1])
+          : layer[2 * i];
+      }
+      layers.add(parent);
+      layer = parent;
+    }
+  }
+
+  byte[] root () {
+    return layers.get(layers.size() - 1)[0];
+  }
+
+  byte[][] proof (int index) {
+    List<byte[]> proof = new ArrayList<>();
+    for (int i = 0; i < layers.size() - 1; i++) {
+      byte[][] layer = layers.get(i);
+      int sibling = index ^ 1;
+      if (sibling < layer.length) {
+        proof.add(layer[sibling]);
+      }
+      index /= 2;
+    }
+    return proof.toArray(new byte[0][]);
+  }
+
+  void claim (Account from, int index, BigInteger amount, byte[][] proof) {
+    bKarma.invoke(from, "claim", 0, index, amount, proof);
+  }
+
+  @Test
+  void testClaim () {
+    bKarma.invoke(owner, "createDistribution", root(), totalAllocation);
+    verify(bKarma.spy).DistributionCreated(0, root(), totalAllocation);
+
+    // Nothing minted up front
+    assertEquals(ZERO, IRC2Client.totalSupply(bKarma.score));
+
+    for (int i = 0; i < accounts.length; i++) {
+      assertFalse((Boolean) bKarma.call("isClaimed", 0, i));
+      claim(accounts[i], i, amounts[i], proof(i));
+      assertTrue((Boolean) bKarma.call("isClaimed", 0, i));
+      assertEquals(amounts[i], IRC2Client.balanceOf(bKarma.score, accounts[i]));
+    }
+
+    verify(bKarma.spy).Claimed(0, accounts[4].getAddress(), 4, amounts[4]);
+    assertEquals(totalAllocation, IRC2Client.totalSupply(bKarma.score));
+    assertEquals(totalAllocation, bKarma.call("distributionClaimed", 0));
+  }
+
+  @Test
+  void testAlreadyClaimed () {
+    bKarma.invoke(owner, "createDistribution", root(), totalAllocation);
+    claim(accounts[1], 1, amounts[1], proof(1));
+
+    AssertUtils.assertThrowsMessage(
+      () -> claim(accounts[1], 1, amounts[1], proof(1)),
+      "claim: already claimed");
+  }
+
+  @Test
+  void testInvalidProof () {
+    bKarma.invoke(owner, "createDistribution", root(), totalAllocation);
+
+    // Wrong amount
+    AssertUtils.assertThrowsMessage(
+      () -> claim(accounts[2], 2, amounts[3], proof(2)),
+      "claim: invalid proof");
+
+    // Someone else's claim
+    AssertUtils.assertThrowsMessage(
+      () -> claim(accounts[3], 2, amounts[2], proof(2)),
+      "claim: invalid proof");
+  }
+
+  @Test
+  void testAllocationExceeded () {
+    // The root allows more than the published allocation
+    bKarma.invoke(owner, "createDistribution", root(), amounts[4]);
+    claim(accounts[4], 4, amounts[4], proof(4));
+
+    AssertUtils.assertThrowsMessage(
+      () -> claim(accounts[0], 0, amounts[0], proof(0)),
+      "claim: allocation exceeded");
+  }
+
+  @Test
+  void testClaimSecondWord () {
+    // A claim past the first 256 indices is flagged in the next bitmap word
+    int index = BKarma.CLAIMED_WORD_SIZE + 44;
+    byte[] leaf = MerkleProof.leaf(index, accounts[0].getAddress(), amounts[0]);
+    byte[] sibling = MerkleProof.leaf(44, accounts[1].getAddress(), amounts[1]);
+    bKarma.invoke(owner, "createDistribution", MerkleProof.node(leaf, sibling), amounts[0].add(amounts[1]));
+
+    claim(accounts[0], index, amounts[0], new byte[][] {sibling});
+    assertTrue((Boolean) bKarma.call("isClaimed", 0, index));
+    assertFalse((Boolean) bKarma.call("isClaimed", 0, 44));
+
+    claim(accounts[1], 44, amounts[1], new byte[][] {leaf});
+    assertTrue((Boolean) bKarma.call("isClaimed", 0, 44));
+    assertEquals(amounts[0], IRC2Client.balanceOf(bKarma.score, accounts[0]));
+
+    AssertUtils.assertThrowsMessage(
+      () -> claim(accounts[0], index, amounts[0], new byte[][] {sibling}),
+      "claim: already claimed");
+  }
+
+  @Test
+  void testAmountTooLarge () {
+    bKarma.invoke(owner, "createDistribution", root(), totalAllocation);
+
+    // The leaf holds 32 bytes of amount, a wider amount isn't truncated into another claim
+    AssertUtils.assertThrowsMessage(
+      () -> claim(accounts[0], 0, amounts[0].add(BigInteger.ONE.shiftLeft(257)), proof(0)),
+      "MerkleProof: invalid amount");
+  }
+
+  @Test
+  void testOnlyOwner () {
+    AssertUtils.assertThrowsMessage(
+      () -> bKarma.invoke(accounts[0], "createDistribution", root(), totalAllocation),
+      "createDistribution: only the owner can call this method");
+
+    // The minter role only allows to mint directly
+    bKarma.invoke(owner, "setMinter", accounts[0].getAddress());
+    AssertUtils.assertThrowsMessage(
+      () -> bKarma.invoke(accounts[0], "createDistribution", root(), totalAllocation),
+      "createDistribution: only the owner can call this method");
+  }
+
+  @Test
+  void testUnknownDistribution () {
+    AssertUtils.assertThrowsMessage(
+      () -> claim(accounts[0], 0, amounts[0], proof(0)),
+      "claim: distribution doesn't exist");
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2021 Karma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iconloop.score.test;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Public methods of a SCORE class, resolved once by name and number of parameters.
+ *
+ * A method is only dispatched from the table when it's the single candidate for its
+ * name and number of parameters, and the parameters are instances of its parameter
+ * types. Otherwise `find` returns null and the caller resolves the overload from the
+ * classes of the parameters.
+ */
+class DispatchTable {
+    private static final Map<Class<?>, DispatchTable> tables = new HashMap<>();
+    private static final MethodType GENERIC_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+    // Several methods with the same name and number of parameters
+    private static final Target AMBIGUOUS = new Target(null, null, null, null);
+
+    // Method name => number of parameters => method
+    private final Map<String, Target[]> targets = new HashMap<>();
+
+    static DispatchTable of(Class<?> clazz) {
+        return tables.computeIfAbsent(clazz, DispatchTable::new);
+    }
+
+    private DispatchTable(Class<?> clazz) {
+        for (Method method : clazz.getMethods()) {
+            if (Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+
+            int arity = method.getParameterCount();
+            Target[] byArity = targets.get(method.getName());
+            if (byArity == null || byArity.length <= arity) {
+                Target[] grown = new Target[arity + 1];
+                if (byArity != null) {
+                    System.arraycopy(byArity, 0, grown, 0, byArity.length);
+                }
+                byArity = grown;
+                targets.put(method.getName(), byArity);
+            }
+
+            byArity[arity] = byArity[arity] == null ? Target.of(method) : AMBIGUOUS;
+        }
+    }
+
+    Target find(String name, Object[] params) {
+        Target[] byArity = targets.get(name);
+        if (byArity == null || byArity.length <= params.length) {
+            return null;
+        }
+
+        Target target = byArity[params.length];
+        return target != null && target != AMBIGUOUS && target.accepts(params) ? target : null;
+    }
+
+    static class Target {
+        final Method method;
+        // (Object instance, Object[] params) -> Object, the primitive parameters are unboxed
+        final MethodHandle handle;
+        // Parameter types, primitives boxed
+        final Class<?>[] types;
+        // Parameters that can't be null
+        final boolean[] primitives;
+
+        private Target(Method method, MethodHandle handle, Class<?>[] types, boolean[] primitives) {
+            this.method = method;
+            this.handle = handle;
+            this.types = types;
+            this.primitives = primitives;
+        }
+
+        static Target of(Method method) {
+            Class<?>[] types = method.getParameterTypes();
+            boolean[] primitives = new boolean[types.length];
+            for (int i = 0; i < types.length; i++) {
+                primitives[i] = types[i].isPrimitive();
+                types[i] = MethodType.methodType(types[i]).wrap().returnType();
+            }
+
+            MethodHandle handle;
+            try {
+                handle = MethodHandles.publicLookup().unreflect(method)
+                    .asSpreader(Object[].class, types.length)
+                    .asType(GENERIC_TYPE);
+            } catch (IllegalAccessException e) {
+                // Not accessible through a handle, invoked reflectively
+                handle = null;
+            }
+            return new Target(method, handle, types, primitives);
+        }
+
+        boolean accepts(Object[] params) {
+            for (int i = 0; i < params.length; i++) {
+                if (params[i] == null ? primitives[i] : !types[i].isInstance(params[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        Object invoke(Object instance, Object[] params) throws IllegalAccessException, InvocationTargetException {
+            if (handle == null) {
+                return method.invoke(instance, params);
+            }
+
+            try {
+                return (Object) handle.invokeExact(instance, params);
+            } catch (Throwable e) {
+                // Same contract as Method.invoke
+                throw new InvocationTargetException(e);
+            }
+        }
+    }
+}
@@ -127,18 +127,15 @@ public class Score extends TestBase {
         return returnMap;
     }
 
-    Object call(Account from, boolean readonly, BigInteger value, String method, Object... params) {
-
-        try {
-            if (!readonly && sm.getCurrentFrame().isReadonly()) {
-                // Cannot push a write frame on top of a read frame
-                readonly = true;
-            }
-        } catch (EmptyStackException e) {
-            // No frame pushed yet, pass
+    private Object invokeMethod(String method, Object[] params)
+        throws NoSuchMethodException, IllegalAccessException, InvocationTargetException {
+        Class<?> clazz = instance.getClass();
+        var target = DispatchTable.of(clazz).find(method, params);
+        if (target != null) {
+            return target.invoke(instance, params);
         }
 
-        sm.pushFrame(from, this.score, readonly, method, value);
+        // Overloaded method or unexpected parameters, resolve it from the parameters classes
         Class<?>[] paramClasses = new Class<?>[params.length];
         for (int i = 0; i < params.length; i++) {
             Class<?> type = params[i].getClass();
@@ -159,10 +156,25 @@ public class Score extends TestBase {
                 paramClasses[i] = type;
             }
         }
+        var m = clazz.getMethod(method, paramClasses);
+        return m.invoke(instance, params);
+    }
+
+    Object call(Account from, boolean readonly, BigInteger value, String method, Object... params) {
+
+        try {
+            if (!readonly && sm.getCurrentFrame().isReadonly()) {
+                // Cannot push a write frame on top of a read frame
+                readonly = true;
+            }
+        } catch (EmptyStackException e) {
+            // No frame pushed yet, pass
+        }
+
+        sm.pushFrame(from, this.score, readonly, method, value);
+        sm.meterInput(params);
         try {
-            Class<?> clazz = instance.getClass();
-            var m = clazz.getMethod(method, paramClasses);
-            var result = m.invoke(instance, params);
+            var result = invokeMethod(method, params);
             return getReturnValue(result);
         } catch (NoSuchMethodException | IllegalAccessException e) {
             Context.println("========================================");
@@ -27,13 +27,17 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Stack;
+import java.util.function.Consumer;
 
 public class ServiceManager {
     private static final BigInteger ICX = BigInteger.TEN.pow(18);
 
     private final Stack<Frame> contexts = new Stack<>();
     private final Map<Class<?>, Score> classScoreMap = new HashMap<>();
+    // Classes resolved by getScoreFromClass: SCORE classes, their spies and their superclasses
+    private final Map<Class<?>, Score> classScoreIndex = new HashMap<>();
     private final Map<Address, Score> addressScoreMap = new HashMap<>();
+    private final Map<Address, Class<?>> addressClassMap = new HashMap<>();
     private final Map<String, Object> storageMap = new HashMap<>();
     private final Map<Long, Map<String, Object>> frameMemoryStorage = new HashMap<>();
     private final Map<Long, List<Long>> frameTree = new HashMap<>();
@@ -41,13 +45,31 @@ public class ServiceManager {
     private int nextCount = 1;
     private long frameId = -1;
     private long frameParentId = -1;
+    // Number of SCORE-to-SCORE calls made since the last reset
+    private long interCallCount = 0;
+    // SCORE-to-SCORE calls per target method, reset along with the total
+    private final Map<String, Long> interCallCounts = new HashMap<>();
+    // Number of storage reads and writes made by SCOREs since the last reset
+    private long storageReadCount = 0;
+    private long storageWriteCount = 0;
+    // Storage accesses per key, e.g. "VarDB" + id, reset along with the totals
+    private final Map<String, Long> storageReadCounts = new HashMap<>();
+    private final Map<String, Long> storageWriteCounts = new HashMap<>();
+    // Steps charged to the current transaction, null outside of a transaction
+    private StepSchedule stepSchedule = StepSchedule.defaults();
+    private StepReport stepReport = null;
+    private StepReport lastStepReport = null;
+    private final List<Consumer<StepReport>> stepReportListeners = new ArrayList<>();
 
     public Score deploy(Account owner, Class<?> mainClass, Object... params) throws Exception {
         getBlock().increase();
         var score = new Score(Account.newScoreAccount(nextCount++), owner);
         classScoreMap.put(mainClass, score);
+        classScoreIndex.clear();
         addressScoreMap.put(score.getAddress(), score);
+        addressClassMap.put(score.getAddress(), mainClass);
         pushFrame(owner, score.getAccount(), false, "<init>", BigInteger.ZERO);
+        meterDeploy(0);
         try {
             Constructor<?>[] ctor = mainClass.getConstructors();
             if (ctor.length != 1) {
@@ -92,20 +114,34 @@ public class ServiceManager {
     }
 
     public Score getScoreFromClass(Class<?> caller) {
-        var score = classScoreMap.get(caller);
+        var score = classScoreIndex.get(caller);
         if (score == null) {
-            for (Class<?> clazz: classScoreMap.keySet()) {
-                var superclass = clazz.getSuperclass();
-                while (!"java.lang.Object".equals(superclass.getName())) {
-                    if (superclass.equals(caller)) {
-                        return classScoreMap.get(clazz);
-                    }
-                    superclass = superclass.getSuperclass();
+            score = findScoreFromClass(caller);
+            classScoreIndex.put(caller, score);
+        }
+        return score;
+    }
+
+    private Score findScoreFromClass(Class<?> caller) {
+        // A SCORE class, or a subclass of it such as a Mockito spy
+        for (Class<?> clazz = caller; clazz != null; clazz = clazz.getSuperclass()) {
+            var score = classScoreMap.get(clazz);
+            if (score != null) {
+                return score;
+            }
+        }
+
+        // A superclass of a SCORE class, declaring an inherited method
+        for (Class<?> clazz: classScoreMap.keySet()) {
+            var superclass = clazz.getSuperclass();
+            while (!"java.lang.Object".equals(superclass.getName())) {
+                if (superclass.equals(caller)) {
+                    return classScoreMap.get(clazz);
                 }
+                superclass = superclass.getSuperclass();
             }
-            throw new IllegalStateException(caller.getName() + " not found");
         }
-        return score;
+        throw new IllegalStateException(caller.getName() + " not found");
     }
 
     private Score getScoreFromAddress(Address target) {
@@ -121,8 +157,22 @@ public class ServiceManager {
         return score.call(from, false, value, method, params);
     }
 
+    public Object call(BigInteger value, Address targetAddress, String method, Object... params) {
+        // The caller is the SCORE executing the current frame
+        Score from = getScoreFromAddress(getCurrentFrame().to.getAddress());
+        return call(from, value, targetAddress, method, params);
+    }
+
     public Object call(Class<?> caller, BigInteger value, Address targetAddress, String method, Object... params) {
-        Score from = getScoreFromClass(caller);
+        return call(getScoreFromClass(caller), value, targetAddress, method, params);
+    }
+
+    private Object call(Score from, BigInteger value, Address targetAddress, String method, Object... params) {
+        interCallCount++;
+        interCallCounts.merge(method, 1L, Long::sum);
+        if (stepReport != null) {
+            stepReport.interCall();
+        }
         if ("fallback".equals(method) || "".equals(method)) {
             getBlock().increase();
             transferIcx(from.getAccount(), targetAddress, value);
@@ -136,6 +186,95 @@ public class ServiceManager {
         }
     }
 
+    public long getInterCallCount() {
+        return interCallCount;
+    }
+
+    public void resetInterCallCount() {
+        interCallCount = 0;
+        interCallCounts.clear();
+    }
+
+    public long getInterCallCount(String method) {
+        return interCallCounts.getOrDefault(method, 0L);
+    }
+
+    public long getStorageReadCount() {
+        return storageReadCount;
+    }
+
+    public void resetStorageReadCount() {
+        storageReadCount = 0;
+        storageReadCounts.clear();
+    }
+
+    public long getStorageReadCount(String key) {
+        return storageReadCounts.getOrDefault(key, 0L);
+    }
+
+    public long getStorageWriteCount() {
+        return storageWriteCount;
+    }
+
+    public void resetStorageWriteCount() {
+        storageWriteCount = 0;
+        storageWriteCounts.clear();
+    }
+
+    public long getStorageWriteCount(String key) {
+        return storageWriteCounts.getOrDefault(key, 0L);
+    }
+
+    public StepSchedule getStepSchedule() {
+        return stepSchedule;
+    }
+
+    public void setStepSchedule(StepSchedule schedule) {
+        stepSchedule = schedule;
+    }
+
+    /**
+     * Steps charged to the last transaction sent, readonly calls aren't metered
+     */
+    public StepReport getLastStepReport() {
+        return lastStepReport;
+    }
+
+    /**
+     * Get notified of the steps charged to each transaction once it ends
+     */
+    public void addStepReportListener(Consumer<StepReport> listener) {
+        stepReportListeners.add(listener);
+    }
+
+    public void removeStepReportListener(Consumer<StepReport> listener) {
+        stepReportListeners.remove(listener);
+    }
+
+    private String getScoreClassName(Address address) {
+        var mainClass = addressClassMap.get(address);
+        return mainClass != null ? mainClass.getSimpleName() : address.toString();
+    }
+
+    // Input data of the transaction, nested calls aren't charged for their parameters
+    public void meterInput(Object... params) {
+        if (stepReport != null && contexts.size() == 1) {
+            stepReport.input(params);
+        }
+    }
+
+    public void meterDeploy(long codeSize) {
+        if (stepReport != null) {
+            stepReport.deploy(codeSize);
+        }
+    }
+
+    public void meterEventLog(Object[] indexed, Object[] data) {
+        if (stepReport != null) {
+            stepReport.eventLog(indexed, data);
+        }
+    }
+
     public void transferIcx (Account from, Address targetAddress, BigInteger value) {
         var fromBalance = from.getBalance();
         if (fromBalance.compareTo(value) < 0) {
@@ -154,7 +293,12 @@ public class ServiceManager {
     }
 
     public void putStorage(String key, Object value, Class<?> clazz) {
+        storageWriteCount++;
+        storageWriteCounts.merge(key, 1L, Long::sum);
         var varKey = getAddress().toString() + key;
+        if (stepReport != null) {
+            stepReport.storageWrite(storageMap.get(varKey), value);
+        }
 
         // Keep the old value in case of a revert
         var curFrameMemory = frameMemoryStorage.get(getCurrentFrame().getId());
@@ -163,7 +307,7 @@ public class ServiceManager {
         }
         if (curFrameMemory.get(varKey) == null) {
             // Only write the old value in the storage memory if it's the first time we write in the current frame
-            curFrameMemory.put(varKey, getStorage(key));
+            curFrameMemory.put(varKey, storageMap.get(varKey));
             frameMemoryStorage.put(getCurrentFrame().getId(), curFrameMemory);
         }
 
@@ -198,7 +342,13 @@ public class ServiceManager {
     }
 
     public Object getStorage(String key) {
-        return storageMap.get(getAddress().toString() + key);
+        storageReadCount++;
+        storageReadCounts.merge(key, 1L, Long::sum);
+        var value = storageMap.get(getAddress().toString() + key);
+        if (stepReport != null) {
+            stepReport.storageRead(value);
+        }
+        return value;
     }
 
     public Class<?> getStorageClass(String key) {
@@ -292,6 +442,10 @@ public class ServiceManager {
 
     public void pushFrame(Account from, Account to, boolean readonly, String method, BigInteger value) {
         frameId++; // Generate new frame ID for current frame
+        if (contexts.isEmpty()) {
+            // Readonly calls are free
+            stepReport = readonly ? null : new StepReport(stepSchedule, getScoreClassName(to.getAddress()), method);
+        }
 
         contexts.push(new Frame(from, to, readonly, method, value, frameId, frameParentId));
         var childsId = frameTree.get(frameParentId);
@@ -307,6 +461,17 @@ public class ServiceManager {
     public void popFrame() {
         frameParentId = getCurrentFrame().getParentId();
         contexts.pop();
+        if (contexts.isEmpty() && stepReport != null) {
+            lastStepReport = stepReport;
+            stepReport = null;
+            for (var listener : List.copyOf(stepReportListeners)) {
+                listener.accept(lastStepReport);
+            }
+        }
+    }
+
+    public boolean hasCurrentFrame() {
+        return !contexts.isEmpty();
     }
 
     public Frame getCurrentFrame() {
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2021 Karma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iconloop.score.test;
+
+import score.Address;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Modifier;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Steps charged to a single transaction, nested SCORE calls included.
+ * 
+ * The byte sizes follow the storage encoding: structs are measured once
+ * serialized with their `writeObject`, native values by their raw bytes.
+ * The input size is estimated the same way from the call parameters, it
+ * doesn't include the JSON-RPC envelope of a real transaction.
+ */
+public class StepReport {
+    private final StepSchedule schedule;
+    // Class name of the SCORE called by the transaction, and the method called
+    private final String contract;
+    private final String method;
+    private final Map<StepType, Long> steps = new EnumMap<>(StepType.class);
+
+    private long inputBytes = 0;
+    private long interCalls = 0;
+    private long deploys = 0;
+    private long storageReads = 0;
+    private long storageReadBytes = 0;
+    private long storageWrites = 0;
+    private long storageWriteBytes = 0;
+    private long storageDeletes = 0;
+    private long eventLogs = 0;
+    private long eventLogBytes = 0;
+
+    public StepReport(StepSchedule schedule, String contract, String method) {
+        this.schedule = schedule;
+        this.contract = contract;
+        this.method = method;
+        charge(StepType.DEFAULT, 1);
+    }
+
+    // --- Metering ---
+    void input(Object... params) {
+        long size = 0;
+        for (Object param : params) {
+            size += sizeOf(param);
+        }
+        inputBytes += size;
+        charge(StepType.INPUT, size);
+    }
+
+    void interCall() {
+        interCalls++;
+        charge(StepType.CONTRACT_CALL, 1);
+    }
+
+    void deploy(long codeSize) {
+        deploys++;
+        charge(StepType.CONTRACT_CREATE, 1);
+        charge(StepType.CONTRACT_SET, codeSize);
+    }
+
+    void storageRead(Object value) {
+        long size = sizeOf(value);
+        storageReads++;
+        storageReadBytes += size;
+        charge(StepType.GET_BASE, 1);
+        charge(StepType.GET, size);
+    }
+
+    void storageWrite(Object oldValue, Object newValue) {
+        long oldSize = sizeOf(oldValue);
+        if (newValue == null) {
+            storageDeletes++;
+            charge(StepType.DELETE_BASE, 1);
+        } else {
+            long size = sizeOf(newValue);
+            storageWrites++;
+            storageWriteBytes += size;
+            charge(StepType.SET_BASE, 1);
+            charge(StepType.SET, size);
+        }
+        // the overwritten bytes are refunded
+        charge(StepType.DELETE, oldSize);
+    }
+
+    void eventLog(Object[] indexed, Object[] data) {
+        long size = sizeOf(indexed) + sizeOf(data);
+        eventLogs++;
+        eventLogBytes += size;
+        charge(StepType.LOG_BASE, 1);
+        charge(StepType.LOG, size);
+    }
+
+    private void charge(StepType type, long count) {
+        steps.merge(type, schedule.get(type) * count, Long::sum);
+    }
+
+    // --- Report ---
+    public String getContract() {
+        return contract;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public long getSteps() {
+        long total = 0;
+        for (long value : steps.values()) {
+            total += value;
+        }
+        return total;
+    }
+
+    public long getSteps(StepType type) {
+        return steps.getOrDefault(type, 0L);
+    }
+
+    public long getInputBytes() {
+        return inputBytes;
+    }
+
+    public long getInterCalls() {
+        return interCalls;
+    }
+
+    public long getDeploys() {
+        return deploys;
+    }
+
+    public long getStorageReads() {
+        return storageReads;
+    }
+
+    public long getStorageReadBytes() {
+        return storageReadBytes;
+    }
+
+    public long getStorageWrites() {
+        return storageWrites;
+    }
+
+    public long getStorageWriteBytes() {
+        return storageWriteBytes;
+    }
+
+    public long getStorageDeletes() {
+        return storageDeletes;
+    }
+
+    public long getEventLogs() {
+        return eventLogs;
+    }
+
+    public long getEventLogBytes() {
+        return eventLogBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "StepReport{"
+            + contract + "." + method
+            + ", steps=" + getSteps()
+            + ", inputBytes=" + inputBytes
+            + ", interCalls=" + interCalls
+            + ", deploys=" + deploys
+            + ", storageReads=" + storageReads + " (" + storageReadBytes + " bytes)"
+            + ", storageWrites=" + storageWrites + " (" + storageWriteBytes + " bytes)"
+            + ", storageDeletes=" + storageDeletes
+            + ", eventLogs=" + eventLogs + " (" + eventLogBytes + " bytes)"
+            + ", breakdown=" + steps
+            + "}";
+    }
+
+    // Size in bytes of a value once stored or logged
+    static long sizeOf(Object value) {
+        if (value == null) {
+            return 0;
+        }
+
+        var c = value.getClass();
+        if (c == byte[].class) {
+            return ((byte[]) value).length;
+        } else if (c == String.class) {
+            return ((String) value).getBytes(StandardCharsets.UTF_8).length;
+        } else if (c == BigInteger.class) {
+            return ((BigInteger) value).toByteArray().length;
+        } else if (c == Integer.class || c == Long.class || c == Short.class || c == Byte.class) {
+            return BigInteger.valueOf(((Number) value).longValue()).toByteArray().length;
+        } else if (c == Character.class) {
+            return BigInteger.valueOf((Character) value).toByteArray().length;
+        } else if (c == Boolean.class) {
+            return 1;
+        } else if (c == Address.class) {
+            return Address.LENGTH;
+        } else if (c.isArray()) {
+            long size = 0;
+            for (int i = 0; i < Array.getLength(value); i++) {
+                size += sizeOf(Array.get(value, i));
+            }
+            return size;
+        }
+
+        // Struct parameter: its public fields
+        long size = 0;
+        for (var field : c.getFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            try {
+                size += sizeOf(field.get(value));
+            } catch (IllegalAccessException e) {
+                // pass
+            }
+        }
+        return size;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2021 Karma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iconloop.score.test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Step cost of each `StepType`.
+ * 
+ * The defaults are the goloop step costs of the ICON mainnet (step schema 1),
+ * override them with `set` to match another network.
+ */
+public class StepSchedule {
+    private final Map<StepType, Long> costs = new EnumMap<>(StepType.class);
+
+    public static StepSchedule defaults() {
+        return new StepSchedule()
+            .set(StepType.DEFAULT, 100_000)
+            .set(StepType.INPUT, 200)
+            .set(StepType.CONTRACT_CALL, 25_000)
+            .set(StepType.CONTRACT_CREATE, 1_000_000_000)
+            .set(StepType.CONTRACT_SET, 15_000)
+            .set(StepType.GET_BASE, 3_000)
+            .set(StepType.GET, 25)
+            .set(StepType.SET_BASE, 10_000)
+            .set(StepType.SET, 320)
+            .set(StepType.DELETE_BASE, 200)
+            .set(StepType.DELETE, -240)
+            .set(StepType.LOG_BASE, 5_000)
+            .set(StepType.LOG, 100);
+    }
+
+    public StepSchedule set(StepType type, long cost) {
+        costs.put(type, cost);
+        return this;
+    }
+
+    public long get(StepType type) {
+        return costs.getOrDefault(type, 0L);
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2021 Karma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.iconloop.score.test;
+
+// Step cost types charged by goloop, see `StepSchedule`
+public enum StepType {
+    // Charged once per transaction
+    DEFAULT,
+    // Per byte of transaction input data
+    INPUT,
+    // Per SCORE-to-SCORE call
+    CONTRACT_CALL,
+    // Per deployment
+    CONTRACT_CREATE,
+    // Per byte of deployed code
+    CONTRACT_SET,
+    // Per storage read, and per byte read
+    GET_BASE,
+    GET,
+    // Per storage write, and per byte written
+    SET_BASE,
+    SET,
+    // Per storage deletion, and per byte deleted or overwritten (negative)
+    DELETE_BASE,
+    DELETE,
+    // Per event log, and per byte logged
+    LOG_BASE,
+    LOG;
+}
@@ -105,6 +105,11 @@ public final class Context extends TestBase {
     }
 
     public static Object call(BigInteger value, Address targetAddress, String method, Object... params) {
+        if (sm.hasCurrentFrame()) {
+            return sm.call(value, targetAddress, method, params);
+        }
+
+        // Called outside of a transaction, e.g. directly from a test: find the SCORE in the stack
         var caller = stackWalker.walk(Context::walkScore);
         return sm.call(caller, value, targetAddress, method, params);
     }
@@ -127,6 +132,7 @@ public final class Context extends TestBase {
     }
 
     public static Address deploy(Address targetAddress, byte[] content, Object... params) {
+        sm.meterDeploy(content.length);
         int seed = 0;
         for (int i = 0; i < content.length; i++) {
             seed += (int) content[i];
@@ -220,6 +226,7 @@ public final class Context extends TestBase {
     }
 
     public static void logEvent(Object[] indexed, Object[] data) {
+        sm.meterEventLog(indexed, data);
     }
 
     public static ObjectReader newByteArrayObjectReader(String codec, byte[] byteArray) {
@@ -22,7 +22,6 @@ import score.Address;
 import score.ByteArrayObjectWriter;
 import score.Context;
 import score.ObjectReader;
-import score.ObjectWriter;
 
 import java.lang.reflect.InvocationTargetException;
 import java.math.BigInteger;
@@ -79,16 +78,19 @@ public class AnyDBImpl extends TestBase implements AnyDB {
             // delete from storage
             sm.putStorage(key, value);
         } else {
+            var clazz = value.getClass();
+            var codec = Codec.of(clazz);
+            if (!codec.canWrite()) {
+                // Native AnyDB
+                sm.putStorage(key, value);
+                return;
+            }
+
             try {
                 // Custom AnyDB
-                var clazz = value.getClass();
-                var writeObject = clazz.getMethod("writeObject", ObjectWriter.class, clazz);
                 ByteArrayObjectWriter w = Context.newByteArrayObjectWriter("RLPn");
-                writeObject.invoke(null, w, value);
+                codec.write(w, value);
                 sm.putStorage(key, w.toByteArray(), clazz);
-            } catch (NoSuchMethodException e) {
-                // Native AnyDB
-                sm.putStorage(key, value);
             } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
                 e.printStackTrace();
                 throw new IllegalArgumentException();
@@ -106,15 +108,17 @@ public class AnyDBImpl extends TestBase implements AnyDB {
             return value;
         }
 
+        var codec = Codec.of(clazz);
+        if (!codec.canRead()) {
+            // Native AnyDB
+            return value;
+        }
+
         try {
             // Custom AnyDB
-            var readObject = clazz.getMethod("readObject", ObjectReader.class);
             byte[] serialized = (byte[]) value;
             ObjectReader r = Context.newByteArrayObjectReader("RLPn", serialized);
-            return readObject.invoke(null, r);
-        } catch (NoSuchMethodException e) {
-            // Native AnyDB
-            return value;
+            return codec.read(r);
         } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
             e.printStackTrace();
             throw new IllegalArgumentException();
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2021 Karma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package score.impl;
+
+import score.ObjectReader;
+import score.ObjectWriter;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Custom serialization methods of a class: `public static void writeObject(ObjectWriter, T)`
+ * and `public static T readObject(ObjectReader)`.
+ *
+ * The methods are resolved once per class. Classes without any of them, such as the
+ * native types, are cached as well so they aren't looked up again.
+ */
+class Codec {
+    private static final Map<Class<?>, Codec> codecs = new HashMap<>();
+
+    private final Method writeObject;
+    private final Method readObject;
+
+    private Codec(Method writeObject, Method readObject) {
+        this.writeObject = writeObject;
+        this.readObject = readObject;
+    }
+
+    static Codec of(Class<?> clazz) {
+        return codecs.computeIfAbsent(clazz, c -> new Codec(
+            find(c, "writeObject", ObjectWriter.class, c),
+            find(c, "readObject", ObjectReader.class)
+        ));
+    }
+
+    private static Method find(Class<?> clazz, String name, Class<?>... parameterTypes) {
+        try {
+            var m = clazz.getMethod(name, parameterTypes);
+            return Modifier.isStatic(m.getModifiers()) ? m : null;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    boolean canWrite() {
+        return writeObject != null;
+    }
+
+    boolean canRead() {
+        return readObject != null;
+    }
+
+    void write(ObjectWriter w, Object value) throws IllegalAccessException, InvocationTargetException {
+        writeObject.invoke(null, w, value);
+    }
+
+    Object read(ObjectReader r) throws IllegalAccessException, InvocationTargetException {
+        return readObject.invoke(null, r);
+    }
+}
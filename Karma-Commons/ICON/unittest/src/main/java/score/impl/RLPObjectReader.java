@@ -20,7 +20,6 @@ import score.Address;
 import score.ObjectReader;
 
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Modifier;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
@@ -232,16 +231,13 @@ public class RLPObjectReader implements ObjectReader {
         } else if (c == Address.class) {
             return (T) readAddress();
         } else {
+            var codec = Codec.of(c);
+            if (!codec.canRead()) {
+                throw new IllegalArgumentException();
+            }
             try {
-                var m = c.getDeclaredMethod("readObject", ObjectReader.class);
-                if ((m.getModifiers()& Modifier.STATIC) == 0
-                        || (m.getModifiers()&Modifier.PUBLIC) == 0) {
-                    throw new IllegalArgumentException();
-                }
-                var res = m.invoke(null, this);
-                return (T) res;
-            } catch (NoSuchMethodException
-                    | IllegalAccessException
+                return (T) codec.read(this);
+            } catch (IllegalAccessException
                     | InvocationTargetException e) {
                 e.printStackTrace();
                 throw new IllegalArgumentException();
@@ -18,11 +18,9 @@ package score.impl;
 
 import score.Address;
 import score.ByteArrayObjectWriter;
-import score.ObjectWriter;
 
 import java.io.OutputStream;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Modifier;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -180,15 +178,13 @@ public class RLPObjectWriter implements ByteArrayObjectWriter {
         } else if (c == Address.class) {
             write((Address) v);
         } else {
+            var codec = Codec.of(c);
+            if (!codec.canWrite()) {
+                throw new IllegalArgumentException();
+            }
             try {
-                var m = c.getDeclaredMethod("writeObject", ObjectWriter.class, c);
-                if ((m.getModifiers()& Modifier.STATIC) == 0
-                        || (m.getModifiers()&Modifier.PUBLIC) == 0) {
-                    throw new IllegalArgumentException();
-                }
-                m.invoke(null, this, v);
-            } catch (NoSuchMethodException
-                    | IllegalAccessException
+                codec.write(this, v);
+            } catch (IllegalAccessException
                     | InvocationTargetException e) {
                 e.printStackTrace();
                 throw new IllegalArgumentException();
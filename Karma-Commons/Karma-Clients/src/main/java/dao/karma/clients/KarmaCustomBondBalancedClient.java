@@ -0,0 +1,72 @@
+/*
+ * Copyright 2021 Karma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dao.karma.clients;
+
+import java.math.BigInteger;
+
+import com.eclipsesource.json.Json;
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonObject;
+import com.iconloop.score.test.Account;
+import com.iconloop.score.test.Score;
+
+import dao.karma.utils.JSONUtils;
+import score.Address;
+
+// The other methods are shared with KarmaCustomBondClient
+public class KarmaCustomBondBalancedClient {
+
+  public static void deposit(
+    Score client, 
+    Account from, 
+    Score balancedDex, 
+    BigInteger poolId, 
+    BigInteger amount, 
+    BigInteger maxPrice,
+    Address depositor
+  ) {
+    JsonObject params = Json.object()
+      .add("maxPrice", maxPrice.toString())
+      .add("depositor", depositor.toString());
+
+    balancedDex.invoke(from, "transfer", client.getAddress(), amount, poolId, JSONUtils.method("deposit", params));
+  }
+
+  public static void depositMany(
+    Score client, 
+    Account from, 
+    Score balancedDex, 
+    BigInteger poolId, 
+    BigInteger amount, 
+    BigInteger maxPrice,
+    Address[] depositors,
+    BigInteger[] allocations
+  ) {
+    JsonArray allocationsJson = Json.array();
+    for (int i = 0; i < depositors.length; i++) {
+      allocationsJson.add(Json.object()
+        .add("depositor", depositors[i].toString())
+        .add("amount", allocations[i].toString()));
+    }
+
+    JsonObject params = Json.object()
+      .add("maxPrice", maxPrice.toString())
+      .add("allocations", allocationsJson);
+
+    balancedDex.invoke(from, "transfer", client.getAddress(), amount, poolId, JSONUtils.method("depositMany", params));
+  }
+}
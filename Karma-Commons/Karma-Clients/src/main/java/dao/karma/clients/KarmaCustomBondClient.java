@@ -17,13 +17,18 @@
 package dao.karma.clients;
 
 import java.math.BigInteger;
+import java.util.Arrays;
 
 import com.eclipsesource.json.Json;
+import com.eclipsesource.json.JsonArray;
 import com.eclipsesource.json.JsonObject;
 import com.iconloop.score.test.Account;
 import com.iconloop.score.test.Score;
 
 import dao.karma.structs.bond.Adjust;
+import dao.karma.structs.bond.BondQuote;
+import dao.karma.structs.bond.BondStatus;
+import dao.karma.structs.bond.PriceCheckpoint;
 import dao.karma.structs.bond.Terms;
 import dao.karma.utils.JSONUtils;
 import score.Address;
@@ -68,6 +73,27 @@ public class KarmaCustomBondClient {
     return Adjust.fromMap(client.call("adjustment"));
   }
 
+  public static void setPriceHistoryInterval (
+    Score client, 
+    Account from, 
+    long interval
+  ) {
+    client.invoke(from, "setPriceHistoryInterval", interval);
+  }
+
+  public static PriceCheckpoint[] priceHistory(Score client, long fromIndex, int count) {
+    Object[] result = (Object[]) client.call("priceHistory", fromIndex, count);
+    PriceCheckpoint[] checkpoints = new PriceCheckpoint[result.length];
+    for (int i = 0; i < result.length; i++) {
+      checkpoints[i] = PriceCheckpoint.fromMap(result[i]);
+    }
+    return checkpoints;
+  }
+
+  public static long priceHistoryLength(Score client) {
+    return ((BigInteger) client.call("priceHistoryLength")).longValue();
+  }
+
   public static void changeKarmaTreasury (
     Score client, 
     Account from, 
@@ -102,6 +128,29 @@ public class KarmaCustomBondClient {
     IRC2Client.transfer(principalToken, from, client.getAddress(), amount, JSONUtils.method("deposit", params));
   }
 
+  public static void depositMany(
+    Score client, 
+    Account from, 
+    Score principalToken, 
+    BigInteger amount, 
+    BigInteger maxPrice,
+    Address[] depositors,
+    BigInteger[] allocations
+  ) {
+    JsonArray allocationsJson = Json.array();
+    for (int i = 0; i < depositors.length; i++) {
+      allocationsJson.add(Json.object()
+        .add("depositor", depositors[i].toString())
+        .add("amount", allocations[i].toString()));
+    }
+
+    JsonObject params = Json.object()
+      .add("maxPrice", maxPrice.toString())
+      .add("allocations", allocationsJson);
+
+    IRC2Client.transfer(principalToken, from, client.getAddress(), amount, JSONUtils.method("depositMany", params));
+  }
+
   public static void pay (
     Score client,
     Account from,
@@ -119,7 +168,70 @@ public class KarmaCustomBondClient {
     client.invoke(from, "redeem", address);
   }
 
+  public static void redeemMany (
+    Score client, 
+    Account from, 
+    Address[] depositors
+  ) {
+    client.invoke(from, "redeemMany", (Object) depositors);
+  }
+
+  public static void registerDepositors (
+    Score client, 
+    Account from, 
+    Address[] depositors
+  ) {
+    client.invoke(from, "registerDepositors", (Object) depositors);
+  }
+
   public static Terms terms(Score client) {
     return Terms.fromMap(client.call("terms"));
   }
-}
\ No newline at end of file
+
+  public static BondQuote quoteDeposit(Score client, BigInteger amount) {
+    return BondQuote.fromMap(client.call("quoteDeposit", amount));
+  }
+
+  public static BigInteger currentKarmaFee(Score client) {
+    return (BigInteger) client.call("currentKarmaFee");
+  }
+
+  public static BigInteger totalPrincipalBonded(Score client) {
+    return (BigInteger) client.call("totalPrincipalBonded");
+  }
+
+  public static BigInteger percentVestedFor(Score client, Address depositor) {
+    return (BigInteger) client.call("percentVestedFor", depositor);
+  }
+
+  public static BigInteger pendingPayoutFor(Score client, Address depositor) {
+    return (BigInteger) client.call("pendingPayoutFor", depositor);
+  }
+
+  public static BigInteger[] percentVestedForMany(Score client, Address[] depositors) {
+    Object[] result = (Object[]) client.call("percentVestedForMany", (Object) depositors);
+    return Arrays.copyOf(result, result.length, BigInteger[].class);
+  }
+
+  public static BondStatus[] pendingPayoutsFor(Score client, Address[] depositors) {
+    Object[] result = (Object[]) client.call("pendingPayoutsFor", (Object) depositors);
+    BondStatus[] statuses = new BondStatus[result.length];
+    for (int i = 0; i < result.length; i++) {
+      statuses[i] = BondStatus.fromMap(result[i]);
+    }
+    return statuses;
+  }
+
+  public static BigInteger outstandingPayout(Score client) {
+    return (BigInteger) client.call("outstandingPayout");
+  }
+
+  public static int depositorsCount(Score client) {
+    return ((BigInteger) client.call("depositorsCount")).intValue();
+  }
+
+  public static Address[] depositors(Score client, int offset, int limit) {
+    Object[] result = (Object[]) client.call("depositors", offset, limit);
+    return Arrays.copyOf(result, result.length, Address[].class);
+  }
+}
@@ -53,4 +53,12 @@ public class KarmaCustomTreasuryClient {
   public static boolean bondContract(Score client, Address address) {
     return (boolean) client.call("bondContract", address);
   }
+
+  public static void refreshTokenMetadata(Score client, Account from, Address token) {
+    client.invoke(from, "refreshTokenMetadata", token);
+  }
+
+  public static BigInteger valueOfToken(Score client, Address principalToken, BigInteger amount) {
+    return (BigInteger) client.call("valueOfToken", principalToken, amount);
+  }
 }
\ No newline at end of file
@@ -21,6 +21,7 @@ import java.math.BigInteger;
 import com.iconloop.score.test.Account;
 import com.iconloop.score.test.Score;
 
+import dao.karma.structs.factory.BondSpec;
 import score.Address;
 
 public class KarmaFactoryClient {
@@ -50,6 +51,14 @@ public class KarmaFactoryClient {
     client.invoke(from, "createBond", payoutToken, principalToken, customTreasury, initialOwner, tierCeilings, fees);
   }
 
+  public static void createBonds (
+    Score client, 
+    Account from, 
+    BondSpec[] specs
+  ) {
+    client.invoke(from, "createBonds", (Object) specs);
+  }
+
   public static void setCustomTreasuryContractBytes(Score client, Account from, byte[] content) {
     client.invoke(from, "setCustomTreasuryContractBytes", content);
   }
@@ -34,6 +34,14 @@ public class KarmaFactoryStorageClient {
     client.invoke(from, "pushBond", details);
   }
 
+  public static void pushBonds (
+    Score client, 
+    Account from, 
+    BondDetails[] details
+  ) {
+    client.invoke(from, "pushBonds", (Object) details);
+  }
+
   public static void setFactoryAddress (
     Score client, 
     Account from, 
@@ -42,6 +50,15 @@ public class KarmaFactoryStorageClient {
     client.invoke(from, "setFactoryAddress", address);
   }
 
+  public static void indexBonds (
+    Score client, 
+    Account from, 
+    int offset,
+    int limit
+  ) {
+    client.invoke(from, "indexBonds", offset, limit);
+  }
+
   public static int indexOfBond (
     Score client, 
     Address bondAddress
@@ -52,4 +69,49 @@ public class KarmaFactoryStorageClient {
   public static BondDetails bondDetails(Score score, int index) {
     return BondDetails.fromMap(score.call("bondDetails", index));
   }
+
+  public static int bondCount(Score score) {
+    return ((BigInteger) score.call("bondCount")).intValue();
+  }
+
+  public static int indexedBondCount(Score score) {
+    return ((BigInteger) score.call("indexedBondCount")).intValue();
+  }
+
+  public static BondDetails[] bondDetailsRange(Score score, int offset, int limit) {
+    return toBondDetails(score.call("bondDetailsRange", offset, limit));
+  }
+
+  public static int bondCountByPayoutToken(Score score, Address payoutToken) {
+    return ((BigInteger) score.call("bondCountByPayoutToken", payoutToken)).intValue();
+  }
+
+  public static BondDetails[] bondsByPayoutToken(Score score, Address payoutToken, int offset, int limit) {
+    return toBondDetails(score.call("bondsByPayoutToken", payoutToken, offset, limit));
+  }
+
+  public static int bondCountByPrincipalToken(Score score, Address principalToken) {
+    return ((BigInteger) score.call("bondCountByPrincipalToken", principalToken)).intValue();
+  }
+
+  public static BondDetails[] bondsByPrincipalToken(Score score, Address principalToken, int offset, int limit) {
+    return toBondDetails(score.call("bondsByPrincipalToken", principalToken, offset, limit));
+  }
+
+  public static int bondCountByInitialOwner(Score score, Address initialOwner) {
+    return ((BigInteger) score.call("bondCountByInitialOwner", initialOwner)).intValue();
+  }
+
+  public static BondDetails[] bondsByInitialOwner(Score score, Address initialOwner, int offset, int limit) {
+    return toBondDetails(score.call("bondsByInitialOwner", initialOwner, offset, limit));
+  }
+
+  private static BondDetails[] toBondDetails(Object call) {
+    Object[] result = (Object[]) call;
+    BondDetails[] details = new BondDetails[result.length];
+    for (int i = 0; i < result.length; i++) {
+      details[i] = BondDetails.fromMap(result[i]);
+    }
+    return details;
+  }
 }
\ No newline at end of file
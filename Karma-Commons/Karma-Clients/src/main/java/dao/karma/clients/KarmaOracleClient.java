@@ -0,0 +1,95 @@
+/*
+ * Copyright 2021 Karma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dao.karma.clients;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import com.iconloop.score.test.Account;
+import com.iconloop.score.test.Score;
+
+import dao.karma.structs.oracle.CachedPrice;
+import dao.karma.structs.oracle.PoolRoutes;
+import score.Address;
+
+public class KarmaOracleClient {
+
+  public static BigInteger getUsdPrice (Score client, Address base) {
+    return (BigInteger) client.call("getUsdPrice", base);
+  }
+
+  public static BigInteger[] getUsdPrices (Score client, Address[] bases) {
+    Object[] result = (Object[]) client.call("getUsdPrices", (Object) bases);
+    return Arrays.copyOf(result, result.length, BigInteger[].class);
+  }
+
+  public static void refreshPrice (Score client, Account from, Address[] bases) {
+    client.invoke(from, "refreshPrice", (Object) bases);
+  }
+
+  public static void setPriceMaxAge (Score client, Account from, Address base, long maxAge) {
+    client.invoke(from, "setPriceMaxAge", base, maxAge);
+  }
+
+  public static CachedPrice cachedPrice (Score client, Address base) {
+    return CachedPrice.fromMap(client.call("cachedPrice", base));
+  }
+
+  public static BigInteger priceMaxAge (Score client, Address base) {
+    return (BigInteger) client.call("priceMaxAge", base);
+  }
+
+  public static void addStablecoin (Score client, Account from, Address stablecoin) {
+    client.invoke(from, "addStablecoin", stablecoin);
+  }
+
+  public static void removeStablecoin (Score client, Account from, Address stablecoin) {
+    client.invoke(from, "removeStablecoin", stablecoin);
+  }
+
+  public static void discoverPoolRoutes (Score client, Account from, Address[] bases) {
+    client.invoke(from, "discoverPoolRoutes", (Object) bases);
+  }
+
+  public static void setPoolRoutes (Score client, Account from, Address base, Address[] stablecoins, BigInteger[] poolIds) {
+    client.invoke(from, "setPoolRoutes", base, stablecoins, poolIds);
+  }
+
+  public static PoolRoutes poolRoutes (Score client, Address base) {
+    return PoolRoutes.fromMap(client.call("poolRoutes", base));
+  }
+
+  public static BigInteger poolRoutesVersion (Score client) {
+    return (BigInteger) client.call("poolRoutesVersion");
+  }
+
+  public static void setObservationCardinality (Score client, Account from, Address base, int cardinality) {
+    client.invoke(from, "setObservationCardinality", base, cardinality);
+  }
+
+  public static void observe (Score client, Account from, Address[] bases) {
+    client.invoke(from, "observe", (Object) bases);
+  }
+
+  public static BigInteger consult (Score client, Address base, long windowBlocks) {
+    return (BigInteger) client.call("consult", base, windowBlocks);
+  }
+
+  public static BigInteger observationCount (Score client, Address base) {
+    return (BigInteger) client.call("observationCount", base);
+  }
+}
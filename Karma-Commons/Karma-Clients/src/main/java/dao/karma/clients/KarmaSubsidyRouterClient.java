@@ -16,6 +16,9 @@
 
 package dao.karma.clients;
 
+import java.math.BigInteger;
+import java.util.Arrays;
+
 import com.iconloop.score.test.Account;
 import com.iconloop.score.test.Score;
 
@@ -38,4 +41,30 @@ public class KarmaSubsidyRouterClient {
   public static void getSubsidyInfo (Score client, Account from) {
     client.invoke(from, "getSubsidyInfo");
   }
+
+  public static void removeSubsidyControllerBond(Score client, Account from, Address subsidyController, Address bond) {
+    client.invoke(from, "removeSubsidyControllerBond", subsidyController, bond);
+  }
+
+  public static void getSubsidyInfoBatch (Score client, Account from) {
+    client.invoke(from, "getSubsidyInfoBatch");
+  }
+
+  public static int bondsForControllerCount(Score client, Address subsidyController) {
+    return ((BigInteger) client.call("bondsForControllerCount", subsidyController)).intValue();
+  }
+
+  public static Address[] bondsForController(Score client, Address subsidyController, int offset, int limit) {
+    Object[] result = (Object[]) client.call("bondsForController", subsidyController, offset, limit);
+    return Arrays.copyOf(result, result.length, Address[].class);
+  }
+
+  public static int controllersCount(Score client) {
+    return ((BigInteger) client.call("controllersCount")).intValue();
+  }
+
+  public static Address[] controllers(Score client, int offset, int limit) {
+    Object[] result = (Object[]) client.call("controllers", offset, limit);
+    return Arrays.copyOf(result, result.length, Address[].class);
+  }
 }
\ No newline at end of file
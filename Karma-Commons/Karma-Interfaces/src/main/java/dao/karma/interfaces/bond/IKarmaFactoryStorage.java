@@ -16,6 +16,8 @@
 
 package dao.karma.interfaces.bond;
 
+import java.util.List;
+
 import dao.karma.structs.bond.TreasuryBond;
 import dao.karma.structs.factorystorage.BondDetails;
 import score.Address;
@@ -29,4 +31,22 @@ public class IKarmaFactoryStorage {
   ) {
     return TreasuryBond.fromMap (Context.call (karmaFactoryStorage, "pushBond", details));
   }
+
+  public static TreasuryBond[] pushBonds (
+    Address karmaFactoryStorage,
+    BondDetails[] details
+  ) {
+    Object result = Context.call (karmaFactoryStorage, "pushBonds", (Object) details);
+
+    // Arrays may be returned as a list depending on the execution environment
+    Object[] items = result instanceof List
+      ? ((List<?>) result).toArray()
+      : (Object[]) result;
+
+    TreasuryBond[] bonds = new TreasuryBond[items.length];
+    for (int i = 0; i < items.length; i++) {
+      bonds[i] = TreasuryBond.fromMap(items[i]);
+    }
+    return bonds;
+  }
 }
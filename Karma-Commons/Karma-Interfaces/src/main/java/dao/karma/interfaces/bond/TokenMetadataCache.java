@@ -0,0 +1,79 @@
+package dao.karma.interfaces.bond;
+
+import java.math.BigInteger;
+
+import dao.karma.utils.ICX;
+import score.Address;
+import score.BranchDB;
+import score.Context;
+import score.DictDB;
+
+/**
+ * Token and Balanced pool decimals, fetched once and persisted in the contract storage.
+ *
+ * Readonly methods can't write to the storage: `decimals` and `poolDecimals` only read
+ * the cache and fall back to an inter-contract call on a miss, while the `load*` variants
+ * also persist the fetched value and must only be used from a transaction.
+ */
+public class TokenMetadataCache {
+  // Token => decimals
+  private final DictDB<Address, Integer> decimals;
+  // Balanced DEX => Pool ID => LP token decimals
+  private final BranchDB<Address, DictDB<BigInteger, Integer>> poolDecimals;
+
+  public TokenMetadataCache (String id) {
+    this.decimals = Context.newDictDB(id + "_decimals", Integer.class);
+    this.poolDecimals = Context.newBranchDB(id + "_poolDecimals", Integer.class);
+  }
+
+  // --- Token decimals ---
+  public int decimals (Address token) {
+    if (ICX.isICX(token)) {
+      return ICX.DECIMALS;
+    }
+
+    Integer cached = this.decimals.get(token);
+    return cached != null ? cached : IToken.decimals(token);
+  }
+
+  public int loadDecimals (Address token) {
+    if (ICX.isICX(token)) {
+      return ICX.DECIMALS;
+    }
+
+    Integer cached = this.decimals.get(token);
+    return cached != null ? cached : refreshDecimals(token);
+  }
+
+  public int refreshDecimals (Address token) {
+    int result = IToken.decimals(token);
+    this.decimals.set(token, result);
+    return result;
+  }
+
+  // --- Balanced pool decimals ---
+  public int poolDecimals (Address dex, BigInteger poolId) {
+    Integer cached = this.poolDecimals.at(dex).get(poolId);
+    return cached != null ? cached : fetchPoolDecimals(dex, poolId);
+  }
+
+  public int loadPoolDecimals (Address dex, BigInteger poolId) {
+    Integer cached = this.poolDecimals.at(dex).get(poolId);
+    return cached != null ? cached : refreshPoolDecimals(dex, poolId);
+  }
+
+  public int refreshPoolDecimals (Address dex, BigInteger poolId) {
+    int result = fetchPoolDecimals(dex, poolId);
+    this.poolDecimals.at(dex).set(poolId, result);
+    return result;
+  }
+
+  private static int fetchPoolDecimals (Address dex, BigInteger poolId) {
+    var stats = IBalancedDEX.getPoolStats(dex, poolId);
+    BigInteger base_decimals = (BigInteger) stats.get("base_decimals");
+    BigInteger quote_decimals = (BigInteger) stats.get("quote_decimals");
+
+    // The result is rounded down on purpose
+    return base_decimals.add(quote_decimals).divide(BigInteger.TWO).intValue();
+  }
+}
@@ -17,6 +17,7 @@
 package dao.karma.interfaces.oracle;
 
 import java.math.BigInteger;
+import java.util.List;
 import score.Address;
 import score.Context;
 
@@ -26,5 +27,21 @@ public class IKarmaOracle {
     return (BigInteger) Context.call (oracle, "getUsdPrice", base);
   }
 
+  public static BigInteger[] getUsdPrices (Address oracle, Address[] bases) {
+    Object result = Context.call (oracle, "getUsdPrices", (Object) bases);
+
+    // Arrays may be returned as a list depending on the execution environment
+    if (result instanceof List) {
+      return ((List<?>) result).toArray(new BigInteger[0]);
+    }
+
+    Object[] items = (Object[]) result;
+    BigInteger[] prices = new BigInteger[items.length];
+    for (int i = 0; i < items.length; i++) {
+      prices[i] = (BigInteger) items[i];
+    }
+    return prices;
+  }
+
 
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2021 Karma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dao.karma.structs.bond;
+
+import static java.math.BigInteger.ZERO;
+
+import java.math.BigInteger;
+import java.util.Map;
+
+import score.Context;
+import score.ObjectReader;
+import score.ObjectWriter;
+
+// Bond counters updated on each deposit, packed in a single storage entry
+public class BondAccounting {
+    // Storage layout version, written first
+    // v2: adds outstandingPayout
+    public static final int VERSION = 2;
+
+    // total value of outstanding bonds; used for pricing
+    public BigInteger totalDebt;
+    // reference block for debt decay
+    public long lastDecay;
+    // total principal token bonded
+    public BigInteger totalPrincipalBonded;
+    // total payout token given
+    public BigInteger totalPayoutGiven;
+    // payout accrued since subsidy paid
+    public BigInteger payoutSinceLastSubsidy;
+    // payout owed to the registered depositors, vested or not
+    public BigInteger outstandingPayout;
+
+    public BondAccounting (
+        BigInteger totalDebt,
+        long lastDecay,
+        BigInteger totalPrincipalBonded,
+        BigInteger totalPayoutGiven,
+        BigInteger payoutSinceLastSubsidy,
+        BigInteger outstandingPayout
+    ) {
+        this.totalDebt = totalDebt;
+        this.lastDecay = lastDecay;
+        this.totalPrincipalBonded = totalPrincipalBonded;
+        this.totalPayoutGiven = totalPayoutGiven;
+        this.payoutSinceLastSubsidy = payoutSinceLastSubsidy;
+        this.outstandingPayout = outstandingPayout;
+    }
+
+    public static BondAccounting readObject (ObjectReader r) {
+        r.beginList();
+        int version = r.readInt();
+        Context.require(version == 1 || version == VERSION,
+            "BondAccounting: unknown storage version");
+
+        BondAccounting result = new BondAccounting (
+            r.readBigInteger(),
+            r.readLong(),
+            r.readBigInteger(),
+            r.readBigInteger(),
+            r.readBigInteger(),
+            // v1 didn't track the outstanding payout
+            version == 1 ? ZERO : r.readBigInteger()
+        );
+        r.end();
+
+        return result;
+    }
+
+    public static void writeObject (ObjectWriter w, BondAccounting obj) {
+        w.beginList(7);
+        w.write(VERSION);
+        w.write(obj.totalDebt);
+        w.write(obj.lastDecay);
+        w.write(obj.totalPrincipalBonded);
+        w.write(obj.totalPayoutGiven);
+        w.write(obj.payoutSinceLastSubsidy);
+        w.write(obj.outstandingPayout);
+        w.end();
+    }
+
+    public static BondAccounting fromMap (Object call) {
+        @SuppressWarnings("unchecked")
+        Map<String,Object> map = (Map<String,Object>) call;
+        return new BondAccounting (
+            (BigInteger) map.get("totalDebt"),
+            ((BigInteger) map.get("lastDecay")).longValue(),
+            (BigInteger) map.get("totalPrincipalBonded"),
+            (BigInteger) map.get("totalPayoutGiven"),
+            (BigInteger) map.get("payoutSinceLastSubsidy"),
+            (BigInteger) map.get("outstandingPayout")
+        );
+    }
+
+    public static BondAccounting empty() {
+        return new BondAccounting(ZERO, 0L, ZERO, ZERO, ZERO, ZERO);
+    }
+}
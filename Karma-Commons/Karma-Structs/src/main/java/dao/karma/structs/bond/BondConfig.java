@@ -0,0 +1,82 @@
+/*
+ * Copyright 2021 Karma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dao.karma.structs.bond;
+
+import java.util.Map;
+
+import score.Address;
+import score.Context;
+import score.ObjectReader;
+import score.ObjectWriter;
+
+// Karma contracts a bond interacts with, packed in a single storage entry
+public class BondConfig {
+    // Storage layout version, written first
+    public static final int VERSION = 1;
+
+    // receives fee
+    public Address karmaTreasury;
+    // provides the market prices
+    public Address karmaOracle;
+    // allowed to change the Karma addresses
+    public Address karmaDAO;
+
+    public BondConfig (
+        Address karmaTreasury,
+        Address karmaOracle,
+        Address karmaDAO
+    ) {
+        this.karmaTreasury = karmaTreasury;
+        this.karmaOracle = karmaOracle;
+        this.karmaDAO = karmaDAO;
+    }
+
+    public static BondConfig readObject (ObjectReader r) {
+        r.beginList();
+        int version = r.readInt();
+        Context.require(version == VERSION,
+            "BondConfig: unknown storage version");
+
+        BondConfig result = new BondConfig (
+            r.readAddress(),
+            r.readAddress(),
+            r.readAddress()
+        );
+        r.end();
+
+        return result;
+    }
+
+    public static void writeObject (ObjectWriter w, BondConfig obj) {
+        w.beginList(4);
+        w.write(VERSION);
+        w.write(obj.karmaTreasury);
+        w.write(obj.karmaOracle);
+        w.write(obj.karmaDAO);
+        w.end();
+    }
+
+    public static BondConfig fromMap (Object call) {
+        @SuppressWarnings("unchecked")
+        Map<String,Object> map = (Map<String,Object>) call;
+        return new BondConfig (
+            (Address) map.get("karmaTreasury"),
+            (Address) map.get("karmaOracle"),
+            (Address) map.get("karmaDAO")
+        );
+    }
+}
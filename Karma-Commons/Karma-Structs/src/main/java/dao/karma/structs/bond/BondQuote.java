@@ -0,0 +1,75 @@
+/*
+ * Copyright 2021 Karma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dao.karma.structs.bond;
+
+import java.math.BigInteger;
+import java.util.Map;
+
+// Pricing breakdown of a deposit, computed from a single state snapshot
+public class BondQuote {
+    // payout token credited to the depositor, Karma fee excluded
+    public BigInteger payout;
+    // payout token sent to the Karma treasury
+    public BigInteger fee;
+    // bond price, capped discount included
+    public BigInteger bondPrice;
+    // bond price including the Karma fee
+    public BigInteger trueBondPrice;
+    // bond price in USD, in 1e18 decimal precision
+    public BigInteger bondPriceUSD;
+    // bond discount vs payout token market price, in 1e7 decimal precision
+    public BigInteger bondDiscount;
+    // remaining debt before reaching `terms.maxDebt`, in payout token
+    public BigInteger capacityLeft;
+    // maximum payout accepted for a single deposit
+    public BigInteger maxPayout;
+
+    public BondQuote (
+        BigInteger payout,
+        BigInteger fee,
+        BigInteger bondPrice,
+        BigInteger trueBondPrice,
+        BigInteger bondPriceUSD,
+        BigInteger bondDiscount,
+        BigInteger capacityLeft,
+        BigInteger maxPayout
+    ) {
+        this.payout = payout;
+        this.fee = fee;
+        this.bondPrice = bondPrice;
+        this.trueBondPrice = trueBondPrice;
+        this.bondPriceUSD = bondPriceUSD;
+        this.bondDiscount = bondDiscount;
+        this.capacityLeft = capacityLeft;
+        this.maxPayout = maxPayout;
+    }
+
+    public static BondQuote fromMap (Object call) {
+        @SuppressWarnings("unchecked")
+        Map<String,Object> map = (Map<String,Object>) call;
+        return new BondQuote (
+            (BigInteger) map.get("payout"),
+            (BigInteger) map.get("fee"),
+            (BigInteger) map.get("bondPrice"),
+            (BigInteger) map.get("trueBondPrice"),
+            (BigInteger) map.get("bondPriceUSD"),
+            (BigInteger) map.get("bondDiscount"),
+            (BigInteger) map.get("capacityLeft"),
+            (BigInteger) map.get("maxPayout")
+        );
+    }
+}
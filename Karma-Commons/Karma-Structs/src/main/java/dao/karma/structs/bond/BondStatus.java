@@ -0,0 +1,67 @@
+/*
+ * Copyright 2021 Karma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dao.karma.structs.bond;
+
+import static java.math.BigInteger.ZERO;
+
+import java.math.BigInteger;
+import java.util.Map;
+
+// Vesting state of a depositor bond, computed from a single read of the bond
+public class BondStatus {
+    // payout token remaining to be paid
+    public BigInteger payout;
+    // blocks left to vest
+    public long vesting;
+    // last interaction
+    public long lastBlock;
+    // how far into vesting the bond is, 10000 = 100%
+    public BigInteger percentVested;
+    // payout token available for claim
+    public BigInteger pendingPayout;
+
+    public BondStatus (
+        BigInteger payout,
+        long vesting,
+        long lastBlock,
+        BigInteger percentVested,
+        BigInteger pendingPayout
+    ) {
+        this.payout = payout;
+        this.vesting = vesting;
+        this.lastBlock = lastBlock;
+        this.percentVested = percentVested;
+        this.pendingPayout = pendingPayout;
+    }
+
+    public static BondStatus fromMap (Object call) {
+        @SuppressWarnings("unchecked")
+        Map<String,Object> map = (Map<String,Object>) call;
+        return new BondStatus (
+            (BigInteger) map.get("payout"),
+            ((BigInteger) map.get("vesting")).longValue(),
+            ((BigInteger) map.get("lastBlock")).longValue(),
+            (BigInteger) map.get("percentVested"),
+            (BigInteger) map.get("pendingPayout")
+        );
+    }
+
+    // status of a depositor without bond
+    public static BondStatus empty() {
+        return new BondStatus(ZERO, 0L, 0L, ZERO, ZERO);
+    }
+}
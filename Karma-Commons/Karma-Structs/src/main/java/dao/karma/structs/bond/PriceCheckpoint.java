@@ -0,0 +1,74 @@
+/*
+ * Copyright 2021 Karma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dao.karma.structs.bond;
+
+import java.math.BigInteger;
+import java.util.Map;
+
+import score.ObjectReader;
+import score.ObjectWriter;
+
+// Bond price and debt recorded after a deposit
+public class PriceCheckpoint {
+    // block of the deposit
+    public long blockHeight;
+    // bond price after the deposit
+    public BigInteger price;
+    // debt ratio after the deposit
+    public BigInteger debtRatio;
+    // total debt after the deposit
+    public BigInteger totalDebt;
+
+    public PriceCheckpoint (
+        long blockHeight,
+        BigInteger price,
+        BigInteger debtRatio,
+        BigInteger totalDebt
+    ) {
+        this.blockHeight = blockHeight;
+        this.price = price;
+        this.debtRatio = debtRatio;
+        this.totalDebt = totalDebt;
+    }
+
+    public static PriceCheckpoint readObject (ObjectReader r) {
+        return new PriceCheckpoint(
+            r.readLong(),
+            r.readBigInteger(),
+            r.readBigInteger(),
+            r.readBigInteger()
+        );
+    }
+
+    public static void writeObject (ObjectWriter w, PriceCheckpoint obj) {
+        w.write(obj.blockHeight);
+        w.write(obj.price);
+        w.write(obj.debtRatio);
+        w.write(obj.totalDebt);
+    }
+
+    public static PriceCheckpoint fromMap (Object call) {
+        @SuppressWarnings("unchecked")
+        Map<String,Object> map = (Map<String,Object>) call;
+        return new PriceCheckpoint (
+            ((BigInteger) map.get("blockHeight")).longValue(),
+            (BigInteger) map.get("price"),
+            (BigInteger) map.get("debtRatio"),
+            (BigInteger) map.get("totalDebt")
+        );
+    }
+}
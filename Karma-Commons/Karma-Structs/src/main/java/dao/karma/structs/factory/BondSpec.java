@@ -0,0 +1,49 @@
+/*
+ * Copyright 2021 Karma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dao.karma.structs.factory;
+
+import java.math.BigInteger;
+
+import score.Address;
+
+// Parameters of a bond deployed by `KarmaFactory.createBonds`
+public class BondSpec {
+    public Address payoutToken;
+    public Address principalToken;
+    public Address customTreasury;
+    public Address initialOwner;
+    public BigInteger[] tierCeilings;
+    public BigInteger[] fees;
+
+    public BondSpec() {}
+
+    public BondSpec (
+        Address payoutToken, 
+        Address principalToken, 
+        Address customTreasury, 
+        Address initialOwner,
+        BigInteger[] tierCeilings,
+        BigInteger[] fees
+    ) {
+        this.payoutToken = payoutToken;
+        this.principalToken = principalToken;
+        this.customTreasury = customTreasury;
+        this.initialOwner = initialOwner;
+        this.tierCeilings = tierCeilings;
+        this.fees = fees;
+    }
+}
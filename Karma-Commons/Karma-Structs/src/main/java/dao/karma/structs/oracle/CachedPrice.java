@@ -0,0 +1,66 @@
+/*
+ * Copyright 2021 Karma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dao.karma.structs.oracle;
+
+import static java.math.BigInteger.ZERO;
+
+import java.math.BigInteger;
+import java.util.Map;
+
+import score.ObjectReader;
+import score.ObjectWriter;
+
+// USD price of a token stored in the oracle cache
+public class CachedPrice {
+    // USD price in 10**18 precision
+    public BigInteger price;
+    // block height when the price has been computed
+    public long blockHeight;
+
+    public CachedPrice (
+        BigInteger price,
+        long blockHeight
+    ) {
+        this.price = price;
+        this.blockHeight = blockHeight;
+    }
+
+    public static CachedPrice readObject (ObjectReader r) {
+        return new CachedPrice (
+            r.readBigInteger(),
+            r.readLong()
+        );
+    }
+
+    public static void writeObject (ObjectWriter w, CachedPrice obj) {
+        w.write(obj.price);
+        w.write(obj.blockHeight);
+    }
+
+    public static CachedPrice fromMap (Object call) {
+        @SuppressWarnings("unchecked")
+        Map<String,Object> map = (Map<String,Object>) call;
+        return new CachedPrice (
+            (BigInteger) map.get("price"),
+            ((BigInteger) map.get("blockHeight")).longValue()
+        );
+    }
+
+    public static CachedPrice empty() {
+        return new CachedPrice(ZERO, 0L);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2021 Karma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dao.karma.structs.oracle;
+
+import java.math.BigInteger;
+
+import score.ObjectReader;
+import score.ObjectWriter;
+
+// Consecutive TWAP observations of a token, stored in a single entry to reduce the storage accesses
+public class ObservationChunk {
+    // block height of each observation
+    public long[] blockHeights;
+    // sum of the USD prices weighted by the number of blocks they lasted, up to the observation
+    public BigInteger[] priceCumulatives;
+    // USD price at the observation, in 1e18 decimal precision
+    public BigInteger[] prices;
+
+    public ObservationChunk (
+        long[] blockHeights,
+        BigInteger[] priceCumulatives,
+        BigInteger[] prices
+    ) {
+        this.blockHeights = blockHeights;
+        this.priceCumulatives = priceCumulatives;
+        this.prices = prices;
+    }
+
+    public static ObservationChunk readObject (ObjectReader r) {
+        int length = r.readInt();
+        long[] blockHeights = new long[length];
+        BigInteger[] priceCumulatives = new BigInteger[length];
+        BigInteger[] prices = new BigInteger[length];
+        r.beginList();
+        for (int i = 0; i < length; i++) {
+            blockHeights[i] = r.readLong();
+            priceCumulatives[i] = r.readBigInteger();
+            prices[i] = r.readBigInteger();
+        }
+        r.end();
+
+        return new ObservationChunk (
+            blockHeights,
+            priceCumulatives,
+            prices
+        );
+    }
+
+    public static void writeObject (ObjectWriter w, ObservationChunk obj) {
+        w.write(obj.blockHeights.length);
+        w.beginList(obj.blockHeights.length * 3);
+        for (int i = 0; i < obj.blockHeights.length; i++) {
+            w.write(obj.blockHeights[i]);
+            w.write(obj.priceCumulatives[i]);
+            w.write(obj.prices[i]);
+        }
+        w.end();
+    }
+
+    public static ObservationChunk empty (int length) {
+        long[] blockHeights = new long[length];
+        BigInteger[] priceCumulatives = new BigInteger[length];
+        BigInteger[] prices = new BigInteger[length];
+        for (int i = 0; i < length; i++) {
+            priceCumulatives[i] = BigInteger.ZERO;
+            prices[i] = BigInteger.ZERO;
+        }
+
+        return new ObservationChunk(blockHeights, priceCumulatives, prices);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2021 Karma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dao.karma.structs.oracle;
+
+import java.math.BigInteger;
+import java.util.Map;
+
+import score.Address;
+import score.ObjectReader;
+import score.ObjectWriter;
+
+// Balanced pools known to exist between a base token and the stablecoins
+public class PoolRoutes {
+    // stablecoins set version the routes have been built with
+    public long version;
+    // quote stablecoin of each pool
+    public Address[] stablecoins;
+    // Balanced pool ID of each (base, stablecoin) pair
+    public BigInteger[] poolIds;
+
+    public PoolRoutes (
+        long version,
+        Address[] stablecoins,
+        BigInteger[] poolIds
+    ) {
+        this.version = version;
+        this.stablecoins = stablecoins;
+        this.poolIds = poolIds;
+    }
+
+    public static PoolRoutes readObject (ObjectReader r) {
+        long version = r.readLong();
+
+        int length = r.readInt();
+        Address[] stablecoins = new Address[length];
+        BigInteger[] poolIds = new BigInteger[length];
+        r.beginList();
+        for (int i = 0; i < length; i++) {
+            stablecoins[i] = r.readAddress();
+            poolIds[i] = r.readBigInteger();
+        }
+        r.end();
+
+        return new PoolRoutes (
+            version,
+            stablecoins,
+            poolIds
+        );
+    }
+
+    public static void writeObject (ObjectWriter w, PoolRoutes obj) {
+        w.write(obj.version);
+        w.write(obj.poolIds.length);
+        w.beginList(obj.poolIds.length * 2);
+        for (int i = 0; i < obj.poolIds.length; i++) {
+            w.write(obj.stablecoins[i]);
+            w.write(obj.poolIds[i]);
+        }
+        w.end();
+    }
+
+    public static PoolRoutes fromMap (Object call) {
+        @SuppressWarnings("unchecked")
+        Map<String,Object> map = (Map<String,Object>) call;
+        // empty arrays aren't typed
+        Object[] stablecoinsItems = (Object[]) map.get("stablecoins");
+        Object[] poolIdsItems = (Object[]) map.get("poolIds");
+        Address[] stablecoins = new Address[stablecoinsItems.length];
+        BigInteger[] poolIds = new BigInteger[poolIdsItems.length];
+        for (int i = 0; i < stablecoins.length; i++) {
+            stablecoins[i] = (Address) stablecoinsItems[i];
+            poolIds[i] = (BigInteger) poolIdsItems[i];
+        }
+
+        return new PoolRoutes (
+            ((BigInteger) map.get("version")).longValue(),
+            stablecoins,
+            poolIds
+        );
+    }
+
+    public static PoolRoutes empty() {
+        return new PoolRoutes(0L, new Address[0], new BigInteger[0]);
+    }
+}
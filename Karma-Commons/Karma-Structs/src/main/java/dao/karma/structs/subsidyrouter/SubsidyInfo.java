@@ -0,0 +1,55 @@
+/*
+ * Copyright 2021 Karma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dao.karma.structs.subsidyrouter;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Map;
+
+import score.Address;
+
+// Subsidies collected from the bonds of a subsidy controller in a single transaction
+public class SubsidyInfo {
+    // bonds managed by the subsidy controller
+    public Address[] bonds;
+    // payout accrued by each bond since the last subsidy, in the same order
+    public BigInteger[] payouts;
+    // sum of the payouts
+    public BigInteger total;
+
+    public SubsidyInfo (
+        Address[] bonds,
+        BigInteger[] payouts,
+        BigInteger total
+    ) {
+        this.bonds = bonds;
+        this.payouts = payouts;
+        this.total = total;
+    }
+
+    public static SubsidyInfo fromMap (Object call) {
+        @SuppressWarnings("unchecked")
+        Map<String,Object> map = (Map<String,Object>) call;
+        Object[] bonds = (Object[]) map.get("bonds");
+        Object[] payouts = (Object[]) map.get("payouts");
+        return new SubsidyInfo (
+            Arrays.copyOf(bonds, bonds.length, Address[].class),
+            Arrays.copyOf(payouts, payouts.length, BigInteger[].class),
+            (BigInteger) map.get("total")
+        );
+    }
+}
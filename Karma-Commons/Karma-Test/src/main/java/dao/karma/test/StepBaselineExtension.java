@@ -0,0 +1,175 @@
+/*
+ * Copyright 2021 Karma
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dao.karma.test;
+
+import com.eclipsesource.json.Json;
+import com.eclipsesource.json.JsonObject;
+import com.iconloop.score.test.ServiceManager;
+import com.iconloop.score.test.StepReport;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Fails a test when a transaction it sends costs more than its checked-in baseline.
+ * 
+ * The cost of every transaction is grouped by the contract and the method called,
+ * keeping the highest one, and compared to the baseline JSON file of the test module.
+ * Run the tests with `-Dkarma.baseline.update=true` to rewrite the baseline instead.
+ * 
+ * Register it in the base test class of a module:
+ * 
+ *     @RegisterExtension
+ *     static StepBaselineExtension baseline = new StepBaselineExtension(Metric.STORAGE_OPS);
+ */
+public class StepBaselineExtension implements BeforeEachCallback, AfterEachCallback, AfterAllCallback {
+
+    public enum Metric {
+        // Steps charged with the emulator step schedule
+        STEPS,
+        // Storage reads, writes and deletions
+        STORAGE_OPS;
+    }
+
+    public static final String UPDATE_PROPERTY = "karma.baseline.update";
+    public static final String DEFAULT_FILE = "step-baseline.json";
+    // Relative cost increase tolerated
+    public static final double DEFAULT_THRESHOLD = 0.02;
+
+    private static final ServiceManager sm = KarmaTest.sm;
+
+    // Highest cost observed by all the test classes sharing a baseline file
+    private static final Map<Path, Map<String, Long>> observed = new HashMap<>();
+
+    private final Metric metric;
+    private final double threshold;
+    private final Path file;
+    private final boolean update = Boolean.getBoolean(UPDATE_PROPERTY);
+
+    private Map<String, Long> baseline;
+    private final Map<String, Long> costs = new TreeMap<>();
+    private final Consumer<StepReport> listener = this::record;
+
+    public StepBaselineExtension (Metric metric) {
+        this(metric, DEFAULT_THRESHOLD);
+    }
+
+    public StepBaselineExtension (Metric metric, double threshold) {
+        this(metric, threshold, DEFAULT_FILE);
+    }
+
+    public StepBaselineExtension (Metric metric, double threshold, String file) {
+        this.metric = metric;
+        this.threshold = threshold;
+        this.file = Paths.get(file).toAbsolutePath();
+    }
+
+    @Override
+    public void beforeEach (ExtensionContext context) {
+        costs.clear();
+        sm.addStepReportListener(listener);
+    }
+
+    @Override
+    public void afterEach (ExtensionContext context) throws IOException {
+        sm.removeStepReportListener(listener);
+
+        Map<String, Long> shared = observed.computeIfAbsent(file, k -> new TreeMap<>());
+        costs.forEach((key, cost) -> shared.merge(key, cost, Math::max));
+
+        if (update) {
+            return;
+        }
+
+        List<String> regressions = new ArrayList<>();
+        for (var entry : costs.entrySet()) {
+            Long expected = baseline().get(entry.getKey());
+            if (expected != null && entry.getValue() > expected * (1 + threshold)) {
+                regressions.add(String.format("%s: %d > %d", entry.getKey(), entry.getValue(), expected));
+            }
+        }
+
+        if (!regressions.isEmpty()) {
+            throw new AssertionError(String.format(
+                "%s regression against %s, run with -D%s=true to accept it:%n  %s",
+                metric, file, UPDATE_PROPERTY, String.join(System.lineSeparator() + "  ", regressions)));
+        }
+    }
+
+    @Override
+    public void afterAll (ExtensionContext context) throws IOException {
+        if (!update) {
+            return;
+        }
+
+        // Methods not called by this run keep their previous cost
+        Map<String, Long> result = new TreeMap<>(baseline());
+        result.putAll(observed.get(file));
+        write(result);
+    }
+
+    private void record (StepReport report) {
+        long cost = metric == Metric.STEPS
+            ? report.getSteps()
+            : report.getStorageReads() + report.getStorageWrites() + report.getStorageDeletes();
+        costs.merge(report.getContract() + "." + report.getMethod(), cost, Math::max);
+    }
+
+    private Map<String, Long> baseline () throws IOException {
+        if (baseline == null) {
+            baseline = new TreeMap<>();
+            if (Files.exists(file)) {
+                JsonObject json = Json.parse(Files.readString(file, StandardCharsets.UTF_8)).asObject();
+                String fileMetric = json.get("metric").asString();
+                if (!fileMetric.equals(metric.name())) {
+                    throw new IllegalStateException(file + " records " + fileMetric + ", not " + metric);
+                }
+                for (var member : json.get("costs").asObject()) {
+                    baseline.put(member.getName(), member.getValue().asLong());
+                }
+            }
+        }
+        return baseline;
+    }
+
+    private void write (Map<String, Long> costs) throws IOException {
+        // One entry per line, so the baseline changes are easy to review
+        StringBuilder json = new StringBuilder();
+        json.append("{\n  \"metric\": \"").append(metric.name()).append("\",\n  \"costs\": {");
+        String separator = "\n";
+        for (var entry : costs.entrySet()) {
+            json.append(separator).append("    \"").append(entry.getKey()).append("\": ").append(entry.getValue());
+            separator = ",\n";
+        }
+        json.append("\n  }\n}\n");
+        Files.writeString(file, json.toString(), StandardCharsets.UTF_8);
+    }
+}